@@ -0,0 +1,51 @@
+package worms.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks of the model.
+ *
+ * Accepts the same arguments as the JMH runner, but always adds the GC
+ * profiler, so that every result reports the number of bytes allocated per
+ * operation next to its throughput.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regexp]
+ * </pre>
+ */
+public class Main {
+
+	public static void main(String[] args) throws RunnerException {
+		System.setProperty("java.awt.headless", "true");
+		CommandLineOptions commandLine;
+		try {
+			commandLine = new CommandLineOptions(args);
+		} catch (CommandLineOptionException e) {
+			System.err.println("Error parsing command line:");
+			System.err.println(" " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+		Options options = new OptionsBuilder().parent(commandLine)
+				.addProfiler(GCProfiler.class).build();
+		Runner runner = new Runner(options);
+		if (commandLine.shouldHelp()) {
+			try {
+				commandLine.showHelp();
+			} catch (java.io.IOException e) {
+				throw new RunnerException(e);
+			}
+		} else if (commandLine.shouldList()) {
+			runner.list();
+		} else {
+			runner.run();
+		}
+	}
+
+}
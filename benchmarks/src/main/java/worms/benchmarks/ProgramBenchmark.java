@@ -0,0 +1,80 @@
+package worms.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import worms.gui.GUIUtils;
+import worms.gui.Level;
+import worms.model.Facade;
+import worms.sim.Simulation;
+import worms.sim.SimulationResult;
+
+/**
+ * Benchmark of the execution of programs: a short headless game between two
+ * worms that run the same program.
+ *
+ * Every operation plays a whole game with a new seed, so it includes parsing
+ * the programs and setting up the world, as a tournament would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProgramBenchmark {
+
+	@Param({ "program.txt", "program_simple.txt" })
+	public String program;
+
+	@Param({ "20" })
+	public int maxTurns;
+
+	private Simulation simulation;
+	private long seed;
+
+	@Setup
+	public void setUp() throws IOException {
+		String text = readResource("programs/" + program);
+		Level level = Simulation.loadLevel("Simple");
+		simulation = new Simulation(new Facade(), level,
+				Arrays.asList(text, text), 0, maxTurns);
+	}
+
+	@Benchmark
+	public SimulationResult game() {
+		return simulation.run(seed++);
+	}
+
+	private static String readResource(String name) throws IOException {
+		StringBuilder result = new StringBuilder();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(
+				GUIUtils.openResource(name)));
+		try {
+			String line = reader.readLine();
+			while (line != null) {
+				result.append(line).append('\n');
+				line = reader.readLine();
+			}
+		} finally {
+			reader.close();
+		}
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,52 @@
+package worms.model;
+
+import java.util.Random;
+
+import worms.gui.Level;
+import worms.sim.Simulation;
+
+/**
+ * Helper methods to set up the worlds measured by the benchmarks of the model.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+final class BenchmarkWorlds {
+
+	/**
+	 * Seed of the random number generators of all benchmarks, so that each run
+	 * measures the same worlds.
+	 */
+	static final long SEED = 42;
+
+	private BenchmarkWorlds() {
+	}
+
+	/**
+	 * Return a new world for the level with the given name, as listed in the
+	 * levels file.
+	 */
+	static World createWorld(String levelName, long seed) {
+		Level level = Simulation.loadLevel(levelName);
+		return new World(level.getWorldWidth(), level.getWorldHeight(),
+				level.getPassableMap(), new Random(seed));
+	}
+
+	/**
+	 * Add a new worm with the given radius and direction to the given world,
+	 * standing on a random floor of that world.
+	 *
+	 * @throws IllegalStateException
+	 *             If no floor is found for a worm with the given radius.
+	 */
+	static Worm addWormOnFloor(World world, double radius, double direction) {
+		Position position = world
+				.getRandomPositionAdjacentToImpassableFloor(radius);
+		if (position == null)
+			throw new IllegalStateException("No floor found for a worm");
+		Worm worm = new Worm(position, radius, direction, "Benchmark", null);
+		world.addAsGameObject(worm);
+		return worm;
+	}
+
+}
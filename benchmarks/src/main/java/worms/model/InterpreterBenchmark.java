@@ -0,0 +1,94 @@
+package worms.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import worms.model.programs.ParseOutcome;
+import worms.model.programs.Program;
+
+/**
+ * Benchmark of the interpreter of programs on its own, without parsing and
+ * without actions: every operation executes one turn of a program that loops
+ * forever, so it executes exactly the statement budget of the program.
+ *
+ * The programs never print nor perform an action, so they run without an
+ * action handler. The arithmetic program should not allocate at all.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpreterBenchmark {
+
+	/**
+	 * The distance computation of programs/program.txt, for a single other
+	 * worm that moves away.
+	 */
+	private static final String ARITHMETIC = "double x; double y; double wx; double wy; double distance; double nearest;\n"
+			+ "while (true) {\n"
+			+ "  x := getx self; y := gety self; wx := (wx + 1); wy := (wy + 0.5);\n"
+			+ "  distance := sqrt((((x - wx) * (x - wx)) + ((y - wy) * (y - wy))));\n"
+			+ "  if ((nearest == 0) || (distance < nearest)) { nearest := distance; }\n"
+			+ "}\n";
+
+	/**
+	 * A search for the nearest worm, as in programs/program.txt.
+	 */
+	private static final String FOREACH = "double x; double y; double distance; double nearest; entity w; entity nearestWorm;\n"
+			+ "while (true) {\n"
+			+ "  x := getx self; y := gety self; nearestWorm := null;\n"
+			+ "  foreach (worm, w) {\n"
+			+ "    if (w != self) {\n"
+			+ "      distance := sqrt(((((getx w) - x) * ((getx w) - x)) + (((gety w) - y) * ((gety w) - y))));\n"
+			+ "      if ((nearestWorm == null) || (distance < nearest)) { nearestWorm := w; nearest := distance; }\n"
+			+ "    }\n"
+			+ "  }\n"
+			+ "}\n";
+
+	@Param({ "arithmetic", "foreach" })
+	public String program;
+
+	@Param({ "10000" })
+	public int budget;
+
+	private Worm worm;
+	private Program compiled;
+
+	@Setup
+	public void setUp() {
+		World world = BenchmarkWorlds.createWorld("Simple", BenchmarkWorlds.SEED);
+		worm = BenchmarkWorlds.addWormOnFloor(world, 0.5, 0);
+		for (int i = 0; i < 3; i++)
+			BenchmarkWorlds.addWormOnFloor(world, 0.5, 0);
+		String text = "arithmetic".equals(program) ? ARITHMETIC : FOREACH;
+		ParseOutcome<?> outcome = new Facade().parseProgram(text, null);
+		if (!outcome.isSuccess())
+			throw new IllegalStateException("Could not parse program: "
+					+ outcome.getResult());
+		compiled = (Program) outcome.getResult();
+		compiled.setStatementBudget(budget);
+	}
+
+	@Benchmark
+	public Program turn() {
+		compiled.execute(worm);
+		return compiled;
+	}
+
+}
@@ -0,0 +1,68 @@
+package worms.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the flight of a projectile fired by a worm on a level.
+ *
+ * A projectile may hit a worm anywhere along its flight, so its flight time is
+ * never cached and every operation follows the whole flight.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectileBenchmark {
+
+	private static final double TIME_STEP = 1e-4;
+
+	@Param({ "Simple", "Blocks", "Skulls-lowres", "Skulls" })
+	public String level;
+
+	@Param({ "Rifle", "Bazooka" })
+	public String weapon;
+
+	private Projectile projectile;
+
+	@Setup
+	public void setUp() {
+		World world = BenchmarkWorlds.createWorld(level, BenchmarkWorlds.SEED);
+		BenchmarkWorlds.addWormOnFloor(world, 0.5, Math.PI / 2);
+		BenchmarkWorlds.addWormOnFloor(world, 0.5, 0);
+		Worm shooter = BenchmarkWorlds.addWormOnFloor(world, 0.5, Math.PI / 4);
+		for (Weapon candidate : shooter.getAllWeapons()) {
+			if (candidate.getName().equals(weapon))
+				candidate.select();
+		}
+		shooter.shoot(50);
+		projectile = world.getActiveProjectile();
+	}
+
+	@Benchmark
+	public double flight() {
+		return projectile.jumpTime(TIME_STEP);
+	}
+
+	@Benchmark
+	public double[][] flightSteps() {
+		return projectile.jumpSteps(TIME_STEP, 0.05);
+	}
+
+}
@@ -0,0 +1,86 @@
+package worms.model;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the queries of a world on its terrain.
+ *
+ * The passability queries cycle through a fixed set of random circles spread
+ * over the whole world, so that they see passable, impassable and border
+ * cases in the proportions of the level.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TerrainBenchmark {
+
+	/**
+	 * Number of circles the passability queries cycle through, which must be
+	 * a power of two.
+	 */
+	private static final int NB_QUERIES = 1024;
+
+	@Param({ "Simple", "Blocks", "Skulls-lowres", "Skulls" })
+	public String level;
+
+	private World world;
+	private final double[] xs = new double[NB_QUERIES];
+	private final double[] ys = new double[NB_QUERIES];
+	private final double[] radii = new double[NB_QUERIES];
+	private int query;
+
+	@Setup
+	public void setUp() {
+		world = BenchmarkWorlds.createWorld(level, BenchmarkWorlds.SEED);
+		Random random = new Random(BenchmarkWorlds.SEED);
+		for (int i = 0; i < NB_QUERIES; i++) {
+			radii[i] = 0.25 + random.nextDouble();
+			xs[i] = radii[i] + random.nextDouble()
+					* (world.getWidth() - 2 * radii[i]);
+			ys[i] = radii[i] + random.nextDouble()
+					* (world.getHeight() - 2 * radii[i]);
+		}
+	}
+
+	private int nextQuery() {
+		query = (query + 1) & (NB_QUERIES - 1);
+		return query;
+	}
+
+	@Benchmark
+	public boolean isPassable() {
+		int i = nextQuery();
+		return world.isPassable(xs[i], ys[i], radii[i]);
+	}
+
+	@Benchmark
+	public boolean isAdjacentToImpassableTerrain() {
+		int i = nextQuery();
+		return world.isAdjacentToImpassableTerrain(xs[i], ys[i], radii[i]);
+	}
+
+	@Benchmark
+	public Position getRandomPositionAdjacentToImpassableFloor() {
+		return world.getRandomPositionAdjacentToImpassableFloor(0.5);
+	}
+
+}
@@ -0,0 +1,115 @@
+package worms.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the actions of a single worm on a level.
+ *
+ * The worm starts on a random floor of the level. The benchmarks that change
+ * the worm put it back at its starting position and restore its points first,
+ * so that every operation performs the same action.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WormBenchmark {
+
+	private static final double TIME_STEP = 1e-4;
+
+	/**
+	 * A time step that differs from TIME_STEP by less than a rounding error in
+	 * the jump time, used to keep the trajectory cache of a worm from answering.
+	 */
+	private static final double OTHER_TIME_STEP = TIME_STEP * (1 + 1e-9);
+
+	/**
+	 * Height above its floor from which the worm falls in the fall benchmark.
+	 */
+	private static final double FALL_HEIGHT = 2;
+
+	@Param({ "Simple", "Blocks", "Skulls-lowres", "Skulls" })
+	public String level;
+
+	private Worm worm;
+	private Position start;
+	private Position fallStart;
+	private boolean otherTimeStep;
+
+	@Setup
+	public void setUp() {
+		World world = BenchmarkWorlds.createWorld(level, BenchmarkWorlds.SEED);
+		worm = BenchmarkWorlds.addWormOnFloor(world, 0.5, Math.PI / 3);
+		start = worm.getPosition();
+		double fallY = start.getY() + FALL_HEIGHT;
+		while (!world.isPassable(start.getX(), fallY, worm.getRadius())
+				&& (fallY > start.getY()))
+			fallY -= world.getPixelHeight();
+		fallStart = new Position(start.getX(), fallY);
+	}
+
+	private void reset(Position position) {
+		worm.setPosition(position);
+		worm.restoreNumberOfActionPoints();
+		worm.increaseNumberOfHitPointsBy(worm.getMaxNumberOfHitPoints());
+	}
+
+	/**
+	 * The flight time of the worm, computed from scratch by every operation.
+	 */
+	@Benchmark
+	public double jumpTime() {
+		otherTimeStep = !otherTimeStep;
+		return worm.jumpTime(otherTimeStep ? OTHER_TIME_STEP : TIME_STEP);
+	}
+
+	/**
+	 * The flight time of the worm, answered by its trajectory cache.
+	 */
+	@Benchmark
+	public double jumpTimeCached() {
+		return worm.jumpTime(TIME_STEP);
+	}
+
+	/**
+	 * The search for the position the worm would move to.
+	 */
+	@Benchmark
+	public boolean canMove() {
+		return worm.canMove();
+	}
+
+	@Benchmark
+	public Position move() {
+		reset(start);
+		if (worm.canMove())
+			worm.move();
+		return worm.getPosition();
+	}
+
+	@Benchmark
+	public Position fall() {
+		reset(fallStart);
+		if (worm.canFall())
+			worm.fall();
+		return worm.getPosition();
+	}
+
+}
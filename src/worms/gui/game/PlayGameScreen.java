@@ -2,7 +2,6 @@ package worms.gui.game;
 
 import java.awt.Graphics2D;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.Timer;
@@ -26,6 +25,7 @@ import worms.gui.messages.MessageType;
 import worms.model.Food;
 import worms.model.IFacade;
 import worms.model.World;
+import worms.model.WorldSnapshot;
 import worms.model.Worm;
 
 public class PlayGameScreen extends Screen {
@@ -104,12 +104,24 @@ public class PlayGameScreen extends Screen {
 	}
 
 	public synchronized void update() {
+		// all sprites read the same snapshot, taken once per frame
+		snapshot = getFacade().getSnapshot(getWorld());
 		removeInactiveSprites();
 		addNewSprites();
 		for (Sprite<?> sprite : sprites) {
 			sprite.update();
 		}
-		currentWorm = getFacade().getCurrentWorm(getWorld());
+		currentWorm = snapshot.getActiveWorm();
+	}
+
+	private volatile WorldSnapshot snapshot;
+
+	/**
+	 * The snapshot of the world taken at the start of the last update, or
+	 * null if the screen has not been updated yet.
+	 */
+	public WorldSnapshot getSnapshot() {
+		return snapshot;
 	}
 
 	protected void removeInactiveSprites() {
@@ -126,25 +138,20 @@ public class PlayGameScreen extends Screen {
 	}
 
 	private void addNewWormSprites() {
-		Collection<Worm> worms = getFacade().getWorms(getWorld());
-		if (worms != null) {
-			for (Worm worm : worms) {
-				WormSprite sprite = getWormSprite(worm);
-				if (sprite == null) {
-					createWormSprite(worm);
-				}
+		for (int i = 0; i < snapshot.getNbWorms(); i++) {
+			Worm worm = snapshot.getWorm(i);
+			if (snapshot.isWormAlive(i) && getWormSprite(worm) == null) {
+				createWormSprite(worm);
 			}
 		}
 	}
 
 	private void addNewFoodSprites() {
-		Collection<Food> foods = getFacade().getFood(getWorld());
-		if (foods != null) {
-			for (Food food : foods) {
-				FoodSprite sprite = getSpriteOfTypeFor(FoodSprite.class, food);
-				if (sprite == null) {
-					createFoodSprite(food);
-				}
+		for (int i = 0; i < snapshot.getNbFood(); i++) {
+			Food food = snapshot.getFood(i);
+			FoodSprite sprite = getSpriteOfTypeFor(FoodSprite.class, food);
+			if (sprite == null) {
+				createFoodSprite(food);
 			}
 		}
 	}
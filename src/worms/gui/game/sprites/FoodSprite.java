@@ -3,6 +3,7 @@ package worms.gui.game.sprites;
 import worms.gui.game.ImageSprite;
 import worms.gui.game.PlayGameScreen;
 import worms.model.Food;
+import worms.model.WorldSnapshot;
 
 public class FoodSprite extends ImageSprite<Food> {
 
@@ -48,8 +49,14 @@ public class FoodSprite extends ImageSprite<Food> {
 	
 	@Override
 	public synchronized void update() {
-		setRadius(getFacade().getRadius(getFood()));
-		setCenterLocation(getScreen().getScreenX(getFacade().getX(getFood())), getScreen().getScreenY(getFacade().getY(getFood())));
+		WorldSnapshot snapshot = getScreen().getSnapshot();
+		int index = (snapshot == null) ? -1 : snapshot.indexOf(getFood());
+		if (index == -1) {
+			// not in the world (anymore)
+			return;
+		}
+		setRadius(snapshot.getFoodRadius(index));
+		setCenterLocation(getScreen().getScreenX(snapshot.getFoodX(index)), getScreen().getScreenY(snapshot.getFoodY(index)));
 	}
 
 	@Override
@@ -63,7 +70,8 @@ public class FoodSprite extends ImageSprite<Food> {
 	
 	@Override
 	public boolean isObjectAlive() {
-		return getFacade().isActive(food);
+		WorldSnapshot snapshot = getScreen().getSnapshot();
+		return snapshot != null && snapshot.indexOf(food) != -1;
 	}
 
 	public synchronized double getRadius() {
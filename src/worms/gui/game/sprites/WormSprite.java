@@ -5,6 +5,7 @@ import worms.gui.GUIUtils;
 import worms.gui.game.ImageSprite;
 import worms.gui.game.PlayGameScreen;
 import worms.model.ModelException;
+import worms.model.WorldSnapshot;
 import worms.model.Worm;
 
 public class WormSprite extends ImageSprite<Worm> {
@@ -92,38 +93,41 @@ public class WormSprite extends ImageSprite<Worm> {
 
 	@Override
 	public boolean isObjectAlive() {
-		return getFacade().isAlive(getWorm());
+		WorldSnapshot snapshot = getScreen().getSnapshot();
+		int index = (snapshot == null) ? -1 : snapshot.indexOf(getWorm());
+		return index != -1 && snapshot.isWormAlive(index);
 	}
 
 	@Override
 	public synchronized void update() {
+		WorldSnapshot snapshot = getScreen().getSnapshot();
+		int index = (snapshot == null) ? -1 : snapshot.indexOf(getWorm());
+		if (index == -1) {
+			// not in the world (anymore)
+			return;
+		}
+		double x = snapshot.getWormX(index);
+		double y = snapshot.getWormY(index);
 		if (isJumping || isMoving) {
 			// don't update the location here, because it may differ from the
 			// location in the model
 		} else {
-			setCenterLocation(
-					getScreen().getScreenX(getFacade().getX(getWorm())),
-					getScreen().getScreenY(getFacade().getY(worm)));
-		}
-		this.actualX = getFacade().getX(getWorm());
-		this.actualY = getFacade().getY(getWorm());
-		setRadius(getFacade().getRadius(getWorm()));
-		setDirection(getFacade().getOrientation(getWorm()));
-		setSelectedWeapon(getFacade().getSelectedWeapon(getWorm()));
-		updateJumpTime();
-		setName(getFacade().getName(getWorm()));
-		try {
-			setTeamName(getFacade().getTeamName(getWorm()));
-		} catch (ModelException e) {
-			setTeamName(null);
+			setCenterLocation(getScreen().getScreenX(x),
+					getScreen().getScreenY(y));
 		}
-		this.atImpassableTerrain = getFacade().isImpassable(
-				getScreen().getWorld(), getFacade().getX(getWorm()),
-				getFacade().getY(getWorm()), getFacade().getRadius(getWorm()));
-		this.actionPoints = getFacade().getActionPoints(getWorm());
-		this.maxActionPoints = getFacade().getMaxActionPoints(getWorm());
-		this.hitPoints = getFacade().getHitPoints(getWorm());
-		this.maxHitPoints = getFacade().getMaxHitPoints(getWorm());
+		this.actualX = x;
+		this.actualY = y;
+		setRadius(snapshot.getWormRadius(index));
+		setDirection(snapshot.getWormDirection(index));
+		setSelectedWeapon(snapshot.getWormWeapon(index));
+		updateJumpTime(snapshot, index);
+		setName(snapshot.getWormName(index));
+		setTeamName(snapshot.getTeamName(snapshot.getWormTeam(index)));
+		this.atImpassableTerrain = snapshot.isWormAtImpassableTerrain(index);
+		this.actionPoints = snapshot.getWormActionPoints(index);
+		this.maxActionPoints = snapshot.getWormMaxActionPoints(index);
+		this.hitPoints = snapshot.getWormHitPoints(index);
+		this.maxHitPoints = snapshot.getWormMaxHitPoints(index);
 	}
 
 	public void setIsJumping(boolean isJumping) {
@@ -144,18 +148,36 @@ public class WormSprite extends ImageSprite<Worm> {
 
 	protected static final double JUMP_MARKER_TIME_DISTANCE = 0.1; // worm-seconds
 
-	private void updateJumpTime() {
+	// the state of the worm the jump steps were last computed for
+	private double jumpX = Double.NaN;
+	private double jumpY;
+	private double jumpRadius;
+	private double jumpDirection;
+	private int jumpActionPoints;
+
+	/**
+	 * Only ask the facade for the jump steps if the state of the worm that
+	 * determines its jump changed since they were last computed.
+	 */
+	private void updateJumpTime(WorldSnapshot snapshot, int index) {
+		double x = snapshot.getWormX(index);
+		double y = snapshot.getWormY(index);
+		double radius = snapshot.getWormRadius(index);
+		double direction = snapshot.getWormDirection(index);
+		int actionPoints = snapshot.getWormActionPoints(index);
+		if (x == jumpX && y == jumpY && radius == jumpRadius
+				&& direction == jumpDirection
+				&& actionPoints == jumpActionPoints) {
+			return;
+		}
+		jumpX = x;
+		jumpY = y;
+		jumpRadius = radius;
+		jumpDirection = direction;
+		jumpActionPoints = actionPoints;
 		try {
-			double time = getFacade().getJumpTime(getWorm(),
-					GUIConstants.JUMP_TIME_STEP);
-
-			int n = 1 + (int) (time / JUMP_MARKER_TIME_DISTANCE);
-			xys = new double[n][];
-			for (int i = 1; i <= n; i++) {
-				double dt = i * time / n;
-				double[] xy = getFacade().getJumpStep(getWorm(), dt);
-				xys[i - 1] = xy;
-			}
+			xys = getFacade().getJumpSteps(getWorm(),
+					GUIConstants.JUMP_TIME_STEP, JUMP_MARKER_TIME_DISTANCE);
 		} catch (ModelException e) {
 			this.xys = null;
 		}
@@ -0,0 +1,150 @@
+package worms.model;
+
+import java.util.Arrays;
+
+import worms.util.Util;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of immutable circle stencils.
+ *
+ * A circle stencil holds the pixel offsets of the samples taken on a piece of the perimeter of a circle,
+ * relative to the pixel of the center of that circle. Walking a stencil against a terrain involves
+ * no trigonometry at all, so that the same stencil can be reused for every circle with the same radius,
+ * angular window and pixel dimensions.
+ * Column offsets grow to the right, row offsets grow downwards, just like the rows of a terrain.
+ *
+ * @Invar	getNbSamples() >= 0
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+
+@Value
+final class CircleStencil {
+
+	/**
+	 * Initialize this new circle stencil for the given radius, angular window and pixel dimensions.
+	 *
+	 * @param	radius
+	 * 			The radius of the circle.
+	 * @param	lowerBound
+	 * 			The lowerbound of the angular window to sample.
+	 * @param	upperBound
+	 * 			The upperbound of the angular window to sample.
+	 * @param	pixelWidth
+	 * 			The width of a single pixel.
+	 * @param	pixelHeight
+	 * 			The height of a single pixel.
+	 * @post	The samples of this new stencil are taken from the representative lowerbound up to the representative upperbound
+	 * 			in steps of 5 * Math.asin(Math.min(pixelWidth, pixelHeight)), an upperbound of zero standing for a full turn.
+	 * 			Consecutive samples that fall in the same pixel are only stored once.
+	 * @post	new.isEmptyWindow() == (representative lowerbound > representative upperbound)
+	 */
+	CircleStencil(double radius, double lowerBound, double upperBound, double pixelWidth, double pixelHeight) {
+		lowerBound = Worm.convertToRepresentativeAngle(lowerBound);
+		upperBound = Worm.convertToRepresentativeAngle(upperBound);
+		if (Util.fuzzyEquals(upperBound, 0))
+			upperBound = Math.PI * 2;
+		this.emptyWindow = (lowerBound > upperBound);
+		if (this.emptyWindow){
+			this.columnOffsets = new int[0];
+			this.rowOffsets = new int[0];
+			return;
+		}
+		double angleStepSize = 5 * Math.asin(Math.min(pixelWidth, pixelHeight));
+		int[] columns = new int[16];
+		int[] rows = new int[16];
+		int nbSamples = 0;
+		double angle = lowerBound;
+		do{
+			int column = (int) Math.round((Math.cos(angle) * radius) / pixelWidth);
+			int row = - (int) Math.round((Math.sin(angle) * radius) / pixelHeight);
+			if ((nbSamples == 0) || (columns[nbSamples - 1] != column) || (rows[nbSamples - 1] != row)){
+				if (nbSamples == columns.length){
+					columns = Arrays.copyOf(columns, 2 * nbSamples);
+					rows = Arrays.copyOf(rows, 2 * nbSamples);
+				}
+				columns[nbSamples] = column;
+				rows[nbSamples] = row;
+				nbSamples++;
+			}
+			angle += angleStepSize;
+		}
+		while (angle <= upperBound);
+		this.columnOffsets = Arrays.copyOf(columns, nbSamples);
+		this.rowOffsets = Arrays.copyOf(rows, nbSamples);
+	}
+
+	/**
+	 * Check whether the angular window of this stencil is empty.
+	 */
+	@Basic @Immutable
+	boolean isEmptyWindow() {
+		return this.emptyWindow;
+	}
+
+	/**
+	 * Return the number of samples of this stencil.
+	 */
+	@Immutable
+	int getNbSamples() {
+		return this.columnOffsets.length;
+	}
+
+	/**
+	 * Check whether all the samples of this stencil are passable in the given terrain,
+	 * the stencil being centered on the given pixel.
+	 * Samples falling outside the given terrain are moved to the nearest border pixel.
+	 *
+	 * @param	terrain
+	 * 			The terrain to walk this stencil against.
+	 * @param	centerColumn
+	 * 			The column of the center pixel.
+	 * @param	centerRow
+	 * 			The row of the center pixel, counted from the top.
+	 * @return	if (isEmptyWindow())
+	 * 				then result == false
+	 * 			else result == for each sample i of this stencil:
+	 * 				terrain.isPassable(centerColumn + columnOffset(i), centerRow + rowOffset(i))
+	 */
+	boolean isPassableAround(Terrain terrain, int centerColumn, int centerRow) {
+		if (this.emptyWindow)
+			return false;
+		int maxColumn = terrain.getWidth() - 1;
+		int maxRow = terrain.getHeight() - 1;
+		int[] columns = this.columnOffsets;
+		int[] rows = this.rowOffsets;
+		for (int i = 0; i < columns.length; i++){
+			int column = clamp(centerColumn + columns[i], maxColumn);
+			int row = clamp(centerRow + rows[i], maxRow);
+			if (terrain.isImpassable(column, row))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return the given value, limited to the range 0..max.
+	 */
+	private static int clamp(int value, int max) {
+		if (value < 0)
+			return 0;
+		if (value > max)
+			return max;
+		return value;
+	}
+
+	private final boolean emptyWindow;
+
+	/**
+	 * Variable registering the column offsets of the samples of this stencil.
+	 */
+	private final int[] columnOffsets;
+
+	/**
+	 * Variable registering the row offsets of the samples of this stencil.
+	 */
+	private final int[] rowOffsets;
+
+}
@@ -0,0 +1,119 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of bounded caches of circle stencils for a fixed pixel size.
+ *
+ * Stencils are looked up by their radius, quantized to the smallest pixel dimension, and by their angular window.
+ * When the cache is full, the least recently used stencil is evicted. Looking up a stencil that is already
+ * cached creates no objects at all.
+ *
+ * Threads that query the terrain of a world without holding its lock share the stencil cache of that world, so
+ * lookups are synchronized. Stencils themselves are immutable and are used outside the lock.
+ *
+ * @Invar	getCapacity() > 0
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+
+final class CircleStencilCache {
+
+	/**
+	 * Initialize this new circle stencil cache for the given pixel dimensions and the given capacity.
+	 *
+	 * @param	pixelWidth
+	 * 			The width of a single pixel.
+	 * @param	pixelHeight
+	 * 			The height of a single pixel.
+	 * @param	capacity
+	 * 			The maximum number of stencils in this new cache.
+	 * @post	new.getCapacity() == capacity
+	 * @throws	IllegalArgumentException("Invalid capacity!")
+	 * 		|	capacity <= 0
+	 */
+	CircleStencilCache(double pixelWidth, double pixelHeight, int capacity) throws IllegalArgumentException {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Invalid capacity!");
+		this.pixelWidth = pixelWidth;
+		this.pixelHeight = pixelHeight;
+		this.radiusQuantum = Math.min(pixelWidth, pixelHeight);
+		this.radiusIndices = new long[capacity];
+		this.lowerBounds = new double[capacity];
+		this.upperBounds = new double[capacity];
+		this.lastUses = new long[capacity];
+		this.stencils = new CircleStencil[capacity];
+	}
+
+	@Basic @Immutable
+	int getCapacity() {
+		return this.stencils.length;
+	}
+
+	/**
+	 * Return the number of stencils in this cache.
+	 */
+	synchronized int getNbStencils() {
+		return this.nbStencils;
+	}
+
+	/**
+	 * Return the stencil for the given radius and angular window, building it if it is not cached yet.
+	 *
+	 * @param	radius
+	 * 			The radius of the circle.
+	 * @param	lowerBound
+	 * 			The lowerbound of the angular window.
+	 * @param	upperBound
+	 * 			The upperbound of the angular window.
+	 * @return	result == new CircleStencil(Math.round(radius / q) * q, lowerBound, upperBound, pixelWidth, pixelHeight)
+	 * 			where q == Math.min(pixelWidth, pixelHeight)
+	 * @post	The returned stencil is the most recently used stencil of this cache.
+	 */
+	synchronized CircleStencil getStencil(double radius, double lowerBound, double upperBound) {
+		long radiusIndex = Math.round(radius / this.radiusQuantum);
+		long now = ++this.clock;
+		int eldest = 0;
+		for (int i = 0; i < this.nbStencils; i++){
+			if ((this.radiusIndices[i] == radiusIndex) && (this.lowerBounds[i] == lowerBound) && (this.upperBounds[i] == upperBound)){
+				this.lastUses[i] = now;
+				return this.stencils[i];
+			}
+			if (this.lastUses[i] < this.lastUses[eldest])
+				eldest = i;
+		}
+		int slot = (this.nbStencils < this.stencils.length) ? this.nbStencils++ : eldest;
+		CircleStencil stencil = new CircleStencil((radiusIndex * this.radiusQuantum), lowerBound, upperBound, this.pixelWidth, this.pixelHeight);
+		this.radiusIndices[slot] = radiusIndex;
+		this.lowerBounds[slot] = lowerBound;
+		this.upperBounds[slot] = upperBound;
+		this.lastUses[slot] = now;
+		this.stencils[slot] = stencil;
+		return stencil;
+	}
+
+	private final double pixelWidth;
+
+	private final double pixelHeight;
+
+	private final double radiusQuantum;
+
+	private final long[] radiusIndices;
+
+	private final double[] lowerBounds;
+
+	private final double[] upperBounds;
+
+	/**
+	 * Variable registering, for each cached stencil, the moment it was last looked up.
+	 */
+	private final long[] lastUses;
+
+	private final CircleStencil[] stencils;
+
+	private int nbStencils;
+
+	private long clock;
+
+}
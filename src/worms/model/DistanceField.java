@@ -0,0 +1,139 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of immutable distance fields over a terrain.
+ *
+ * For every pixel of a terrain, a distance field registers the Euclidean distance, expressed in the units of a world,
+ * from the center of that pixel to the center of the nearest impassable pixel. Impassable pixels have distance zero,
+ * and all pixels of a terrain without impassable pixels have an infinite distance.
+ * The field is computed in time linear in the number of pixels with the distance transform of Felzenszwalb and Huttenlocher,
+ * first along the columns and then along the rows of the terrain, each axis weighted with its own pixel dimension.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+
+@Value
+final class DistanceField {
+
+	/**
+	 * Initialize this new distance field for the given terrain and pixel dimensions.
+	 *
+	 * @param	terrain
+	 * 			The terrain of this new distance field.
+	 * @param	pixelWidth
+	 * 			The width of a single pixel of the given terrain.
+	 * @param	pixelHeight
+	 * 			The height of a single pixel of the given terrain.
+	 * @post	for each column in 0..terrain.getWidth()-1, for each row in 0..terrain.getHeight()-1:
+	 * 				new.getDistance(column, row) == the smallest value of
+	 * 					Math.sqrt(((column - c) * pixelWidth)^2 + ((row - r) * pixelHeight)^2)
+	 * 				for which terrain.isImpassable(c, r), or Double.POSITIVE_INFINITY if there is no such pixel
+	 */
+	DistanceField(Terrain terrain, double pixelWidth, double pixelHeight) {
+		int width = terrain.getWidth();
+		int height = terrain.getHeight();
+		this.width = width;
+		this.distances = new float[width * height];
+		int length = Math.max(width, height);
+		double[] values = new double[length];
+		double[] transformed = new double[length];
+		int[] parabolas = new int[length];
+		double[] boundaries = new double[length + 1];
+		double[] squared = new double[width * height];
+		for (int column = 0; column < width; column++){
+			for (int row = 0; row < height; row++)
+				values[row] = terrain.isImpassable(column, row) ? 0 : FAR;
+			transform(values, height, pixelHeight, transformed, parabolas, boundaries);
+			for (int row = 0; row < height; row++)
+				squared[(row * width) + column] = transformed[row];
+		}
+		for (int row = 0; row < height; row++){
+			int offset = row * width;
+			System.arraycopy(squared, offset, values, 0, width);
+			transform(values, width, pixelWidth, transformed, parabolas, boundaries);
+			for (int column = 0; column < width; column++){
+				double squaredDistance = transformed[column];
+				this.distances[offset + column] = (squaredDistance >= FAR) ? Float.POSITIVE_INFINITY : (float) Math.sqrt(squaredDistance);
+			}
+		}
+	}
+
+	/**
+	 * Return the distance from the center of the given pixel to the center of the nearest impassable pixel.
+	 *
+	 * @param	column
+	 * 			The column of the pixel.
+	 * @param	row
+	 * 			The row of the pixel, counted from the top.
+	 * @Pre		The given pixel belongs to the terrain of this distance field.
+	 */
+	@Basic @Immutable
+	double getDistance(int column, int row) {
+		return this.distances[(row * this.width) + column];
+	}
+
+	/**
+	 * Compute the one-dimensional squared distance transform of the given values.
+	 *
+	 * @param	values
+	 * 			The squared distances to transform; only the first n values are used.
+	 * @param	n
+	 * 			The number of values to transform.
+	 * @param	spacing
+	 * 			The distance between two consecutive values.
+	 * @param	result
+	 * 			The array in which the transformed values are stored.
+	 * @param	parabolas
+	 * 			Working storage for the indices of the lower envelope.
+	 * @param	boundaries
+	 * 			Working storage for the boundaries of the lower envelope.
+	 * @post	for each q in 0..n-1: result[q] == the smallest value of ((q - p) * spacing)^2 + values[p] for p in 0..n-1
+	 */
+	private static void transform(double[] values, int n, double spacing, double[] result, int[] parabolas, double[] boundaries) {
+		int k = 0;
+		parabolas[0] = 0;
+		boundaries[0] = Double.NEGATIVE_INFINITY;
+		boundaries[1] = Double.POSITIVE_INFINITY;
+		for (int q = 1; q < n; q++){
+			double intersection;
+			while (true){
+				int p = parabolas[k];
+				intersection = ((values[q] + square(q * spacing)) - (values[p] + square(p * spacing))) / (2 * spacing * (q - p));
+				if ((k > 0) && (intersection <= boundaries[k]))
+					k--;
+				else break;
+			}
+			k++;
+			parabolas[k] = q;
+			boundaries[k] = intersection;
+			boundaries[k + 1] = Double.POSITIVE_INFINITY;
+		}
+		k = 0;
+		for (int q = 0; q < n; q++){
+			while (boundaries[k + 1] < (q * spacing))
+				k++;
+			int p = parabolas[k];
+			result[q] = square((q - p) * spacing) + values[p];
+		}
+	}
+
+	private static double square(double value) {
+		return value * value;
+	}
+
+	private final int width;
+
+	/**
+	 * Variable registering the distance of each pixel to the nearest impassable pixel, row by row from the top.
+	 */
+	private final float[] distances;
+
+	/**
+	 * Constant standing in for an infinite squared distance during the transform.
+	 */
+	private static final double FAR = 1e300;
+
+}
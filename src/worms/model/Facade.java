@@ -13,6 +13,8 @@ import worms.model.programs.ProgramFactory;
 import worms.model.programs.ProgramParser;
 import worms.model.programs.Statement;
 import worms.model.programs.Type;
+import worms.model.programs.TypeChecker;
+import worms.model.programs.Variables;
 
 public class Facade implements IFacade {
 
@@ -133,6 +135,11 @@ public class Facade implements IFacade {
 		return worm.jumpTime(timeStep);
 	}
 
+	@Override
+	public double[][] getJumpSteps(Worm worm, double timeStep, double timeBetweenSteps) {
+		return worm.jumpSteps(timeStep, timeBetweenSteps);
+	}
+
 	@Override
 	public double getMass(Worm worm) {
 		return worm.getMass();
@@ -201,6 +208,11 @@ public class Facade implements IFacade {
 		return world.getAllLiveWorms();
 	}
 
+	@Override
+	public WorldSnapshot getSnapshot(World world) {
+		return world.getSnapshot();
+	}
+
 	@Override
 	public double getX(Food food) {
 		return food.getX();
@@ -348,26 +360,26 @@ public class Facade implements IFacade {
 
 	@Override
 	public ParseOutcome<?> parseProgram(String programText, IActionHandler handler) {
-		ProgramParser<Expression,Statement,Type> programparser = new ProgramParser<Expression,Statement,Type>(new MyFactory(programText,handler));
+		MyFactory factory = new MyFactory();
+		ProgramParser<Expression,Statement,Type> programparser = new ProgramParser<Expression,Statement,Type>(factory);
 		programparser.parse(programText);
-			Program program = new Program(programparser.getStatement(), programparser.getGlobals());
-			
-			if (programparser.getErrors() == null){
-				return ParseOutcome.success(program);
-			}
-			else return ParseOutcome.failure(programparser.getErrors());
+		if (! programparser.getErrors().isEmpty())
+			return ParseOutcome.failure(programparser.getErrors());
+		Variables globals = factory.resolve(programparser.getGlobals());
+		TypeChecker checker = new TypeChecker(programparser.getStatement());
+		if (checker.hasErrors())
+			return ParseOutcome.failure(checker.getErrors());
+		return ParseOutcome.success(new Program(programparser.getStatement(), globals, checker, handler));
 	}
 
 	@Override
 	public boolean hasProgram(Worm worm) {
-		// TODO Auto-generated method stub
-		return false;
+		return worm.getProgram() != null;
 	}
 
 	@Override
 	public boolean isWellFormed(Program program) {
-		// TODO Auto-generated method stub
-		return false;
+		return program.isWellFormed();
 	}
 
 }
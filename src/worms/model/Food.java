@@ -31,6 +31,18 @@ public class Food extends GameObject {
 		super(position, 0.2, 0.2);
 		this.setPercentualIncreaseOfRadius(0.1);
 	}
+
+	/**
+	 * Initialize this new food as a copy of the given food, outside of any world.
+	 * @param	other
+	 * 			The food to copy.
+	 * @effect	super(other)
+	 * @post	new.getPercentualIncreaseOfRadius() == other.getPercentualIncreaseOfRadius()
+	 */
+	protected Food(Food other){
+		super(other);
+		this.setPercentualIncreaseOfRadius(other.getPercentualIncreaseOfRadius());
+	}
 	
 	public double getPercentualIncreaseOfRadius(){
 		return this.percentualIncreaseOfRadiusWhenEaten;
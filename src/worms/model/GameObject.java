@@ -1,8 +1,5 @@
 package worms.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import worms.util.Util;
 import be.kuleuven.cs.som.annotate.*;
 
@@ -48,6 +45,22 @@ public abstract class GameObject {
 		this.lowerBoundOfRadius = lowerBound;
 	}
 
+	/**
+	 * Initialize this new game object as a copy of the given game object, outside of any world.
+	 * @param	other
+	 * 			The game object to copy.
+	 * @post	new.getPosition() == other.getPosition()
+	 * @post	new.getRadius() == other.getRadius()
+	 * @post	new.getLowerBoundOfRadius() == other.getLowerBoundOfRadius()
+	 * @post	new.getWorld() == null
+	 */
+	@Model
+	protected GameObject(GameObject other) {
+		this.position = other.getPosition();
+		this.radius = other.getRadius();
+		this.lowerBoundOfRadius = other.getLowerBoundOfRadius();
+	}
+
 	/**
 	 * @return	result == getPosition.getX()
 	 */
@@ -75,17 +88,20 @@ public abstract class GameObject {
 	protected boolean partialOverlapWith(Position otherPosition, double otherRadius){
 		return (this.getPosition().distanceFromPosition(otherPosition) < (this.getRadius() + otherRadius));
 	}
-	
-	protected List<GameObject> IntermediateOverlapWith(Position positionToCheck){
-		List<GameObject> result = new ArrayList<GameObject>();
-			for (GameObject object: this.getWorld().getObjects()){
-				if ((positionToCheck.distanceFromPosition(object.getPosition())) < (this.getRadius() + object.getRadius())){
-					result.add(object);
-				}
-			}
-			return result;
-	}
 
+	/**
+	 * @param 	otherX
+	 * @param 	otherY
+	 * @param 	otherRadius
+	 * @return	result == (getPosition().distanceFromPosition(new Position(otherX, otherY)) < (getRadius() + otherRadius))
+	 */
+	protected boolean partialOverlapWith(double otherX, double otherY, double otherRadius){
+		double deltaX = this.getX() - otherX;
+		double deltaY = this.getY() - otherY;
+		double reach = this.getRadius() + otherRadius;
+		return (((deltaX * deltaX) + (deltaY * deltaY)) < (reach * reach));
+	}
+	
 	/**
 	 * @param 	position
 	 * @return	result == (position != null)
@@ -100,6 +116,8 @@ public abstract class GameObject {
 	 * @effect	new.getX() = newPosition.getX()
 	 * @effect	new.getY() = newPosition.getY()
 	 * @effect	isValidPosition(new.getPosition())
+	 * @effect	if (getWorld() != null)
+	 * 				then getWorld().updateLocationOf(this)
 	 * @throws 	IllegalArgumentException("Invalid position!")
 	 * 		|	! isValidPosition(newPosition)
 	 */
@@ -108,6 +126,8 @@ public abstract class GameObject {
 		if(!this.isValidPosition(newPosition))
 			throw new IllegalArgumentException("Invalid position!");
 		position = newPosition;
+		if (this.getWorld() != null)
+			this.getWorld().updateLocationOf(this);
 	}
 
 	/**
@@ -158,7 +178,7 @@ public abstract class GameObject {
 		this.setPosition(getX(),y);
 	}
 
-	private Position position;
+	private volatile Position position;
 
 	@Basic
 	public double getRadius() {
@@ -174,6 +194,8 @@ public abstract class GameObject {
 	 * @param	radius
 	 * @post	new.getRadius() == radius
 	 * @effect	canHaveAsRadius(new.getRadius())
+	 * @effect	if (getWorld() != null)
+	 * 				then getWorld().updateLocationOf(this)
 	 * @throws 	IllegalArgumentException("Invalid radius!")
 	 * 		|	! canHaveAsRadius(radius)
 	 */
@@ -182,6 +204,8 @@ public abstract class GameObject {
 		if (!this.canHaveAsRadius(radius))
 			throw new IllegalArgumentException("Invalid radius!");
 		this.radius = radius;
+		if (this.getWorld() != null)
+			this.getWorld().updateLocationOf(this);
 	}
 
 	/**
@@ -211,7 +235,7 @@ public abstract class GameObject {
 		return (this.isValidNumber(radius) && Util.fuzzyGreaterThanOrEqualTo(radius, this.getLowerBoundOfRadius()) && (radius <= Double.MAX_VALUE));
 	}
 
-	private double radius;
+	private volatile double radius;
 
 	private final double lowerBoundOfRadius;
 
@@ -251,7 +275,7 @@ public abstract class GameObject {
 		else this.world = gameWorld;
 	}
 	
-	private World world;
+	private volatile World world;
 	
 	/**
 	 * @post	new.isRemovedFromWorld()
@@ -239,6 +239,22 @@ public interface IFacade {
 	 */
 	double getJumpTime(Worm worm, double timeStep);
 
+	/**
+	 * Returns a number of locations on the jump trajectory of the given worm,
+	 * evenly spread in time with at most the given time between two locations.
+	 * The last location is the end of the jump.
+	 * 
+	 * @param worm The worm for which to calculate the locations.
+	 * 
+	 * @param timeStep The elementary time interval used to determine the jump time.
+	 * 
+	 * @param timeBetweenSteps The maximum time between two consecutive locations.
+	 * 
+	 * @return An array of locations, each being an array with two elements:
+	 *         the x-coordinate and the y-coordinate. The result may be shared and must not be modified.
+	 */
+	double[][] getJumpSteps(Worm worm, double timeStep, double timeBetweenSteps);
+
 	/**
 	 * Returns the mass of the given worm.
 	 */
@@ -314,6 +330,12 @@ public interface IFacade {
 	 */
 	Collection<Worm> getWorms(World world);
 
+	/**
+	 * Returns an immutable snapshot of the current state of the given world.
+	 * Reading the snapshot does not require any further calls to the facade.
+	 */
+	WorldSnapshot getSnapshot(World world);
+
 	/**
 	 * Returns the x-coordinate of the given food ration
 	 * 
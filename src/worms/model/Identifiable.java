@@ -46,6 +46,6 @@ public abstract class Identifiable {
 	@Model @Raw
 	protected abstract boolean isValidName(String name);
 
-	private String name;
+	private volatile String name;
 
 }
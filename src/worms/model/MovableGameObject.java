@@ -1,7 +1,5 @@
 package worms.model;
 
-import java.util.List;
-
 import be.kuleuven.cs.som.annotate.*;
 
 /**
@@ -43,6 +41,19 @@ public abstract class MovableGameObject extends GameObject{
 		super(position, radius, lowerBound);
 		this.setDirection(direction);
 	}
+
+	/**
+	 * Initialize this new movable game object as a copy of the given movable game object, outside of any world.
+	 * @param	other
+	 * 			The movable game object to copy.
+	 * @effect	super(other)
+	 * @post	new.getDirection() == other.getDirection()
+	 */
+	@Model
+	protected MovableGameObject(MovableGameObject other) {
+		super(other);
+		this.direction = other.getDirection();
+	}
 	
 	/**
 	 * @return 	result == getMass(getRadius())
@@ -116,7 +127,7 @@ public abstract class MovableGameObject extends GameObject{
 		this.direction = direction;
 	}
 
-	private double direction;
+	private volatile double direction;
 	
 	/**
 	 * @param	timeStep
@@ -129,39 +140,217 @@ public abstract class MovableGameObject extends GameObject{
 	public void jump(double timeStep){
 		if (! this.canJump(timeStep))
 			throw new UnsupportedOperationException("Cannot "+ this.getCustomText() +"!");
-		this.setPosition(this.jumpStepOnXAxis(this.jumpTime(timeStep)), this.jumpStepOnYAxis(this.jumpTime(timeStep)));
+		double jumpTime = this.jumpTime(timeStep);
+		this.setPosition(this.jumpStepOnXAxis(jumpTime), this.jumpStepOnYAxis(jumpTime));
+	}
+
+	/**
+	 * Return the time this movable game object flies, at the precision of the given time step.
+	 * The flight is followed one time step at a time, but the time steps during which this movable game object
+	 * stays within its clearance from the position last checked are skipped, for they cannot end the flight.
+	 * If this movable game object allows it, the result is remembered until its trajectory changes.
+	 * @param	timeStep
+	 * 			The time step at which the flight is followed.
+	 * @return	result == n * timeStep
+	 * 		|		where n is the smallest integer number with n >= 1 and ! isInFlightAt(n, timeStep)
+	 */
+	public synchronized double jumpTime(double timeStep){
+		if (!this.isJumpTimeCacheable())
+			return this.computeJumpTime(timeStep);
+		if (!this.hasCachedTrajectory(timeStep))
+			this.rememberTrajectory(timeStep, this.computeJumpTime(timeStep));
+		return this.cachedJumpTime;
 	}
 
 	/**
+	 * Return a number of positions along the jump of this movable game object, evenly spread in time
+	 * with at most the given time between two positions, the last position being the end of the jump.
+	 * If this movable game object allows it, the result is remembered until its trajectory changes;
+	 * the resulting array may then be shared between callers and must not be modified.
 	 * @param	timeStep
-	 * @return	result == jumpTime
-	 * 		|		in	jumpTime = timeStep;
-	 *		|			oldY = getY();
-	 *		|			newY = jumpStepOnYAxis(jumpTime);
-	 *		|			goingUp = (newY > getY());
-	 *		|			newPosition = new Position(jumpStepOnXAxis(jumpTime), newY);
-	 *		|			while (getWorld().isPassable(newPosition, getRadius()) && !this.stopConditionDuringJump(newPosition, goingUp)){
-	 *		|				jumpTime += timeStep;
-	 *		|				oldY = newY;
-	 *		|				newY = jumpStepOnYAxis(jumpTime);
-	 *		|				goingUp = (newY > oldY);
-	 *		|				newPosition = new Position(jumpStepOnXAxis(jumpTime),newY);
-	 *		|			}
-	 */
-	public double jumpTime(double timeStep){
-		double jumpTime = timeStep;
-		double oldY = this.getY();
-		double newY = this.jumpStepOnYAxis(jumpTime);
-		boolean goingUp = (newY > oldY);
-		Position newPosition = new Position(this.jumpStepOnXAxis(jumpTime), newY);
-		while (this.getWorld().isPassable(newPosition,this.getRadius()) && !this.stopConditionDuringJump(newPosition, goingUp)){
-			jumpTime += timeStep;
-			oldY = newY;
-			newY = this.jumpStepOnYAxis(jumpTime);
-			goingUp = (newY > oldY);
-			newPosition = new Position(this.jumpStepOnXAxis(jumpTime),newY);
+	 * 			The time step at which the jump time is determined.
+	 * @param	timeBetweenSteps
+	 * 			The maximum time between two consecutive positions.
+	 * @return	result.length == 1 + (int) (jumpTime(timeStep) / timeBetweenSteps)
+	 * 		|	for each i in 1..result.length:
+	 * 		|		result[i - 1] == jumpStep(i * jumpTime(timeStep) / result.length)
+	 */
+	public synchronized double[][] jumpSteps(double timeStep, double timeBetweenSteps){
+		double jumpTime = this.jumpTime(timeStep);
+		if (this.isJumpTimeCacheable() && (this.cachedJumpSteps != null) && (this.cachedTimeBetweenSteps == timeBetweenSteps))
+			return this.cachedJumpSteps;
+		int nbSteps = 1 + (int) (jumpTime / timeBetweenSteps);
+		double[][] jumpSteps = new double[nbSteps][];
+		for (int i = 1; i <= nbSteps; i++)
+			jumpSteps[i - 1] = this.jumpStep(i * jumpTime / nbSteps);
+		if (this.isJumpTimeCacheable()){
+			this.cachedJumpSteps = jumpSteps;
+			this.cachedTimeBetweenSteps = timeBetweenSteps;
 		}
-		return jumpTime;
+		return jumpSteps;
+	}
+
+	/**
+	 * Check whether the jump time of this movable game object only depends on its own state and on the terrain of its world,
+	 * so that it can be remembered.
+	 * @return	result == true
+	 */
+	@Model
+	protected boolean isJumpTimeCacheable(){
+		return true;
+	}
+
+	/**
+	 * Check whether the remembered trajectory of this movable game object is still valid for the given time step.
+	 * @param	timeStep
+	 * @return	result == (the remembered trajectory was computed with the given time step, in the current world and terrain,
+	 * 		|		from the current position, direction, radius and initial force)
+	 */
+	private boolean hasCachedTrajectory(double timeStep){
+		World world = this.getWorld();
+		return (world != null) && (this.cachedWorld == world) && (this.cachedTerrain == world.getTerrain())
+				&& (this.cachedTimeStep == timeStep) && (this.cachedX == this.getX()) && (this.cachedY == this.getY())
+				&& (this.cachedDirection == this.getDirection()) && (this.cachedRadius == this.getRadius())
+				&& (this.cachedInitialForce == this.getInitialForce());
+	}
+
+	/**
+	 * Remember the given jump time as the one of the current trajectory of this movable game object at the given
+	 * time step, forgetting the remembered positions along the previous trajectory.
+	 * The key and the value are stored together, once the jump time has been computed, so that a computation that
+	 * fails leaves no key behind.
+	 * @param	timeStep
+	 * 			The time step at which the given jump time was computed.
+	 * @param	jumpTime
+	 * 			The jump time of the current trajectory.
+	 */
+	private void rememberTrajectory(double timeStep, double jumpTime){
+		World world = this.getWorld();
+		this.cachedWorld = world;
+		this.cachedTerrain = world.getTerrain();
+		this.cachedTimeStep = timeStep;
+		this.cachedX = this.getX();
+		this.cachedY = this.getY();
+		this.cachedDirection = this.getDirection();
+		this.cachedRadius = this.getRadius();
+		this.cachedInitialForce = this.getInitialForce();
+		this.cachedJumpTime = jumpTime;
+		this.cachedJumpSteps = null;
+	}
+
+	private World cachedWorld;
+
+	private Terrain cachedTerrain;
+
+	private double cachedTimeStep;
+
+	private double cachedX;
+
+	private double cachedY;
+
+	private double cachedDirection;
+
+	private double cachedRadius;
+
+	private double cachedInitialForce;
+
+	/**
+	 * Variable registering the remembered jump time of this movable game object.
+	 */
+	private double cachedJumpTime;
+
+	/**
+	 * Variable registering the remembered positions along the jump of this movable game object, if any.
+	 */
+	private double[][] cachedJumpSteps;
+
+	private double cachedTimeBetweenSteps;
+
+	/**
+	 * Return the time this movable game object flies, at the precision of the given time step,
+	 * without consulting the remembered trajectory.
+	 * @param	timeStep
+	 * @return	result == n * timeStep
+	 * 		|		where n is the smallest integer number with n >= 1 and ! isInFlightAt(n, timeStep)
+	 */
+	private double computeJumpTime(double timeStep){
+		double velocityX = this.initialVelocity() * Math.cos(this.getDirection());
+		double velocityY = this.initialVelocity() * Math.sin(this.getDirection());
+		long nbTimeSteps = 1;
+		while (this.isInFlightAt(nbTimeSteps, timeStep)){
+			double time = nbTimeSteps * timeStep;
+			double clearance = this.getClearanceDuringJump(this.jumpStepOnXAxis(time), this.jumpStepOnYAxis(time));
+			nbTimeSteps += 1 + this.getNbTimeStepsWithin(clearance, time, timeStep, velocityX, velocityY);
+		}
+		return (nbTimeSteps * timeStep);
+	}
+
+	/**
+	 * Return the number of time steps after the given time during which this movable game object certainly stays
+	 * within the given distance of its position at the given time.
+	 * The distance covered is bounded by the largest speed reached in those time steps, which is reached at their
+	 * start or at their end, because the vertical velocity changes linearly with time.
+	 * @param	distance
+	 * 			The distance this movable game object may cover.
+	 * @param	time
+	 * 			The time since the start of the jump.
+	 * @param	timeStep
+	 * 			The time step of the jump.
+	 * @param	velocityX
+	 * 			The horizontal velocity of the jump.
+	 * @param	velocityY
+	 * 			The initial vertical velocity of the jump.
+	 * @return	result >= 0
+	 * 		|	(result * timeStep * maximumSpeed) <= distance
+	 * 		|		where maximumSpeed is the largest speed of this movable game object between time and time + (result * timeStep)
+	 */
+	private long getNbTimeStepsWithin(double distance, double time, double timeStep, double velocityX, double velocityY){
+		if (!(distance > 0))
+			return 0;
+		double speedX = Math.abs(velocityX);
+		double speedY = Math.abs(velocityY - (EARTHS_STANDARD_ACCELERATION * time));
+		long nbTimeSteps = (long) Math.min(distance / (Math.hypot(speedX, speedY) * timeStep), Integer.MAX_VALUE);
+		while (nbTimeSteps > 0){
+			double duration = nbTimeSteps * timeStep;
+			double endSpeedY = Math.abs(velocityY - (EARTHS_STANDARD_ACCELERATION * (time + duration)));
+			if ((duration * Math.hypot(speedX, Math.max(speedY, endSpeedY))) <= distance)
+				return nbTimeSteps;
+			nbTimeSteps /= 2;
+		}
+		return 0;
+	}
+
+	/**
+	 * Return how far this movable game object can move from the given in flight coordinates while it certainly stays in flight.
+	 * Subclasses that add stop conditions to their jumps must also bound this distance by those conditions.
+	 * @param	x
+	 * 			The x-coordinate of this movable game object during its flight.
+	 * @param	y
+	 * 			The y-coordinate of this movable game object during its flight.
+	 * @return	for each otherX, otherY with Math.hypot(otherX - x, otherY - y) <= result, and for each goingUp:
+	 * 				(getWorld().isPassable(otherX, otherY, getRadius()) && ! stopConditionDuringJump(otherX, otherY, goingUp))
+	 */
+	@Model
+	protected double getClearanceDuringJump(double x, double y){
+		return this.getWorld().getClearanceFromImpassableTerrain(x, y, this.getRadius());
+	}
+
+	/**
+	 * Check whether this movable game object is still in flight after the given number of time steps.
+	 * @param	nbTimeSteps
+	 * @param	timeStep
+	 * @return	result == (getWorld().isPassable(x, y, getRadius()) && ! stopConditionDuringJump(x, y, goingUp))
+	 * 		|		where x == jumpStepOnXAxis(nbTimeSteps * timeStep)
+	 * 		|		and y == jumpStepOnYAxis(nbTimeSteps * timeStep)
+	 * 		|		and goingUp == (y > jumpStepOnYAxis((nbTimeSteps - 1) * timeStep))
+	 */
+	@Model
+	private boolean isInFlightAt(long nbTimeSteps, double timeStep){
+		double time = nbTimeSteps * timeStep;
+		double x = this.jumpStepOnXAxis(time);
+		double y = this.jumpStepOnYAxis(time);
+		boolean goingUp = (y > this.jumpStepOnYAxis(time - timeStep));
+		return (this.getWorld().isPassable(x, y, this.getRadius()) && !this.stopConditionDuringJump(x, y, goingUp));
 	}
 
 	/**
@@ -176,9 +365,19 @@ public abstract class MovableGameObject extends GameObject{
 
 	protected abstract double getInitialForce();
 	
+	/**
+	 * Check whether a jump of this movable game object must stop at the given in flight coordinates.
+	 * @param	x
+	 * 			The x-coordinate of this movable game object during its flight.
+	 * @param	y
+	 * 			The y-coordinate of this movable game object during its flight.
+	 * @param	goingUp
+	 * 			Whether this movable game object is still rising.
+	 * @return	result == getWorld().isAdjacentToImpassableTerrain(x, y, getRadius())
+	 */
 	@Model
-	protected boolean stopConditionDuringJump(Position inFlightPosition, boolean goingUp){
-		return (this.getWorld().isAdjacentToImpassableTerrain(inFlightPosition, this.getRadius()));
+	protected boolean stopConditionDuringJump(double x, double y, boolean goingUp){
+		return (this.getWorld().isAdjacentToImpassableTerrain(x, y, this.getRadius()));
 	}
 	
 	@Model
@@ -213,21 +412,30 @@ public abstract class MovableGameObject extends GameObject{
 		return (this.getY() + ((this.initialVelocity() * Math.sin(this.getDirection()) * timePassed) - ((0.5) * EARTHS_STANDARD_ACCELERATION * Math.pow(timePassed, 2))));
 	}
 	
+	/**
+	 * Return the nearest game object in the given direction from this movable game object.
+	 * The search moves a copy of this movable game object away from it in steps of one pixel, until a game object
+	 * other than this movable game object overlaps with the copy, or until the copy leaves the world.
+	 * @param	theta
+	 * 			The direction to search in.
+	 * @return	The first game object other than this movable game object that overlaps with a copy of it
+	 * 			moved along the given direction, or null if that copy leaves the world first.
+	 */
 	public GameObject searchNearestObjectInGivenDirection(double theta){
-		double stepSize = Math.min(this.getWorld().getPixelHeight(), this.getWorld().getPixelWidth());
-		return searchNearestObjectInGivenDirection(theta, stepSize, this.getPosition());
-	}
-	
-	private GameObject searchNearestObjectInGivenDirection(double theta, double stepSize, Position previousPosition){
-		Position newPosition = new Position(previousPosition.getX() + Math.cos(theta)*stepSize, previousPosition.getY() + Math.sin(theta)*stepSize);
-		if(this.getWorld().isLocatedInWorld(newPosition, this.getRadius())){
-			List<GameObject> overlap = this.IntermediateOverlapWith(newPosition);
-			if(overlap.get(0) == null){
-				return searchNearestObjectInGivenDirection(theta, stepSize, newPosition);
-			}
-			else return overlap.get(0);
+		World world = this.getWorld();
+		double stepSize = Math.min(world.getPixelHeight(), world.getPixelWidth());
+		double stepX = Math.cos(theta) * stepSize;
+		double stepY = Math.sin(theta) * stepSize;
+		double radius = this.getRadius();
+		MutablePosition position = new MutablePosition(this.getPosition());
+		while (true){
+			position.moveBy(stepX, stepY);
+			if (!world.isLocatedInWorld(position.getX(), position.getY(), radius))
+				return null;
+			GameObject object = world.getGameObjectOverlappingWith(position.getX(), position.getY(), radius, this);
+			if (object != null)
+				return object;
 		}
-		else return null;
 	}
 
 	public static double EARTHS_STANDARD_ACCELERATION = 9.80665;
@@ -0,0 +1,89 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of mutable positions, to be reused as scratch space by loops that step through many positions.
+ *
+ * Unlike a position, a mutable position can be moved, so a loop can walk through any number of positions without
+ * creating an object for each of them. A mutable position is never handed out: it is converted into a position
+ * once the loop has found the position it was looking for.
+ *
+ * @Invar	! Double.isNaN(getX())
+ * @Invar	! Double.isNaN(getY())
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+
+final class MutablePosition {
+
+	/**
+	 * Initialize this new mutable position with the coordinates of the given position.
+	 *
+	 * @param	position
+	 * 			The position to start from.
+	 * @post	new.getX() == position.getX()
+	 * @post	new.getY() == position.getY()
+	 */
+	MutablePosition(Position position) {
+		this.x = position.getX();
+		this.y = position.getY();
+	}
+
+	@Basic
+	double getX() {
+		return this.x;
+	}
+
+	@Basic
+	double getY() {
+		return this.y;
+	}
+
+	/**
+	 * Move this mutable position to the given coordinates.
+	 *
+	 * @param	x
+	 * 			The new x-coordinate.
+	 * @param	y
+	 * 			The new y-coordinate.
+	 * @post	new.getX() == x
+	 * @post	new.getY() == y
+	 * @throws	IllegalArgumentException("Invalid coordinate!")
+	 * 		|	Double.isNaN(x) || Double.isNaN(y)
+	 */
+	void set(double x, double y) throws IllegalArgumentException {
+		if (Double.isNaN(x) || Double.isNaN(y))
+			throw new IllegalArgumentException("Invalid coordinate!");
+		this.x = x;
+		this.y = y;
+	}
+
+	/**
+	 * Move this mutable position by the given distances.
+	 *
+	 * @param	deltaX
+	 * 			The distance to move along the x-axis.
+	 * @param	deltaY
+	 * 			The distance to move along the y-axis.
+	 * @effect	set(getX() + deltaX, getY() + deltaY)
+	 */
+	void moveBy(double deltaX, double deltaY) throws IllegalArgumentException {
+		this.set(this.x + deltaX, this.y + deltaY);
+	}
+
+	/**
+	 * Return a position with the current coordinates of this mutable position.
+	 *
+	 * @return	result.equals(new Position(getX(), getY()))
+	 */
+	Position toPosition() {
+		return new Position(this.x, this.y);
+	}
+
+	private double x;
+
+	private double y;
+
+}
@@ -97,9 +97,9 @@ public class Position {
 		return !Double.isNaN(coordinate);
 	}
 	
-	private final Double x;
+	private final double x;
 	
-	private final Double y;
+	private final double y;
 	
 	/**
 	 * @param	x1
@@ -155,7 +155,7 @@ public class Position {
 	}
 
 	/**
-	 * @return	result == "(" + getX().toString() + "," + getY().toString() + ")"
+	 * @return	result == "(" + getX() + "," + getY() + ")"
 	 */
 	@Override
 	public String toString () {
@@ -11,6 +11,18 @@ public class Projectile extends MovableGameObject {
 		this.initialForce = initialForce;
 	}
 
+	/**
+	 * Initialize this new projectile as a copy of the given projectile, outside of any world and without a weapon.
+	 * @param	other
+	 * 			The projectile to copy.
+	 * @effect	super(other)
+	 * @post	new.getInitialForce() == other.getInitialForce()
+	 */
+	protected Projectile(Projectile other) {
+		super(other);
+		this.initialForce = other.getInitialForce();
+	}
+
 	@Model @Override
 	protected double getInitialForce(){
 		return this.initialForce;
@@ -19,24 +31,51 @@ public class Projectile extends MovableGameObject {
 	private final double initialForce;
 
 	@Override
-	protected boolean stopConditionDuringJump(Position inFlightPosition, boolean goingUp) {
-		boolean adjacency = super.stopConditionDuringJump(inFlightPosition, goingUp);
-		List<Worm> worms = this.getWorld().overlapWithWorm(inFlightPosition, this.getRadius());
-		worms.remove(this.getWeapon().getWorm());
-		boolean otherWormIsHit = !worms.isEmpty();
-		return (adjacency || otherWormIsHit);
+	protected boolean stopConditionDuringJump(double x, double y, boolean goingUp) {
+		if (super.stopConditionDuringJump(x, y, goingUp))
+			return true;
+		return this.getWorld().hasWormOverlappingWith(x, y, this.getRadius(), this.getWeapon().getWorm());
+	}
+
+	/**
+	 * A projectile only moves freely over the given distance if no worm other than the worm that fired it is within that distance.
+	 * @return	if (getWorld().hasWormOverlappingWith(x, y, getRadius() + clearance, getWeapon().getWorm()))
+	 * 				then result == 0
+	 * 			else result == clearance
+	 * 			where clearance == super.getClearanceDuringJump(x, y)
+	 */
+	@Model @Override
+	protected double getClearanceDuringJump(double x, double y){
+		double clearance = super.getClearanceDuringJump(x, y);
+		if ((clearance > 0) && this.getWorld().hasWormOverlappingWith(x, y, this.getRadius() + clearance, this.getWeapon().getWorm()))
+			return 0;
+		return clearance;
 	}
 		
+	/**
+	 * The flight of a projectile ends when it hits a worm, so its jump time also depends on the positions of the worms.
+	 * @return	result == false
+	 */
+	@Model @Override
+	protected boolean isJumpTimeCacheable(){
+		return false;
+	}
+
 	@Override
 	protected boolean canJump(double timeStep){
 		return true;
 	}
 	
+	/**
+	 * Make this projectile fly to the end of its flight and hit the worms it lands on.
+	 * The projectile then leaves its weapon and its world.
+	 */
 	@Override
 	public void jump(double timeStep){
 		super.jump(timeStep);
 		this.hitWorms();
 		this.getWeapon().removeAsProjectile(this);
+		this.getWorld().removeAsGameObject(this);
 	}
 	
 	@Override
@@ -57,7 +96,7 @@ public class Projectile extends MovableGameObject {
 	 * 			The weapon to be checked.
 	 * @return	(weapon == null || weapon.canHaveAsProjectile(this))
 	 */
-	private boolean canHaveAsWeapon(Weapon weapon){
+	public boolean canHaveAsWeapon(Weapon weapon){
 		return true;
 	}
 	
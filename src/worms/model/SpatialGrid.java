@@ -0,0 +1,307 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of uniform grids indexing the game objects of a world by location.
+ *
+ * The rectangle covered by a world is divided into square cells. Every game object in the grid is registered
+ * in each cell overlapped by its bounding box, so that an overlap query only has to look at the game objects
+ * registered in the cells overlapped by the bounding box of the query. Locations outside the world are mapped
+ * onto the nearest border cell.
+ *
+ * @Invar	getCellSize() > 0
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+
+final class SpatialGrid {
+
+	/**
+	 * Initialize this new spatial grid for a world with the given width and height.
+	 *
+	 * @param	width
+	 * 			The width of the world covered by this new grid.
+	 * @param	height
+	 * 			The height of the world covered by this new grid.
+	 * @post	new.getCellSize() == Math.max(MINIMUM_CELL_SIZE, Math.sqrt((width * height) / MAXIMUM_NB_CELLS))
+	 */
+	SpatialGrid(double width, double height) {
+		this.cellSize = Math.max(MINIMUM_CELL_SIZE, Math.sqrt((width * height) / MAXIMUM_NB_CELLS));
+		this.nbColumns = Math.max(1, (int) Math.min(MAXIMUM_NB_CELLS, Math.ceil(width / this.cellSize)));
+		this.nbRows = Math.max(1, (int) Math.min((MAXIMUM_NB_CELLS / this.nbColumns), Math.ceil(height / this.cellSize)));
+		this.cells = new ArrayList<List<GameObject>>(this.nbColumns * this.nbRows);
+		for (int i = 0; i < (this.nbColumns * this.nbRows); i++)
+			this.cells.add(null);
+	}
+
+	@Basic @Immutable
+	double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Register the given game object in this grid, at its current position and with its current radius.
+	 *
+	 * @param	object
+	 * 			The game object to register.
+	 * @Pre		The given game object is not registered in this grid.
+	 * @post	The given game object is registered in each cell overlapped by its bounding box.
+	 */
+	void add(GameObject object) {
+		CellRange range = new CellRange();
+		this.setToCellsOf(range, object.getX(), object.getY(), object.getRadius());
+		this.ranges.put(object, range);
+		this.addToCells(object, range);
+	}
+
+	/**
+	 * Remove the given game object from this grid.
+	 *
+	 * @param	object
+	 * 			The game object to remove.
+	 * @post	The given game object is no longer registered in any cell of this grid.
+	 */
+	void remove(GameObject object) {
+		CellRange range = this.ranges.remove(object);
+		if (range != null)
+			this.removeFromCells(object, range);
+	}
+
+	/**
+	 * Register the given game object again, after its position or radius has changed.
+	 *
+	 * @param	object
+	 * 			The game object to update.
+	 * @post	If the given game object is registered in this grid, it is registered in each cell overlapped by its
+	 * 			current bounding box, and in no other cell.
+	 */
+	void update(GameObject object) {
+		CellRange range = this.ranges.get(object);
+		if (range == null)
+			return;
+		int firstColumn = this.getColumn(object.getX() - object.getRadius());
+		int lastColumn = this.getColumn(object.getX() + object.getRadius());
+		int firstRow = this.getRow(object.getY() - object.getRadius());
+		int lastRow = this.getRow(object.getY() + object.getRadius());
+		if ((firstColumn == range.firstColumn) && (lastColumn == range.lastColumn) && (firstRow == range.firstRow) && (lastRow == range.lastRow))
+			return;
+		this.removeFromCells(object, range);
+		range.firstColumn = firstColumn;
+		range.lastColumn = lastColumn;
+		range.firstRow = firstRow;
+		range.lastRow = lastRow;
+		this.addToCells(object, range);
+	}
+
+	/**
+	 * Add all game objects of this grid of the given class that overlap with the circle with given center and radius
+	 * to the given list. Every such game object is added only once.
+	 *
+	 * @param	x
+	 * 			The x-coordinate of the center of the circle.
+	 * @param	y
+	 * 			The y-coordinate of the center of the circle.
+	 * @param	radius
+	 * 			The radius of the circle.
+	 * @param	type
+	 * 			The class of the game objects to collect.
+	 * @param	result
+	 * 			The list to add the overlapping game objects to.
+	 * @post	for each object registered in this grid:
+	 * 				if (type.isInstance(object) && object.partialOverlapWith(x, y, radius))
+	 * 					then result contains object once
+	 */
+	<T extends GameObject> void collectOverlapping(double x, double y, double radius, Class<T> type, List<? super T> result) {
+		int firstColumn = this.getColumn(x - radius);
+		int lastColumn = this.getColumn(x + radius);
+		int firstRow = this.getRow(y - radius);
+		int lastRow = this.getRow(y + radius);
+		for (int row = firstRow; row <= lastRow; row++){
+			for (int column = firstColumn; column <= lastColumn; column++){
+				List<GameObject> cell = this.cells.get((row * this.nbColumns) + column);
+				if (cell == null)
+					continue;
+				for (int i = 0; i < cell.size(); i++){
+					GameObject object = cell.get(i);
+					if (type.isInstance(object) && this.isReportedIn(object, column, row, firstColumn, firstRow)
+							&& object.partialOverlapWith(x, y, radius))
+						result.add(type.cast(object));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return the first game object of this grid of the given class, other than the given game object,
+	 * that overlaps with the circle with given center and radius, in the order of collectOverlapping.
+	 * This query does not create any objects.
+	 *
+	 * @param	x
+	 * 			The x-coordinate of the center of the circle.
+	 * @param	y
+	 * 			The y-coordinate of the center of the circle.
+	 * @param	radius
+	 * 			The radius of the circle.
+	 * @param	type
+	 * 			The class of the game objects to check.
+	 * @param	excluded
+	 * 			The game object to be left out of the check.
+	 * @return	if (for some object registered in this grid:
+	 * 					(type.isInstance(object) && (object != excluded) && object.partialOverlapWith(x, y, radius)))
+	 * 				then result is the first such object that collectOverlapping(x, y, radius, type, list) adds to a list
+	 * 			else result == null
+	 */
+	<T extends GameObject> T findOverlapping(double x, double y, double radius, Class<T> type, GameObject excluded) {
+		int firstColumn = this.getColumn(x - radius);
+		int lastColumn = this.getColumn(x + radius);
+		int firstRow = this.getRow(y - radius);
+		int lastRow = this.getRow(y + radius);
+		for (int row = firstRow; row <= lastRow; row++){
+			for (int column = firstColumn; column <= lastColumn; column++){
+				List<GameObject> cell = this.cells.get((row * this.nbColumns) + column);
+				if (cell == null)
+					continue;
+				for (int i = 0; i < cell.size(); i++){
+					GameObject object = cell.get(i);
+					if ((object != excluded) && type.isInstance(object) && object.partialOverlapWith(x, y, radius))
+						return type.cast(object);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Check whether a game object of this grid of the given class, other than the given game object,
+	 * overlaps with the circle with given center and radius.
+	 * This check does not create any objects.
+	 *
+	 * @param	x
+	 * 			The x-coordinate of the center of the circle.
+	 * @param	y
+	 * 			The y-coordinate of the center of the circle.
+	 * @param	radius
+	 * 			The radius of the circle.
+	 * @param	type
+	 * 			The class of the game objects to check.
+	 * @param	excluded
+	 * 			The game object to be left out of the check.
+	 * @return	result == (findOverlapping(x, y, radius, type, excluded) != null)
+	 */
+	boolean hasOverlapping(double x, double y, double radius, Class<? extends GameObject> type, GameObject excluded) {
+		return this.findOverlapping(x, y, radius, type, excluded) != null;
+	}
+
+	/**
+	 * Check whether the given game object, found in the given cell, must be reported for a query
+	 * whose bounding box starts at the given column and row.
+	 * A game object is only reported in the first cell it shares with the query, so that it is reported once.
+	 */
+	private boolean isReportedIn(GameObject object, int column, int row, int firstQueryColumn, int firstQueryRow) {
+		CellRange range = this.ranges.get(object);
+		return ((column == Math.max(range.firstColumn, firstQueryColumn)) && (row == Math.max(range.firstRow, firstQueryRow)));
+	}
+
+	private void setToCellsOf(CellRange range, double x, double y, double radius) {
+		range.firstColumn = this.getColumn(x - radius);
+		range.lastColumn = this.getColumn(x + radius);
+		range.firstRow = this.getRow(y - radius);
+		range.lastRow = this.getRow(y + radius);
+	}
+
+	private void addToCells(GameObject object, CellRange range) {
+		for (int row = range.firstRow; row <= range.lastRow; row++){
+			for (int column = range.firstColumn; column <= range.lastColumn; column++){
+				int index = (row * this.nbColumns) + column;
+				List<GameObject> cell = this.cells.get(index);
+				if (cell == null){
+					cell = new ArrayList<GameObject>(4);
+					this.cells.set(index, cell);
+				}
+				cell.add(object);
+			}
+		}
+	}
+
+	private void removeFromCells(GameObject object, CellRange range) {
+		for (int row = range.firstRow; row <= range.lastRow; row++){
+			for (int column = range.firstColumn; column <= range.lastColumn; column++){
+				List<GameObject> cell = this.cells.get((row * this.nbColumns) + column);
+				if (cell != null)
+					cell.remove(object);
+			}
+		}
+	}
+
+	/**
+	 * Return the column of the cell holding the given x-coordinate, limited to the columns of this grid.
+	 */
+	private int getColumn(double x) {
+		return limit((int) Math.floor(x / this.cellSize), this.nbColumns - 1);
+	}
+
+	/**
+	 * Return the row of the cell holding the given y-coordinate, limited to the rows of this grid.
+	 */
+	private int getRow(double y) {
+		return limit((int) Math.floor(y / this.cellSize), this.nbRows - 1);
+	}
+
+	private static int limit(int value, int max) {
+		if (value < 0)
+			return 0;
+		if (value > max)
+			return max;
+		return value;
+	}
+
+	/**
+	 * A class of mutable ranges of cells, registering the cells a game object is registered in.
+	 */
+	private static final class CellRange {
+
+		private int firstColumn;
+
+		private int lastColumn;
+
+		private int firstRow;
+
+		private int lastRow;
+
+	}
+
+	private final double cellSize;
+
+	private final int nbColumns;
+
+	private final int nbRows;
+
+	/**
+	 * Variable registering the game objects in each cell of this grid, row by row from the bottom.
+	 * Cells without game objects may be null.
+	 */
+	private final List<List<GameObject>> cells;
+
+	/**
+	 * Variable registering the range of cells each game object of this grid is registered in.
+	 */
+	private final Map<GameObject, CellRange> ranges = new HashMap<GameObject, CellRange>();
+
+	/**
+	 * Constant registering the smallest size of a cell.
+	 */
+	private static final double MINIMUM_CELL_SIZE = 2;
+
+	/**
+	 * Constant registering the largest number of cells in a grid.
+	 */
+	private static final int MAXIMUM_NB_CELLS = 1 << 16;
+
+}
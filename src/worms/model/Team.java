@@ -28,6 +28,19 @@ public class Team extends Identifiable{
 		super(name);
 	}
 
+	/**
+	 * Initialize this new team as a copy of the given team, without any worms.
+	 * @param	other
+	 * 			The team to copy.
+	 * @post	new.getName() = other.getName()
+	 * @post	new.isTerminated() = other.isTerminated()
+	 * @post	new.getAllWorms().isEmpty()
+	 */
+	protected Team(Team other) {
+		super(other.getName());
+		this.isTerminated = other.isTerminated();
+	}
+
 	/**
 	 * @param	name
 	 * @return	result == name.matches("[A-Z]"+"[A-Za-z]+")
@@ -140,11 +153,16 @@ public class Team extends Identifiable{
 		return this.worms;
 	}
 	
+	/**
+	 * Return a new list collecting all live worms of this team.
+	 * @return	for each worm in getAllWorms()
+	 * 				(result.contains(worm) == worm.isAlive())
+	 */
 	public List<Worm> getAllLiveWorms(){
-		List<Worm> liveWorms = this.getAllWorms();
-		for(Worm worm : liveWorms){
-			if(!worm.isAlive())
-				liveWorms.remove(worm);
+		List<Worm> liveWorms = new ArrayList<Worm>(this.worms.size());
+		for(Worm worm : this.worms){
+			if(worm.isAlive())
+				liveWorms.add(worm);
 		}
 		return liveWorms;
 	}
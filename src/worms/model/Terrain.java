@@ -0,0 +1,267 @@
+package worms.model;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of immutable, bit-packed terrain maps.
+ *
+ * Each pixel of the terrain is represented by a single bit, stored in 64-bit words in row-major order.
+ * A set bit marks an impassable pixel. Every row starts at a new word, so that a run of pixels
+ * within one row can be inspected 64 pixels at a time.
+ * Rows are numbered from top to bottom, exactly like the rows of the passable maps given to a world.
+ *
+ * @Invar	getWidth() > 0
+ * @Invar	getHeight() > 0
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+
+@Value
+public final class Terrain {
+
+	/**
+	 * Initialize this new terrain with the given passable map.
+	 *
+	 * @param 	passableMap
+	 * 			The passable map of this new terrain, given as rows of pixels from top to bottom.
+	 * @post	new.getHeight() == passableMap.length
+	 * @post	new.getWidth() == passableMap[0].length
+	 * @post	for each row in 0..getHeight()-1, for each column in 0..getWidth()-1:
+	 * 				new.isPassable(column, row) == passableMap[row][column]
+	 * @throws	IllegalArgumentException("Empty map!")
+	 * 		|	(passableMap.length == 0) || (passableMap[0].length == 0)
+	 * @throws	IllegalArgumentException("Irregular map!")
+	 * 		|	for some row in passableMap: row.length != passableMap[0].length
+	 */
+	public Terrain(boolean[][] passableMap) throws IllegalArgumentException {
+		if ((passableMap.length == 0) || (passableMap[0].length == 0))
+			throw new IllegalArgumentException("Empty map!");
+		this.height = passableMap.length;
+		this.width = passableMap[0].length;
+		this.wordsPerRow = (this.width + WORD_SIZE - 1) / WORD_SIZE;
+		this.words = new long[this.height * this.wordsPerRow];
+		for (int row = 0; row < this.height; row++){
+			if (passableMap[row].length != this.width)
+				throw new IllegalArgumentException("Irregular map!");
+			int offset = row * this.wordsPerRow;
+			for (int column = 0; column < this.width; column++){
+				if (!passableMap[row][column])
+					this.words[offset + (column >>> WORD_SHIFT)] |= (1L << column);
+			}
+		}
+	}
+
+	@Basic @Immutable
+	public int getWidth() {
+		return this.width;
+	}
+
+	@Basic @Immutable
+	public int getHeight() {
+		return this.height;
+	}
+
+	/**
+	 * Return the number of words occupied by each row of this terrain.
+	 * @return	result == (getWidth() + 63) / 64
+	 */
+	@Immutable
+	protected int getWordsPerRow() {
+		return this.wordsPerRow;
+	}
+
+	/**
+	 * Return the word of the given row with the given index.
+	 * Bit i of the word with index w represents the pixel in column (64 * w + i).
+	 *
+	 * @param	row
+	 * 			The row of the word.
+	 * @param	wordIndex
+	 * 			The index of the word within the given row.
+	 * @return	result == the 64 pixels of the given row starting at column (64 * wordIndex), a set bit meaning impassable
+	 */
+	protected long getWord(int row, int wordIndex) {
+		return this.words[(row * this.wordsPerRow) + wordIndex];
+	}
+
+	/**
+	 * Check whether the pixel in the given column and row is impassable.
+	 *
+	 * @param	column
+	 * 			The column of the pixel, counted from the left.
+	 * @param	row
+	 * 			The row of the pixel, counted from the top.
+	 * @Pre		isValidPixel(column, row)
+	 * @return	result == the bit for the given pixel is set
+	 */
+	public boolean isImpassable(int column, int row) {
+		return ((this.words[(row * this.wordsPerRow) + (column >>> WORD_SHIFT)] & (1L << column)) != 0);
+	}
+
+	/**
+	 * Check whether the pixel in the given column and row is passable.
+	 *
+	 * @param	column
+	 * 			The column of the pixel, counted from the left.
+	 * @param	row
+	 * 			The row of the pixel, counted from the top.
+	 * @Pre		isValidPixel(column, row)
+	 * @return	result == ! isImpassable(column, row)
+	 */
+	public boolean isPassable(int column, int row) {
+		return !this.isImpassable(column, row);
+	}
+
+	/**
+	 * Check whether the given column and row denote a pixel of this terrain.
+	 *
+	 * @param	column
+	 * 			The column to check.
+	 * @param	row
+	 * 			The row to check.
+	 * @return	result == ((column >= 0) && (column < getWidth()) && (row >= 0) && (row < getHeight()))
+	 */
+	public boolean isValidPixel(int column, int row) {
+		return ((column >= 0) && (column < this.width) && (row >= 0) && (row < this.height));
+	}
+
+	/**
+	 * Check whether the given row holds an impassable pixel between the given columns.
+	 *
+	 * @param	row
+	 * 			The row to scan.
+	 * @param	fromColumn
+	 * 			The first column to scan.
+	 * @param	toColumn
+	 * 			The last column to scan.
+	 * @Pre		isValidPixel(fromColumn, row) && isValidPixel(toColumn, row)
+	 * @return	result == (firstImpassableInRow(row, fromColumn, toColumn) >= 0)
+	 */
+	public boolean hasImpassableInRow(int row, int fromColumn, int toColumn) {
+		return (this.firstImpassableInRow(row, fromColumn, toColumn) >= 0);
+	}
+
+	/**
+	 * Return the leftmost impassable column of the given row between the given columns.
+	 *
+	 * @param	row
+	 * 			The row to scan.
+	 * @param	fromColumn
+	 * 			The first column to scan.
+	 * @param	toColumn
+	 * 			The last column to scan.
+	 * @Pre		isValidPixel(fromColumn, row) && isValidPixel(toColumn, row)
+	 * @return	if (for some column in fromColumn..toColumn: isImpassable(column, row))
+	 * 				then result == the smallest such column
+	 * 			else result == -1
+	 */
+	public int firstImpassableInRow(int row, int fromColumn, int toColumn) {
+		if (fromColumn > toColumn)
+			return -1;
+		int offset = row * this.wordsPerRow;
+		int firstWord = fromColumn >>> WORD_SHIFT;
+		int lastWord = toColumn >>> WORD_SHIFT;
+		for (int wordIndex = firstWord; wordIndex <= lastWord; wordIndex++){
+			long word = this.words[offset + wordIndex];
+			if (wordIndex == firstWord)
+				word &= (ALL_BITS << fromColumn);
+			if (wordIndex == lastWord)
+				word &= (ALL_BITS >>> (WORD_SIZE - 1 - (toColumn & (WORD_SIZE - 1))));
+			if (word != 0)
+				return (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the number of impassable pixels of the given row between the given columns.
+	 *
+	 * @param	row
+	 * 			The row to scan.
+	 * @param	fromColumn
+	 * 			The first column to scan.
+	 * @param	toColumn
+	 * 			The last column to scan.
+	 * @Pre		isValidPixel(fromColumn, row) && isValidPixel(toColumn, row)
+	 * @return	result == the number of columns in fromColumn..toColumn for which isImpassable(column, row)
+	 */
+	public int countImpassableInRow(int row, int fromColumn, int toColumn) {
+		if (fromColumn > toColumn)
+			return 0;
+		int offset = row * this.wordsPerRow;
+		int firstWord = fromColumn >>> WORD_SHIFT;
+		int lastWord = toColumn >>> WORD_SHIFT;
+		int count = 0;
+		for (int wordIndex = firstWord; wordIndex <= lastWord; wordIndex++){
+			long word = this.words[offset + wordIndex];
+			if (wordIndex == firstWord)
+				word &= (ALL_BITS << fromColumn);
+			if (wordIndex == lastWord)
+				word &= (ALL_BITS >>> (WORD_SIZE - 1 - (toColumn & (WORD_SIZE - 1))));
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Return a passable map representing this terrain.
+	 *
+	 * @return	result.length == getHeight()
+	 * @return	for each row in 0..getHeight()-1: result[row].length == getWidth()
+	 * @return	for each row in 0..getHeight()-1, for each column in 0..getWidth()-1:
+	 * 				result[row][column] == isPassable(column, row)
+	 */
+	public boolean[][] toPassableMap() {
+		boolean[][] passableMap = new boolean[this.height][this.width];
+		for (int row = 0; row < this.height; row++){
+			for (int column = 0; column < this.width; column++){
+				passableMap[row][column] = this.isPassable(column, row);
+			}
+		}
+		return passableMap;
+	}
+
+	/**
+	 * @param	other
+	 * @return	result == ((other != null) && (getClass() == other.getClass())
+	 * 				&& (getWidth() == (Terrain other).getWidth()) && (getHeight() == (Terrain other).getHeight())
+	 * 				&& for each pixel: isImpassable(column, row) == (Terrain other).isImpassable(column, row))
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if ((other == null) || (this.getClass() != other.getClass()))
+			return false;
+		Terrain otherTerrain = (Terrain) other;
+		return ((this.width == otherTerrain.width) && (this.height == otherTerrain.height)
+				&& Arrays.equals(this.words, otherTerrain.words));
+	}
+
+	/**
+	 * @return	result == Arrays.hashCode(words)
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.words);
+	}
+
+	private final int width;
+
+	private final int height;
+
+	private final int wordsPerRow;
+
+	/**
+	 * Variable registering the pixels of this terrain, one bit per pixel and one set bit per impassable pixel.
+	 */
+	private final long[] words;
+
+	private static final int WORD_SIZE = 64;
+
+	private static final int WORD_SHIFT = 6;
+
+	private static final long ALL_BITS = -1L;
+
+}
@@ -0,0 +1,178 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of turn orders, registering the worms that take turns in a world as a ring with a cursor.
+ *
+ * Worms take their turns in the order in which they were added to the turn order. Adding a worm, removing a worm,
+ * moving the cursor to a given worm and advancing the cursor to the next worm all take constant time.
+ * When the worm at the cursor is removed, the cursor moves back to the worm before it, so that advancing
+ * the cursor yields the worm that would have come after the removed worm.
+ *
+ * @Invar	getNbWorms() >= 0
+ * @Invar	(getCurrent() == null) == (getNbWorms() == 0)
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+
+final class TurnOrder {
+
+	/**
+	 * Return the number of worms in this turn order.
+	 */
+	@Basic
+	int getNbWorms() {
+		return this.nodes.size();
+	}
+
+	/**
+	 * Check whether the given worm takes turns in this turn order.
+	 * @param	worm
+	 * 			The worm to check.
+	 */
+	boolean contains(Worm worm) {
+		return this.nodes.containsKey(worm);
+	}
+
+	/**
+	 * Return the worm at the cursor of this turn order, or null if this turn order is empty.
+	 */
+	@Basic
+	Worm getCurrent() {
+		if (this.cursor == null)
+			return null;
+		return this.cursor.worm;
+	}
+
+	/**
+	 * Return the worms of this turn order, starting with the first added worm that is still in this turn order.
+	 * @return	a new list of length getNbWorms(), holding the worms of this turn order in the order of their turns
+	 */
+	List<Worm> getWorms() {
+		List<Worm> result = new ArrayList<Worm>(this.getNbWorms());
+		if (this.first == null)
+			return result;
+		Node node = this.first;
+		do {
+			result.add(node.worm);
+			node = node.next;
+		} while (node != this.first);
+		return result;
+	}
+
+	/**
+	 * Add the given worm as the last worm of this turn order.
+	 * @param	worm
+	 * 			The worm to add.
+	 * @post	new.contains(worm)
+	 * @post	If this turn order was empty, the cursor of this turn order is at the given worm.
+	 * 			Otherwise, the given worm takes its turn right before the first added worm that is still in this turn order.
+	 */
+	void add(Worm worm) {
+		if (this.contains(worm))
+			return;
+		Node node = new Node(worm);
+		if (this.first == null){
+			node.next = node;
+			node.previous = node;
+			this.first = node;
+			this.cursor = node;
+		}
+		else{
+			Node last = this.first.previous;
+			node.previous = last;
+			node.next = this.first;
+			last.next = node;
+			this.first.previous = node;
+		}
+		this.nodes.put(worm, node);
+	}
+
+	/**
+	 * Remove the given worm from this turn order.
+	 * @param	worm
+	 * 			The worm to remove.
+	 * @post	! new.contains(worm)
+	 * @post	If the cursor of this turn order was at the given worm, it is at the worm before it.
+	 */
+	void remove(Worm worm) {
+		Node node = this.nodes.remove(worm);
+		if (node == null)
+			return;
+		if (node.next == node){
+			this.first = null;
+			this.cursor = null;
+			return;
+		}
+		node.previous.next = node.next;
+		node.next.previous = node.previous;
+		if (this.first == node)
+			this.first = node.next;
+		if (this.cursor == node)
+			this.cursor = node.previous;
+	}
+
+	/**
+	 * Move the cursor of this turn order to the given worm.
+	 * @param	worm
+	 * 			The worm to move the cursor to.
+	 * @post	if (contains(worm))
+	 * 				then new.getCurrent() == worm
+	 */
+	void moveTo(Worm worm) {
+		Node node = this.nodes.get(worm);
+		if (node != null)
+			this.cursor = node;
+	}
+
+	/**
+	 * Advance the cursor of this turn order to the next worm.
+	 * @return	the worm at the new cursor, or null if this turn order is empty.
+	 */
+	Worm advance() {
+		if (this.cursor == null)
+			return null;
+		this.cursor = this.cursor.next;
+		return this.cursor.worm;
+	}
+
+	/**
+	 * A class of nodes in the ring of a turn order.
+	 */
+	private static final class Node {
+
+		private Node(Worm worm) {
+			this.worm = worm;
+		}
+
+		private final Worm worm;
+
+		private Node previous;
+
+		private Node next;
+
+	}
+
+	/**
+	 * Variable registering the node of the first added worm that is still in this turn order.
+	 */
+	private Node first;
+
+	/**
+	 * Variable registering the node at the cursor of this turn order.
+	 */
+	private Node cursor;
+
+	/**
+	 * Variable registering the node of each worm in this turn order.
+	 */
+	private final Map<Worm, Node> nodes = new HashMap<Worm, Node>();
+
+}
@@ -0,0 +1,101 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of immutable vertical clearance fields over a terrain.
+ *
+ * For every pixel of a terrain, a vertical clearance field registers how many pixels one has to go straight down
+ * to reach an impassable pixel (the floor), and how many pixels one has to go straight up to reach one (the ceiling).
+ * Impassable pixels have a clearance of zero in both directions. A pixel without any impassable pixel
+ * below it (above it) has a floor clearance (ceiling clearance) equal to NONE.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+
+@Value
+final class VerticalClearance {
+
+	/**
+	 * Initialize this new vertical clearance field for the given terrain.
+	 *
+	 * @param	terrain
+	 * 			The terrain of this new vertical clearance field.
+	 * @post	for each column in 0..terrain.getWidth()-1, for each row in 0..terrain.getHeight()-1:
+	 * 				new.getPixelsToFloor(column, row) == the smallest k >= 0 for which terrain.isImpassable(column, row + k), or NONE
+	 * @post	for each column in 0..terrain.getWidth()-1, for each row in 0..terrain.getHeight()-1:
+	 * 				new.getPixelsToCeiling(column, row) == the smallest k >= 0 for which terrain.isImpassable(column, row - k), or NONE
+	 */
+	VerticalClearance(Terrain terrain) {
+		int width = terrain.getWidth();
+		int height = terrain.getHeight();
+		this.width = width;
+		this.pixelsToFloor = new int[width * height];
+		this.pixelsToCeiling = new int[width * height];
+		for (int column = 0; column < width; column++){
+			int clearance = NONE;
+			for (int row = height - 1; row >= 0; row--){
+				if (terrain.isImpassable(column, row))
+					clearance = 0;
+				else if (clearance != NONE)
+					clearance++;
+				this.pixelsToFloor[(row * width) + column] = clearance;
+			}
+			clearance = NONE;
+			for (int row = 0; row < height; row++){
+				if (terrain.isImpassable(column, row))
+					clearance = 0;
+				else if (clearance != NONE)
+					clearance++;
+				this.pixelsToCeiling[(row * width) + column] = clearance;
+			}
+		}
+	}
+
+	/**
+	 * Return the number of pixels between the given pixel and the nearest impassable pixel straight below it.
+	 *
+	 * @param	column
+	 * 			The column of the pixel.
+	 * @param	row
+	 * 			The row of the pixel, counted from the top.
+	 * @Pre		The given pixel belongs to the terrain of this field.
+	 */
+	@Basic @Immutable
+	int getPixelsToFloor(int column, int row) {
+		return this.pixelsToFloor[(row * this.width) + column];
+	}
+
+	/**
+	 * Return the number of pixels between the given pixel and the nearest impassable pixel straight above it.
+	 *
+	 * @param	column
+	 * 			The column of the pixel.
+	 * @param	row
+	 * 			The row of the pixel, counted from the top.
+	 * @Pre		The given pixel belongs to the terrain of this field.
+	 */
+	@Basic @Immutable
+	int getPixelsToCeiling(int column, int row) {
+		return this.pixelsToCeiling[(row * this.width) + column];
+	}
+
+	private final int width;
+
+	/**
+	 * Variable registering the floor clearance of each pixel, row by row from the top.
+	 */
+	private final int[] pixelsToFloor;
+
+	/**
+	 * Variable registering the ceiling clearance of each pixel, row by row from the top.
+	 */
+	private final int[] pixelsToCeiling;
+
+	/**
+	 * Constant registering the clearance of a pixel without any impassable pixel in the given direction.
+	 */
+	static final int NONE = Integer.MAX_VALUE;
+
+}
@@ -56,6 +56,26 @@ public class Weapon extends Identifiable{
 		this.setRadiusOfProjectile(radius);
 		this.deselect();
 	}
+
+	/**
+	 * Initialize this new weapon as a copy of the given weapon, without a worm and without a projectile.
+	 * @param	other
+	 * 			The weapon to copy.
+	 * @post 	new.getName() = other.getName()
+	 * @post	new.getAmmo() = other.getAmmo()
+	 * @post	new.getHitPointReduction() = other.getHitPointReduction()
+	 * @post	new.getCostInActionPoints() = other.getCostInActionPoints()
+	 * @post	new.getRadiusOfProjectile() = other.getRadiusOfProjectile()
+	 * @post	new.isSelected() = other.isSelected()
+	 */
+	protected Weapon(Weapon other) {
+		super(other.getName());
+		this.setAmmo(other.getAmmo());
+		this.setHitPointReduction(other.getHitPointReduction());
+		this.setCostInActionPoints(other.getCostInActionPoints());
+		this.setRadiusOfProjectile(other.getRadiusOfProjectile());
+		this.setSelected(other.isSelected());
+	}
 	
 	/**
 	 * @param	name
@@ -110,7 +130,7 @@ public class Weapon extends Identifiable{
 			weapon.deselect();
 	}
 	
-	private boolean selected;
+	private volatile boolean selected;
 	
 	@Basic
 	public int getAmmo(){
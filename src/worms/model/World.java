@@ -3,12 +3,19 @@ package worms.model;
 import java.awt.IllegalComponentStateException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import worms.model.programs.Program;
 import worms.util.Util;
 import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
 import be.kuleuven.cs.som.annotate.Model;
 import be.kuleuven.cs.som.annotate.Raw;
 
@@ -25,7 +32,7 @@ public class World {
 	 * 			The random value for this new world.
 	 * @post	new.getWidth = width
 	 * @post	new.getHeight = height
-	 * @post	new.getPassableMap = passableMap
+	 * @post	new.getTerrain() = new Terrain(passableMap)
 	 * @post	new.getRandom() = random
 	 * @effect	this.isValidHeight(new.getHeight())
 	 * @effect	this.isValidWidth(new.getWidth())
@@ -41,10 +48,141 @@ public class World {
 			throw new IllegalArgumentException("Invalid height!");
 		this.width = width;
 		this.height = height;
+		this.spatialGrid = new SpatialGrid(width, height);
 		this.setPassableMap(passableMap);
 		this.setRandom(random);
 		this.setStarted(false);
 	}
+
+	/**
+	 * Initialize this new world as an independent copy of the given world, with the given random number generator.
+	 * 
+	 * @param	original
+	 * 			The world to copy.
+	 * @param	random
+	 * 			The random number generator for this new world.
+	 * @post	new.getTerrain() == original.getTerrain()
+	 * @post	new.getRandom() == random
+	 * @post	Each game object and each team of the given world has a copy in this new world, in the same order.
+	 * 			The worms, weapons, projectiles and teams of the copies refer to each other as the originals do.
+	 * @post	The active worm, the turn order and the live worms of this new world are the copies of those of the given world.
+	 * @post	Each worm of this new world with a program has its own copy of the program of the worm it copies, which
+	 * 			refers to the copies of the game objects the original program refers to.
+	 */
+	@Raw
+	private World(World original, Random random) {
+		this.width = original.getWidth();
+		this.height = original.getHeight();
+		this.spatialGrid = new SpatialGrid(this.width, this.height);
+		this.terrain = original.terrain;
+		this.distanceField = original.distanceField;
+		this.verticalClearance = original.verticalClearance;
+		this.distanceSlack = original.distanceSlack;
+		// a fork that is searched on another thread keeps its own stencils, rather than contending for those of the original
+		this.stencilCache = new CircleStencilCache(this.getPixelWidth(), this.getPixelHeight(), STENCIL_CACHE_CAPACITY);
+		this.setRandom(random);
+		this.setStarted(original.isStarted());
+
+		Map<Team, Team> teamCopies = new IdentityHashMap<Team, Team>();
+		for (Team team : original.teams){
+			Team copy = new Team(team);
+			teamCopies.put(team, copy);
+			this.teams.add(copy);
+		}
+		Map<Worm, Worm> wormCopies = new IdentityHashMap<Worm, Worm>();
+		Map<GameObject, GameObject> objectCopies = new IdentityHashMap<GameObject, GameObject>();
+		List<Projectile> originalProjectiles = new ArrayList<Projectile>();
+		for (GameObject object : original.objects){
+			GameObject copy;
+			if (object instanceof Worm){
+				Worm worm = (Worm) object;
+				Worm wormCopy = new Worm(worm);
+				Team team = worm.getTeam();
+				if (team != null){
+					Team teamCopy = teamCopies.get(team);
+					if (teamCopy == null){
+						teamCopy = new Team(team);
+						teamCopies.put(team, teamCopy);
+					}
+					teamCopy.worms.add(wormCopy);
+					wormCopy.team = teamCopy;
+				}
+				wormCopies.put(worm, wormCopy);
+				this.worms.add(wormCopy);
+				copy = wormCopy;
+			}
+			else if (object instanceof Food){
+				Food foodCopy = new Food((Food) object);
+				this.food.add(foodCopy);
+				copy = foodCopy;
+			}
+			else if (object instanceof Projectile){
+				Projectile projectileCopy = new Projectile((Projectile) object);
+				this.projectiles.add(projectileCopy);
+				originalProjectiles.add((Projectile) object);
+				copy = projectileCopy;
+			}
+			else throw new IllegalArgumentException("Cannot copy this object");
+			copy.setWorld(this);
+			objectCopies.put(object, copy);
+			this.objects.add(copy);
+			this.spatialGrid.add(copy);
+		}
+		for (int i = 0; i < originalProjectiles.size(); i++){
+			Weapon weapon = originalProjectiles.get(i).weapon;
+			if ((weapon == null) || !wormCopies.containsKey(weapon.getWorm()))
+				continue;
+			Worm wormCopy = wormCopies.get(weapon.getWorm());
+			Weapon weaponCopy = wormCopy.getAllWeapons().get(weapon.getWorm().getAllWeapons().indexOf(weapon));
+			Projectile projectileCopy = this.projectiles.get(i);
+			projectileCopy.setWeapon(weaponCopy);
+			weaponCopy.projectile = projectileCopy;
+		}
+		for (Worm worm : original.turnOrder.getWorms()){
+			Worm wormCopy = wormCopies.get(worm);
+			this.addAsLiveWorm(wormCopy, wormCopy.getTeam());
+		}
+		if (original.turnOrder.getCurrent() != null)
+			this.turnOrder.moveTo(wormCopies.get(original.turnOrder.getCurrent()));
+		this.activeWorm = wormCopies.get(original.activeWorm);
+		this.nbTurns = original.nbTurns;
+		for (Map.Entry<Worm, Worm> entry : wormCopies.entrySet()){
+			Program program = entry.getKey().getProgram();
+			if (program != null)
+				entry.getValue().setProgram(new Program(program, objectCopies));
+		}
+	}
+
+	/**
+	 * Return an independent copy of this world, for trying out actions without changing this world.
+	 * The copy shares the terrain of this world, which is immutable, and copies all worms with their programs,
+	 * weapons, projectiles, food and teams of this world. The copy draws its random numbers from its own generator, seeded from the
+	 * generator of this world.
+	 * 
+	 * @return	result == this.fork(new Random(this.getRandom().nextLong()))
+	 */
+	public World fork(){
+		return this.fork(new Random(this.getRandom().nextLong()));
+	}
+
+	/**
+	 * Return an independent copy of this world, drawing its random numbers from the given generator.
+	 * 
+	 * @param	random
+	 * 			The random number generator for the copy.
+	 * @return	A world that is in the same state as this world, but has its own copy of each game object and team
+	 * 			of this world and shares the terrain of this world.
+	 * 		|	result != this && result.getTerrain() == this.getTerrain() && result.getRandom() == random
+	 */
+	public World fork(Random random){
+		this.readLock.lock();
+		try {
+			return new World(this, random);
+		}
+		finally {
+			this.readLock.unlock();
+		}
+	}
 	
 	@Basic
 	protected double getWidth(){
@@ -108,29 +246,88 @@ public class World {
 	 * 			The center of the game object to check.
 	 * @param 	radius
 	 * 			The radius of the game object to check.
-	 * @return	result == this.isPassablePartOfPixeledRadiusOfCircle(center, radius, 0, 0)
+	 * @return	result == this.isPassable(center.getX(), center.getY(), radius)
 	 */
 	public boolean isPassable(Position center, double radius){
-		boolean result;
-		try{
-			result = this.isPassablePartOfPixeledRadiusOfCircle(center, radius, 0, 0);
-		}
-		catch (IllegalArgumentException exc){
-			result = false;
-		}
-		return result;
+		return this.isPassable(center.getX(), center.getY(), radius);
+	}
+
+	/**
+	 * Check whether a game object with the given center coordinates and radius is at a passable position.
+	 * This check does not create any objects.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object to check.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object to check.
+	 * @param 	radius
+	 * 			The radius of the game object to check.
+	 * @return	result == (this.isLocatedInWorld(x, y, radius) && this.isPassableCircle(x, y, radius, this.getDistanceToImpassableTerrain(x, y)))
+	 */
+	public boolean isPassable(double x, double y, double radius){
+		if (!this.isLocatedInWorld(x, y, radius))
+			return false;
+		return this.isPassableCircle(x, y, radius, this.getDistanceToImpassableTerrain(x, y));
 	}
+
 	/**
 	 * Chech whether a game object with given center and radius is adjacent to impassable terrain.
 	 * @param 	center
 	 * 			The center of the game object to check.
 	 * @param 	radius
 	 * 			The radius of the game object to check.
-	 * @return	result == isAdjacentToImpassableTerrain(center, radius, 0, 0)
+	 * @return	result == isAdjacentToImpassableTerrain(center.getX(), center.getY(), radius)
 	 */
 	public boolean isAdjacentToImpassableTerrain(Position center, double radius){
-		return this.isAdjacentToImpassableTerrain(center, radius, 0, 0);
+		return this.isAdjacentToImpassableTerrain(center.getX(), center.getY(), radius);
+	}
+
+	/**
+	 * Chech whether a game object with the given center coordinates and radius is adjacent to impassable terrain.
+	 * This check does not create any objects.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object to check.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object to check.
+	 * @param 	radius
+	 * 			The radius of the game object to check.
+	 * @return	result == isAdjacentToImpassableTerrain(x, y, radius, 0, 0)
+	 */
+	public boolean isAdjacentToImpassableTerrain(double x, double y, double radius){
+		return this.isAdjacentToImpassableTerrain(x, y, radius, 0, 0);
 	}
+
+	/**
+	 * Return how far a game object with the given center coordinates and radius can move, in any direction,
+	 * while staying passable and not adjacent to impassable terrain.
+	 * The distance is bounded by the borders of this world and by the distance field of its terrain, which loses
+	 * at most the diagonal of a pixel when the center moves to another pixel.
+	 * This check does not create any objects.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object to check.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object to check.
+	 * @param 	radius
+	 * 			The radius of the game object to check.
+	 * @return	for each centerX, centerY with Math.hypot(centerX - x, centerY - y) <= result:
+	 * 				(isPassable(centerX, centerY, radius) && ! isAdjacentToImpassableTerrain(centerX, centerY, radius))
+	 * @return	if (! isLocatedInWorld(x, y, radius))
+	 * 				then ! (result > 0)
+	 */
+	protected double getClearanceFromImpassableTerrain(double x, double y, double radius){
+		if (!this.isLocatedInWorld(x, y, radius))
+			return 0;
+		double pixelWidth = this.getPixelWidth();
+		double pixelHeight = this.getPixelHeight();
+		double distance = this.getDistanceToImpassableTerrain(x, y);
+		double fromTerrain = (distance * (1 - TERRAIN_CLEARANCE_TOLERANCE)) - Math.hypot(pixelWidth, pixelHeight) - (radius * 1.1) - this.distanceSlack;
+		double fromBorders = Math.min(Math.min(x, y), Math.min(((this.getWidthInPixels() - 1) * pixelWidth) - x, ((this.getHeightInPixels() - 1) * pixelHeight) - y)) - radius;
+		return Math.min(fromTerrain, fromBorders);
+	}
+
+	/**
+	 * The relative precision of the distances registered in the distance field of a world.
+	 */
+	private static final double TERRAIN_CLEARANCE_TOLERANCE = 1e-6;
 	/**
 	 * Return a random position in this world.
 	 * @param 	radius
@@ -145,25 +342,27 @@ public class World {
 		double centerY = this.getHeight() / 2;
 		double randomXCoordinate;
 		double randomYCoordinate;
-		Position testPosition = null;
+		MutablePosition testPosition = null;
 		boolean positionFound = false;
 		loops:
 		for(int i=0;i<100;++i){
 			randomXCoordinate = this.getRandom().nextDouble() * this.getWidth();
 			randomYCoordinate = this.getRandom().nextDouble() * this.getHeight();
-			testPosition = new Position(randomXCoordinate, randomYCoordinate);
-			if(this.isLocatedInWorld(testPosition, radius)){
+			if (testPosition == null)
+				testPosition = new MutablePosition(new Position(randomXCoordinate, randomYCoordinate));
+			else testPosition.set(randomXCoordinate, randomYCoordinate);
+			if(this.isLocatedInWorld(testPosition.getX(), testPosition.getY(), radius)){
 				while(!(Util.fuzzyGreaterThanOrEqualTo(stepSizeX, Math.abs(testPosition.getX() - centerX)) && Util.fuzzyGreaterThanOrEqualTo(stepSizeY, Math.abs(testPosition.getY() - centerY)))){
-					if(this.isAdjacentToImpassableFloor(testPosition, radius)){
+					if(this.isAdjacentToImpassableFloor(testPosition.getX(), testPosition.getY(), radius)){
 						positionFound = true;
 						break loops;
 					}
-					testPosition = this.getPositionCloserToCenter(testPosition, stepSize);
+					this.moveCloserToCenter(testPosition, stepSize);
 				}
 			}
 		}
 		if(positionFound)
-			return testPosition;
+			return testPosition.toPosition();
 		else return null;
 	}
 
@@ -172,15 +371,32 @@ public class World {
 	 * @param 	center
 	 * 			The center of the circle to check.
 	 * @param	radius
-	 * 			
-	 * @return	result == 
+	 * 			The radius of the circle to check.
+	 * @return	result == this.isLocatedInWorld(center.getX(), center.getY(), radius)
 	 */
 	protected boolean isLocatedInWorld(Position center, double radius){
-		double x = center.getX();
-		double y = center.getY();
-		int MaxPixelCoordinates[] = this.getUncheckedPixelCoordinates(new Position((x + radius),(y + radius)));
-		int MinPixelCoordinates[] = this.getUncheckedPixelCoordinates(new Position((x - radius),(y - radius)));
-		return ((MinPixelCoordinates[0] >= 0) && (MinPixelCoordinates[1] >= 0) && (MaxPixelCoordinates[0] < this.getWidthInPixels()) && (MaxPixelCoordinates[1] < this.getHeightInPixels()));
+		return this.isLocatedInWorld(center.getX(), center.getY(), radius);
+	}
+
+	/**
+	 * Check whether a game object with the given center coordinates and radius is located in this world.
+	 * This check does not create any objects.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the circle to check.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the circle to check.
+	 * @param	radius
+	 * 			The radius of the circle to check.
+	 * @return	result == ((Math.round((x - radius) / getPixelWidth()) >= 0) && (Math.round((y - radius) / getPixelHeight()) >= 0)
+	 * 				&& (Math.round((x + radius) / getPixelWidth()) < getWidthInPixels()) && (Math.round((y + radius) / getPixelHeight()) < getHeightInPixels()))
+	 */
+	protected boolean isLocatedInWorld(double x, double y, double radius){
+		if (Double.isNaN(x) || Double.isNaN(y) || Double.isNaN(radius))
+			return false;
+		double pixelWidth = this.getPixelWidth();
+		double pixelHeight = this.getPixelHeight();
+		return ((Math.round((x - radius) / pixelWidth) >= 0) && (Math.round((y - radius) / pixelHeight) >= 0)
+				&& (Math.round((x + radius) / pixelWidth) < this.getWidthInPixels()) && (Math.round((y + radius) / pixelHeight) < this.getHeightInPixels()));
 	}
 
 	/**
@@ -203,43 +419,237 @@ public class World {
 	 * 			The center of the game object.
 	 * @param 	radius
 	 * 			The radius of the game object.
-	 * @return	
+	 * @return	result == this.isAdjacentToImpassableFloor(center.getX(), center.getY(), radius)
 	 */
 	protected boolean isAdjacentToImpassableFloor(Position center, double radius){
-		return this.isAdjacentToImpassableTerrain(center, radius, -((Math.PI / 4) + (Math.PI / 16)), -((Math.PI / 4) - (Math.PI / 16)));
+		return this.isAdjacentToImpassableFloor(center.getX(), center.getY(), radius);
+	}
+
+	/**
+	 * Check whether a game object with the given center coordinates and radius is adjacent to an impassable floor.
+	 * This check does not create any objects.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object.
+	 * @param 	radius
+	 * 			The radius of the game object.
+	 * @return	result == (this.isLocatedInWorld(x, y, (radius * 1.1)) && this.isPassable(x, y, radius)
+	 * 				&& ((y - (radius * 1.1)) < this.getFloorTop(x, y, radius)))
+	 */
+	protected boolean isAdjacentToImpassableFloor(double x, double y, double radius){
+		if (!this.isLocatedInWorld(x, y, (radius * 1.1)))
+			return false;
+		if (!this.isPassableCircle(x, y, radius, this.getDistanceToImpassableTerrain(x, y)))
+			return false;
+		return ((y - (radius * 1.1)) < this.getFloorTop(x, y, radius));
+	}
+
+	/**
+	 * Return the distance a game object with the given center coordinates and radius falls straight down,
+	 * until it is adjacent to an impassable floor or until its lower half rests on impassable terrain.
+	 * The game object falls by whole pixel heights. It falls by at least one pixel height, unless its lower half
+	 * already rests on impassable terrain.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object.
+	 * @param 	radius
+	 * 			The radius of the game object.
+	 * @Pre		this.isLocatedInWorld(x, y, radius)
+	 * @return	if ((this.getFloorTop(x, y, radius) == Double.NEGATIVE_INFINITY) && (this.getNbPixelsToSurface(x, y, radius) == Integer.MAX_VALUE))
+	 * 				then result == Double.POSITIVE_INFINITY
+	 * 			else result == Math.min(n, this.getNbPixelsToSurface(x, y, radius)) * this.getPixelHeight()
+	 * 				where n is the smallest integer number with n >= 1 and (y - (n * this.getPixelHeight()) - (radius * 1.1)) < this.getFloorTop(x, y, radius)
+	 */
+	protected double getFallDistance(double x, double y, double radius){
+		double pixelHeight = this.getPixelHeight();
+		double landingBound = this.getFloorTop(x, y, radius) + (radius * 1.1);
+		double nbPixels = this.getNbPixelsToSurface(x, y, radius);
+		if (!Double.isInfinite(landingBound))
+			nbPixels = Math.min(nbPixels, Math.max(1, Math.floor((y - landingBound) / pixelHeight) + 1));
+		if (nbPixels == Integer.MAX_VALUE)
+			return Double.POSITIVE_INFINITY;
+		return (nbPixels * pixelHeight);
+	}
+
+	/**
+	 * Return the number of whole pixel heights a game object with the given center coordinates and radius can fall
+	 * straight down before the lower half of its perimeter hits impassable terrain.
+	 * Every column covered by the game object is looked up once in the vertical clearance field of this world.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object.
+	 * @param 	radius
+	 * 			The radius of the game object.
+	 * @Pre		this.isLocatedInWorld(x, y, radius)
+	 * @return	if (there is no impassable pixel below the lower half of the perimeter in any covered column)
+	 * 				then result == Integer.MAX_VALUE
+	 * 			else result == the smallest value of Math.floor((bottom - surfaceTop) / this.getPixelHeight()) over the covered columns,
+	 * 				where bottom is the y-coordinate of the lower half of the perimeter above the center of the column
+	 * 				and surfaceTop is the y-coordinate of the top of the highest impassable pixel below it
+	 */
+	private int getNbPixelsToSurface(double x, double y, double radius){
+		double pixelWidth = this.getPixelWidth();
+		double pixelHeight = this.getPixelHeight();
+		int maxRow = this.getHeightInPixels() - 1;
+		int firstColumn = (int) Math.max(0, Math.round((x - radius) / pixelWidth));
+		int lastColumn = (int) Math.min(this.getWidthInPixels() - 1, Math.round((x + radius) / pixelWidth));
+		int result = Integer.MAX_VALUE;
+		for (int column = firstColumn; column <= lastColumn; column++){
+			double deltaX = Math.min(Math.abs((column * pixelWidth) - x), radius);
+			double bottom = y - Math.sqrt((radius * radius) - (deltaX * deltaX));
+			int bottomRow = Math.max(0, Math.min(maxRow, maxRow - (int) Math.round(bottom / pixelHeight)));
+			int pixelsToFloor = this.verticalClearance.getPixelsToFloor(column, bottomRow);
+			if (pixelsToFloor != VerticalClearance.NONE){
+				double surfaceTop = ((maxRow - (bottomRow + pixelsToFloor)) + 0.5) * pixelHeight;
+				result = Math.min(result, (int) Math.max(0, Math.floor((bottom - surfaceTop) / pixelHeight)));
+			}
+		}
+		return result;
 	}
 
+	/**
+	 * Return the y-coordinate of the top of the highest impassable pixel straight below the center of
+	 * a game object with the given center coordinates and radius. Every column within a wedge of pi/16 around
+	 * the downward direction, at 1.1 times the given radius, is taken into account.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object.
+	 * @param 	radius
+	 * 			The radius of the game object.
+	 * @Pre		this.isLocatedInWorld(x, y, 0)
+	 * @return	if (there is no impassable pixel below the center in any of these columns)
+	 * 				then result == Double.NEGATIVE_INFINITY
+	 * 			else result == (floorPixel + 0.5) * this.getPixelHeight()
+	 * 				where floorPixel is the highest pixel y-coordinate of these impassable pixels
+	 */
+	private double getFloorTop(double x, double y, double radius){
+		int centerRow = this.getHeightInPixels() - 1 - (int) Math.round(y / this.getPixelHeight());
+		int highestFloorRow = Integer.MAX_VALUE;
+		int lastColumn = this.getLastWedgeColumn(x, radius);
+		for (int column = this.getFirstWedgeColumn(x, radius); column <= lastColumn; column++){
+			int pixelsToFloor = this.verticalClearance.getPixelsToFloor(column, centerRow);
+			if (pixelsToFloor != VerticalClearance.NONE)
+				highestFloorRow = Math.min(highestFloorRow, centerRow + pixelsToFloor);
+		}
+		if (highestFloorRow == Integer.MAX_VALUE)
+			return Double.NEGATIVE_INFINITY;
+		return (((this.getHeightInPixels() - 1 - highestFloorRow) + 0.5) * this.getPixelHeight());
+	}
+
+	/**
+	 * Return the y-coordinate of the bottom of the lowest impassable pixel straight above the center of
+	 * a game object with the given center coordinates and radius. Every column within a wedge of pi/16 around
+	 * the upward direction, at 1.1 times the given radius, is taken into account.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object.
+	 * @param 	radius
+	 * 			The radius of the game object.
+	 * @Pre		this.isLocatedInWorld(x, y, 0)
+	 * @return	if (there is no impassable pixel above the center in any of these columns)
+	 * 				then result == Double.POSITIVE_INFINITY
+	 * 			else result == (ceilingPixel - 0.5) * this.getPixelHeight()
+	 * 				where ceilingPixel is the lowest pixel y-coordinate of these impassable pixels
+	 */
+	private double getCeilingBottom(double x, double y, double radius){
+		int centerRow = this.getHeightInPixels() - 1 - (int) Math.round(y / this.getPixelHeight());
+		int lowestCeilingRow = -1;
+		int lastColumn = this.getLastWedgeColumn(x, radius);
+		for (int column = this.getFirstWedgeColumn(x, radius); column <= lastColumn; column++){
+			int pixelsToCeiling = this.verticalClearance.getPixelsToCeiling(column, centerRow);
+			if (pixelsToCeiling != VerticalClearance.NONE)
+				lowestCeilingRow = Math.max(lowestCeilingRow, centerRow - pixelsToCeiling);
+		}
+		if (lowestCeilingRow == -1)
+			return Double.POSITIVE_INFINITY;
+		return (((this.getHeightInPixels() - 1 - lowestCeilingRow) - 0.5) * this.getPixelHeight());
+	}
+
+	/**
+	 * Return the leftmost column of the vertical wedges of a game object with the given x-coordinate and radius.
+	 * @return	result == Math.max(0, Math.round((x - (radius * 1.1 * Math.sin(Math.PI / 16))) / this.getPixelWidth()))
+	 */
+	private int getFirstWedgeColumn(double x, double radius){
+		return (int) Math.max(0, Math.round((x - (radius * WEDGE_SPREAD)) / this.getPixelWidth()));
+	}
+
+	/**
+	 * Return the rightmost column of the vertical wedges of a game object with the given x-coordinate and radius.
+	 * @return	result == Math.min(this.getWidthInPixels() - 1, Math.round((x + (radius * 1.1 * Math.sin(Math.PI / 16))) / this.getPixelWidth()))
+	 */
+	private int getLastWedgeColumn(double x, double radius){
+		return (int) Math.min(this.getWidthInPixels() - 1, Math.round((x + (radius * WEDGE_SPREAD)) / this.getPixelWidth()));
+	}
+
+	/**
+	 * Constant registering the horizontal spread of a vertical wedge, relative to the radius of a game object.
+	 */
+	private static final double WEDGE_SPREAD = 1.1 * Math.sin(Math.PI / 16);
+
 	/**
 	 * Check whether a game object with given center and given radius is adjacent to an impassable ceiling.
 	 * @param 	center
 	 * 			The center of the game object.
 	 * @param 	radius
 	 * 			The radius of the game object.
-	 * @return	
+	 * @return	result == this.isAdjacentToImpassableCeiling(center.getX(), center.getY(), radius)
 	 */
 	protected boolean isAdjacentToImpassableCeiling(Position center, double radius){
-		return this.isAdjacentToImpassableTerrain(center, radius, ((Math.PI / 4) - (Math.PI / 16)), ((Math.PI / 4) + (Math.PI / 16)));
+		return this.isAdjacentToImpassableCeiling(center.getX(), center.getY(), radius);
 	}
 
-	@Basic
+	/**
+	 * Check whether a game object with the given center coordinates and radius is adjacent to an impassable ceiling.
+	 * This check does not create any objects.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object.
+	 * @param 	radius
+	 * 			The radius of the game object.
+	 * @return	result == (this.isLocatedInWorld(x, y, (radius * 1.1)) && this.isPassable(x, y, radius)
+	 * 				&& ((y + (radius * 1.1)) >= this.getCeilingBottom(x, y, radius)))
+	 */
+	protected boolean isAdjacentToImpassableCeiling(double x, double y, double radius){
+		if (!this.isLocatedInWorld(x, y, (radius * 1.1)))
+			return false;
+		if (!this.isPassableCircle(x, y, radius, this.getDistanceToImpassableTerrain(x, y)))
+			return false;
+		return ((y + (radius * 1.1)) >= this.getCeilingBottom(x, y, radius));
+	}
+
+	/**
+	 * Return the passable map of this world.
+	 * @return	result == this.getTerrain().toPassableMap()
+	 */
 	protected boolean[][] getPassableMap(){
-		return this.passableMap;
+		return this.getTerrain().toPassableMap();
+	}
+
+	@Basic
+	protected Terrain getTerrain(){
+		return this.terrain;
 	}
 	
 	/**
 	 * Return the width of this world in pixels.
-	 * @return	result == this.getPassableMap()[0].length
+	 * @return	result == this.getTerrain().getWidth()
 	 */
 	protected int getWidthInPixels(){
-		return this.getPassableMap()[0].length;
+		return this.getTerrain().getWidth();
 	}
 	
 	/**
 	 * Return the height of this world in pixels.
-	 * @return	result == this.getPassableMap().length
+	 * @return	result == this.getTerrain().getHeight()
 	 */
 	protected int getHeightInPixels(){
-		return this.getPassableMap().length;
+		return this.getTerrain().getHeight();
 	}
 	/**
 	 * Return the width of a pixel.
@@ -263,16 +673,47 @@ public class World {
 	 * Set the passable map of this world to the given passable map.
 	 * @param 	map
 	 * 			The passable map to be set.
-	 * @throws 	IllegalArgumentExceptionIllegalArgumentException("Empty map!")
+	 * @post	new.getTerrain() == new Terrain(map)
+	 * @throws 	IllegalArgumentException("Empty map!")
 	 * 			(map.length == 0 || map[0].length == 0)	
+	 * @throws	IllegalArgumentException("Irregular map!")
+	 * 			for some row in map: row.length != map[0].length
 	 */
 	protected void setPassableMap(boolean[][] map) throws IllegalArgumentException{
-		if (map.length == 0)
-			throw new IllegalArgumentException("Empty map!");
-		else if (map[0].length == 0)
-			throw new IllegalArgumentException("Empty map!");
-		this.passableMap = map;
+		this.terrain = new Terrain(map);
+		double pixelWidth = this.getPixelWidth();
+		double pixelHeight = this.getPixelHeight();
+		this.stencilCache = new CircleStencilCache(pixelWidth, pixelHeight, STENCIL_CACHE_CAPACITY);
+		this.distanceField = new DistanceField(this.terrain, pixelWidth, pixelHeight);
+		this.verticalClearance = new VerticalClearance(this.terrain);
+		this.distanceSlack = (Math.sqrt((pixelWidth * pixelWidth) + (pixelHeight * pixelHeight)) + Math.min(pixelWidth, pixelHeight)) / 2;
 	}
+
+	/**
+	 * Variable registering the distance from each pixel of this world to the nearest impassable pixel.
+	 */
+	private DistanceField distanceField;
+
+	/**
+	 * Variable registering the distance from each pixel of this world to the nearest impassable pixel straight below and above it.
+	 */
+	private VerticalClearance verticalClearance;
+
+	/**
+	 * Variable registering how far a sample of a circle stencil may lie from the exact perimeter of its circle,
+	 * being half the diagonal of a pixel plus half the quantum of the stencil radii.
+	 */
+	private double distanceSlack;
+
+	/**
+	 * Variable registering the cache of circle stencils used to sample the terrain of this world.
+	 */
+	private CircleStencilCache stencilCache;
+
+	/**
+	 * Constant registering the maximum number of circle stencils kept by a world.
+	 */
+	private static final int STENCIL_CACHE_CAPACITY = 32;
 	
 	/**
 	 * Return the pixelcoordinates of the given position.
@@ -284,17 +725,6 @@ public class World {
 		return position.getPixelCoordinates(this.getPixelWidth(), this.getPixelHeight());
 	}
 
-	/**
-	 * Check whether the given position is impassable.
-	 * @param 	position
-	 * 			The position to be checked.
-	 * @return	result == !this.getPassableMap()[pixelCoordinates[1]][pixelCoordinates[0]]
-	 */
-	private boolean isImpassablePosition(Position position) {
-		int[] pixelCoordinates = this.getPixelCoordinates(position);
-		return !this.getPassableMap()[(this.getHeightInPixels() - 1 - pixelCoordinates[1])][pixelCoordinates[0]];
-	}
-
 	/**
 	 * Other possible methods for testing basic passability of a circle piece.
 	 * 
@@ -361,133 +791,285 @@ public class World {
 		return isPassable;
 	}*/
 	/**
-	 * Check whether a game object with given center, given radius, given lowerbound and given upperbound is at a passable position.
-	 * @param 	center
-	 * 			The center of the game object to check.
+	 * Check whether a game object with given center coordinates, given radius, given lowerbound and given upperbound is at a passable position.
+	 * @param 	centerX
+	 * 			The x-coordinate of the center of the game object to check.
+	 * @param 	centerY
+	 * 			The y-coordinate of the center of the game object to check.
 	 * @param 	radiusOfCircle
 	 * 			The radius of the game object to check.
 	 * @param 	lowerBound
 	 * 			The lowerbound of the direction to check.
 	 * @param 	upperBound
 	 * 			The upperbound of the direction to check.
-	 * @return	result == for each x coordinate in passableMap[][]=>(Math.cos(lowerBound) * radiusOfCircle) + center.getX() && center.getX()<(Math.cos(upperbound) * radiusOfCircle) + center.getX()
-	 * 						for each y coordinate in passableMap[][]=>(Math.sin(lowerBound) * radiusOfCircle) + center.getY() && center.getX()<(Math.sin(upperbound) * radiusOfCircle) + center.getY()
-	 * 						if (! isImpassablePosition(new Position(x, y))
-	 * @throws 	IllegalArgumentException
+	 * @Pre		this.isLocatedInWorld(centerX, centerY, radiusOfCircle)
+	 * @return	result == this.stencilCache.getStencil(radiusOfCircle, lowerBound, upperBound).isPassableAround(this.getTerrain(),
+	 * 				(int) Math.round(centerX / getPixelWidth()), (this.getHeightInPixels() - 1 - (int) Math.round(centerY / getPixelHeight())))
 	 */
-	private boolean isPassablePartOfPixeledRadiusOfCircle(Position center, double radiusOfCircle, double lowerBound, double upperBound) throws IllegalArgumentException{
-		boolean isPassable = true;
-		if (!this.isLocatedInWorld(center, radiusOfCircle))
-			throw new IllegalArgumentException("Not fully located in world!");
-		lowerBound = Worm.convertToRepresentativeAngle(lowerBound);
-		upperBound = Worm.convertToRepresentativeAngle(upperBound);
-		if(Util.fuzzyEquals(upperBound, 0))
-			upperBound = Math.PI * 2;
-		if ((lowerBound > upperBound))
+	private boolean isPassablePartOfPixeledRadiusOfCircle(double centerX, double centerY, double radiusOfCircle, double lowerBound, double upperBound){
+		CircleStencil stencil = this.stencilCache.getStencil(radiusOfCircle, lowerBound, upperBound);
+		int centerColumn = (int) Math.round(centerX / this.getPixelWidth());
+		int centerRow = this.getHeightInPixels() - 1 - (int) Math.round(centerY / this.getPixelHeight());
+		return stencil.isPassableAround(this.getTerrain(), centerColumn, centerRow);
+	}
+
+	/**
+	 * Return the distance from the center of the pixel holding the given coordinates to the nearest impassable pixel.
+	 * @param 	x
+	 * 			The x-coordinate to check.
+	 * @param 	y
+	 * 			The y-coordinate to check.
+	 * @Pre		this.isLocatedInWorld(x, y, 0)
+	 * @return	result == distanceField.getDistance((int) Math.round(x / getPixelWidth()), (this.getHeightInPixels() - 1 - (int) Math.round(y / getPixelHeight())))
+	 */
+	private double getDistanceToImpassableTerrain(double x, double y){
+		int column = (int) Math.round(x / this.getPixelWidth());
+		int row = this.getHeightInPixels() - 1 - (int) Math.round(y / this.getPixelHeight());
+		return this.distanceField.getDistance(column, row);
+	}
+
+	/**
+	 * Check whether a circle with given center coordinates and given radius is passable,
+	 * given the distance from its center to the nearest impassable pixel.
+	 * Only circles whose perimeter lies within the slack of the distance field from that pixel are sampled.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the circle.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the circle.
+	 * @param 	radius
+	 * 			The radius of the circle.
+	 * @param	distance
+	 * 			The distance from the center of the circle to the nearest impassable pixel.
+	 * @Pre		this.isLocatedInWorld(x, y, radius)
+	 * @return	if (distance > radius + distanceSlack)
+	 * 				then result == true
+	 * 			else if (distance < radius - distanceSlack)
+	 * 				then result == false
+	 * 			else result == this.isPassablePartOfPixeledRadiusOfCircle(x, y, radius, 0, 0)
+	 */
+	private boolean isPassableCircle(double x, double y, double radius, double distance){
+		if (distance > (radius + this.distanceSlack))
+			return true;
+		if (distance < (radius - this.distanceSlack))
 			return false;
-		double stepSize = Math.min(this.getPixelWidth(), this.getPixelHeight());
-		double angleStepSize = 5 * Math.asin(stepSize);
-		double centerX = center.getX();
-		double centerY = center.getY();
-		double x;
-		double y;
-		Position testPosition;
-		do{
-			x = (Math.cos(lowerBound) * radiusOfCircle) + centerX;
-			y = (Math.sin(lowerBound) * radiusOfCircle) + centerY;
-			testPosition = new Position(x,y);
-			if(this.isImpassablePosition(testPosition)){
-				isPassable = false;
-				break;
-			}
-			lowerBound += angleStepSize;
-		}
-		while(lowerBound <= upperBound);
-		return isPassable;
+		return this.isPassablePartOfPixeledRadiusOfCircle(x, y, radius, 0, 0);
 	}
 
 	/**
-	 * Check whether a game object with given center, given radius, given startAngle and given stopAngle is adjacent to impassable terrain.
-	 * @param 	center
-	 * 			The center of the game object to check.
+	 * Check whether a game object with given center coordinates, given radius, given startAngle and given stopAngle is adjacent to impassable terrain.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object to check.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object to check.
 	 * @param 	radius
 	 * 			The radius of the game object to check.
 	 * @param 	startAngle
 	 * 			The starting angle of the direction of the game object to check.
 	 * @param 	stopAngle
 	 * 			The stopping angle of the direction of the game object to check.
-	 * @return	result == (isPassablePartOfPixeledRadiusOfCircle(center, radius, 0, 0) && ! this.isPassablePartOfPixeledRadiusOfCircle(center, (radius * 1.1), startAngle, stopAngle))
+	 * @return	result == (isLocatedInWorld(x, y, (radius * 1.1)) && isPassableCircle(x, y, radius, distance)
+	 * 				&& (distance <= (radius * 1.1) + distanceSlack)
+	 * 				&& (((startAngle == 0) && (stopAngle == 0) && (distance < (radius * 1.1) - distanceSlack))
+	 * 					|| ! this.isPassablePartOfPixeledRadiusOfCircle(x, y, (radius * 1.1), startAngle, stopAngle)))
+	 * 			where distance == getDistanceToImpassableTerrain(x, y)
 	 */
-	private boolean isAdjacentToImpassableTerrain(Position center, double radius, double startAngle, double stopAngle){
-		boolean result;
-		try{
-			boolean isPassable = this.isPassablePartOfPixeledRadiusOfCircle(center, radius, 0, 0);
-			boolean isAdjacent = !this.isPassablePartOfPixeledRadiusOfCircle(center, (radius * 1.1), startAngle, stopAngle);
-			result = (isPassable && isAdjacent);
-		}
-		catch (IllegalArgumentException exc){
-			result = false;
-		}
-		return result;
+	private boolean isAdjacentToImpassableTerrain(double x, double y, double radius, double startAngle, double stopAngle){
+		if (!this.isLocatedInWorld(x, y, (radius * 1.1)))
+			return false;
+		double distance = this.getDistanceToImpassableTerrain(x, y);
+		double outerRadius = radius * 1.1;
+		if (distance > (outerRadius + this.distanceSlack))
+			return false;
+		if (!this.isPassableCircle(x, y, radius, distance))
+			return false;
+		if ((startAngle == 0) && (stopAngle == 0) && (distance < (outerRadius - this.distanceSlack)))
+			return true;
+		return !this.isPassablePartOfPixeledRadiusOfCircle(x, y, outerRadius, startAngle, stopAngle);
 	}
 	
 	/**
-	 * 
-	 * @param 	original
-	 * 			The position of the game object to check.
+	 * Move the given position one step closer to the center of this world.
+	 * @param 	position
+	 * 			The position of the game object to check, which is moved in place.
 	 * @param 	stepSize
 	 * 			The size of the steps to check.
-	 * @return	Position == if (original.getX() > (this.getWidth() / 2) && (original.getY() > (this.getHeight() / 2))
-	 * 					return new Position((original.getX() - (this.getPixelWidth() * stepSize)),(original.getY() - (this.getPixelHeight() * stepSize)))  	
-	 * 						else
-	 * 					return  new Position((original.getX() + (this.getPixelWidth() * stepSize)), (original.getY() + (this.getPixelHeight() * stepSize))
-	 */
-	private Position getPositionCloserToCenter(Position original, double stepSize){
-		double newX;
-		double newY;
-		if(original.getX() > (this.getWidth() / 2))
-			newX = original.getX() - (this.getPixelWidth() * stepSize);
-		else newX = original.getX() + (this.getPixelWidth() * stepSize);
-		if(original.getY() > (this.getHeight() / 2))
-			newY = original.getY() - (this.getPixelHeight() * stepSize);
-		else newY = original.getY() + (this.getPixelHeight() * stepSize);
-		return new Position(newX, newY);
+	 * @effect	position.moveBy(deltaX, deltaY)
+	 * 				in	deltaX == ((position.getX() > (this.getWidth() / 2)) ? -1 : 1) * this.getPixelWidth() * stepSize
+	 * 					deltaY == ((position.getY() > (this.getHeight() / 2)) ? -1 : 1) * this.getPixelHeight() * stepSize
+	 */
+	private void moveCloserToCenter(MutablePosition position, double stepSize){
+		double deltaX = this.getPixelWidth() * stepSize;
+		double deltaY = this.getPixelHeight() * stepSize;
+		if(position.getX() > (this.getWidth() / 2))
+			deltaX = -deltaX;
+		if(position.getY() > (this.getHeight() / 2))
+			deltaY = -deltaY;
+		position.moveBy(deltaX, deltaY);
 	}
 	
 	/**
-	 * Variable registering the passableMap of this world.
+	 * Variable registering the bit-packed terrain of this world.
 	 */
-	private boolean[][] passableMap;
+	private Terrain terrain;
 	
 	/**
 	 * Returns the active worm of this world.
-	 * @return for each worm in this.getAllWorm()
-	 * 				if(worm.isActive())
-						return worm
-				else return null
 	 */
+	@Basic
 	public Worm getActiveWorm(){
-		List<Worm> allWorms = this.getAllWorms();
-		for(Worm worm : allWorms){
-			if(worm.isActive())
-				return worm;
+		return this.activeWorm;
+	}
+
+	/**
+	 * Set the active worm of this world to the given worm.
+	 * @param	worm
+	 * 			The worm to become the active worm of this world.
+	 * @post	new.getActiveWorm() == worm
+	 * @post	If the given worm takes turns in this world, the next turn is given to the worm after it.
+	 * @post	new.getNbTurns() == this.getNbTurns() + 1
+	 */
+	protected void setActiveWorm(Worm worm){
+		this.writeLock.lock();
+		try {
+			this.activeWorm = worm;
+			this.turnOrder.moveTo(worm);
+			this.nbTurns++;
+		}
+		finally {
+			this.writeLock.unlock();
 		}
-		return null;
 	}
-	
+
+	/**
+	 * Variable registering the active worm of this world.
+	 */
+	private volatile Worm activeWorm;
+
+	/**
+	 * Return the number of turns started in this world, including the turns started because the active worm ran out
+	 * of action points or died.
+	 */
+	@Basic
+	public int getNbTurns(){
+		return this.nbTurns;
+	}
+
+	/**
+	 * Variable registering the number of turns started in this world.
+	 */
+	private volatile int nbTurns;
+
+	/**
+	 * Register that the given worm of this world has died.
+	 * @param	worm
+	 * 			The worm that has died.
+	 * @post	The given worm no longer takes turns in this world. If it was the last worm to take a turn,
+	 * 			the next turn is given to the worm that would have come after it.
+	 * @post	The given worm no longer counts as a live worm of its team.
+	 */
+	protected void registerDeathOf(Worm worm){
+		this.writeLock.lock();
+		try {
+			this.removeAsLiveWorm(worm, worm.getTeam());
+		}
+		finally {
+			this.writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Register that the given worm of this world has moved from the given team to its current team.
+	 * @param	worm
+	 * 			The worm that has changed teams.
+	 * @param	oldTeam
+	 * 			The team the given worm belonged to before, or null if it had no team.
+	 * @post	If the given worm is a live worm of this world, it counts as a live worm of its current team
+	 * 			instead of the given team.
+	 */
+	protected void registerTeamChangeOf(Worm worm, Team oldTeam){
+		this.writeLock.lock();
+		try {
+			if (this.turnOrder.contains(worm)){
+				this.countLiveWorm(oldTeam, -1);
+				this.countLiveWorm(worm.getTeam(), 1);
+			}
+		}
+		finally {
+			this.writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Register the given worm as a live worm of this world, belonging to the given team.
+	 */
+	private void addAsLiveWorm(Worm worm, Team team){
+		if (! this.turnOrder.contains(worm)){
+			this.turnOrder.add(worm);
+			this.countLiveWorm(team, 1);
+		}
+	}
+
+	/**
+	 * Remove the given worm, belonging to the given team, from the live worms of this world.
+	 */
+	private void removeAsLiveWorm(Worm worm, Team team){
+		if (this.turnOrder.contains(worm)){
+			this.turnOrder.remove(worm);
+			this.countLiveWorm(team, -1);
+		}
+	}
+
+	/**
+	 * Change the number of live worms of this world in the given team by the given amount.
+	 * @param	team
+	 * 			The team of the worms, or null for worms without a team.
+	 * @param	amount
+	 * 			The number of live worms to add to the count.
+	 */
+	private void countLiveWorm(Team team, int amount){
+		if (team == null){
+			this.nbLiveWormsWithoutTeam += amount;
+			return;
+		}
+		Integer count = this.nbLiveWormsPerTeam.get(team);
+		int newCount = ((count == null) ? 0 : count) + amount;
+		if (newCount == 0){
+			this.nbLiveWormsPerTeam.remove(team);
+		}
+		else this.nbLiveWormsPerTeam.put(team, newCount);
+	}
+
+	/**
+	 * Variable registering the number of live worms of this world without a team.
+	 */
+	private int nbLiveWormsWithoutTeam;
+
+	/**
+	 * Variable registering the number of live worms of this world in each team with live worms in this world.
+	 */
+	private final Map<Team, Integer> nbLiveWormsPerTeam = new HashMap<Team, Integer>();
+
+	/**
+	 * Variable registering the order in which the live worms of this world take turns.
+	 */
+	private final TurnOrder turnOrder = new TurnOrder();
+
 	/**
 	 * Returns the active projectile in this world.
-	 * @return	for each game object in this.getObjects()
-	 * 				if (object.getClass().getName() == Projectile.class.getName())
-	 * 					return object
-	 * 			else return null
+	 * @return	if (this.projectiles.isEmpty())
+	 * 				then result == null
+	 * 			else result == the projectile that was added first to this world
 	 */
 	public Projectile getActiveProjectile(){
-		for(GameObject object : this.getObjects()){
-			if(object.getClass().getName() == Projectile.class.getName())
-				return (Projectile) object;
+		this.readLock.lock();
+		try {
+			if (this.projectiles.isEmpty())
+				return null;
+			return this.projectiles.get(0);
+		}
+		finally {
+			this.readLock.unlock();
 		}
-		return null;
 	}
 	
 	/**
@@ -497,31 +1079,51 @@ public class World {
 	 * 					result.add(worm)
 	 */
 	public List<Worm> getAllLiveWorms(){
-		List<Worm> result = this.getAllWorms();
-		for(Worm worm : result){
-			if(!worm.isAlive())
-				result.remove(worm);
+		this.readLock.lock();
+		try {
+			List<Worm> result = new ArrayList<Worm>(this.worms.size());
+			for(Worm worm : this.worms){
+				if(worm.isAlive())
+					result.add(worm);
+			}
+			return result;
+		}
+		finally {
+			this.readLock.unlock();
 		}
-		return result;
 	}
 
 	/**
 	 * Returns all food of this world.
-	 * @return	for each food in this.getAllObjectsFrom(Food.class.getName())
-	 * 				result.add(food)
+	 * @return	the food of this world, in the order in which it was added
 	 */
 	public List<Food> getAllFood(){
-		List<Food> resultFood = new ArrayList<Food>();
-			for (GameObject object: this.getAllObjectsFrom(Food.class.getName())){
-				try{
-					Food snack = (Food) object;
-					resultFood.add(snack);
-				}
-				catch (ClassCastException exc) {
-					assert false;
-				}
-			}
-			return resultFood;
+		this.readLock.lock();
+		try {
+			return new ArrayList<Food>(this.food);
+		}
+		finally {
+			this.readLock.unlock();
+		}
+	}
+
+	/**
+	 * Return a snapshot of the current state of this world.
+	 * The snapshot is taken while holding the read lock of this world.
+	 * @return	result.getTerrain() == this.getTerrain()
+	 * @return	the worms of the result are the worms of this world, in the order in which they were added
+	 * @return	the food of the result is the food of this world, in the order in which it was added
+	 * @return	the projectiles of the result are the projectiles of this world, in the order in which they were added
+	 * @return	result.getActiveWorm() == this.getActiveWorm()
+	 */
+	public WorldSnapshot getSnapshot(){
+		this.readLock.lock();
+		try {
+			return new WorldSnapshot(this, this.worms, this.food, this.projectiles, this.activeWorm);
+		}
+		finally {
+			this.readLock.unlock();
+		}
 	}
 
 	/** Adds a random worm to this world.
@@ -572,20 +1174,15 @@ public class World {
 	 * 			return resultFood
 	 */
 	protected List<Food> overlapWithFood(Position p, double radius){
-		String className = Food.class.getName();
-		List<GameObject> result = new ArrayList<GameObject>();
 		List<Food> resultFood = new ArrayList<Food>();
-		 result = this.getAllObjectsFrom(className, this.getObjects());
-			for (GameObject object: result){
-				try { Food food = (Food) object;
-				if (food.partialOverlapWith(p, radius))
-					resultFood.add(food);
-				}	catch (ClassCastException exc) {
-					assert false;
-					}
-			}
-	
-			return resultFood;
+		this.readLock.lock();
+		try {
+			this.spatialGrid.collectOverlapping(p.getX(), p.getY(), radius, Food.class, resultFood);
+		}
+		finally {
+			this.readLock.unlock();
+		}
+		return resultFood;
 	}
 	/**
 	 * Return a list of worms of this world. of which the the game object with given position and given radius has an overlap.
@@ -599,41 +1196,156 @@ public class World {
 	 * 			return resultWorm
 	 */
 	protected List<Worm> overlapWithWorm(Position p, double radius){
-		String className = Worm.class.getName();
-		List<GameObject> result = new ArrayList<GameObject>();
 		List<Worm> resultWorm = new ArrayList<Worm>();
-			result = this.getAllObjectsFrom(className, this.getObjects());
-			for (GameObject object: result){
-				try { Worm worm = (Worm) object;
-				if (worm.partialOverlapWith(p, radius))
-					resultWorm.add(worm);
-				}	catch (ClassCastException exc) {
-					assert false;
-					}
-			
-			}
-			return resultWorm;
+		this.readLock.lock();
+		try {
+			this.spatialGrid.collectOverlapping(p.getX(), p.getY(), radius, Worm.class, resultWorm);
+		}
+		finally {
+			this.readLock.unlock();
+		}
+		return resultWorm;
+	}
+
+	/**
+	 * Return a list of all game objects of this world which overlap with the game object with given center coordinates and given radius.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object.
+	 * @param 	radius
+	 * 			The radius of the game object.
+	 * @return	for each object in this.getObjects()
+	 * 				if (object.partialOverlapWith(x, y, radius))
+	 * 					result.add(object)
+	 */
+	protected List<GameObject> overlapWithGameObject(double x, double y, double radius){
+		List<GameObject> result = new ArrayList<GameObject>();
+		this.readLock.lock();
+		try {
+			this.spatialGrid.collectOverlapping(x, y, radius, GameObject.class, result);
+		}
+		finally {
+			this.readLock.unlock();
+		}
+		return result;
 	}
+
+	/**
+	 * Return the first game object of this world, other than the given game object, which overlaps with the game object
+	 * with given center coordinates and given radius.
+	 * This query does not create any objects.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object.
+	 * @param 	radius
+	 * 			The radius of the game object.
+	 * @param	excludedObject
+	 * 			The game object to be left out of the query.
+	 * @return	if (for some object in this.overlapWithGameObject(x, y, radius): object != excludedObject)
+	 * 				then result is the first such object
+	 * 			else result == null
+	 */
+	protected GameObject getGameObjectOverlappingWith(double x, double y, double radius, GameObject excludedObject){
+		this.readLock.lock();
+		try {
+			return this.spatialGrid.findOverlapping(x, y, radius, GameObject.class, excludedObject);
+		}
+		finally {
+			this.readLock.unlock();
+		}
+	}
+
+	/**
+	 * Check whether a worm of this world, other than the given worm, overlaps with the game object with given center coordinates and given radius.
+	 * This check does not create any objects.
+	 * @param 	x
+	 * 			The x-coordinate of the center of the game object.
+	 * @param 	y
+	 * 			The y-coordinate of the center of the game object.
+	 * @param 	radius
+	 * 			The radius of the game object.
+	 * @param	excludedWorm
+	 * 			The worm to be left out of the check.
+	 * @return	result == for some worm in this.getObjects()
+	 * 				((worm != excludedWorm) && worm.partialOverlapWith(x, y, radius))
+	 */
+	protected boolean hasWormOverlappingWith(double x, double y, double radius, Worm excludedWorm){
+		this.readLock.lock();
+		try {
+			return this.spatialGrid.hasOverlapping(x, y, radius, Worm.class, excludedWorm);
+		}
+		finally {
+			this.readLock.unlock();
+		}
+	}
+
+	/**
+	 * Register the current position and radius of the given game object of this world in the spatial index of this world.
+	 * @param	object
+	 * 			The game object that moved or changed its radius.
+	 * @post	The overlap queries of this world take the current position and radius of the given game object into account.
+	 */
+	protected void updateLocationOf(GameObject object){
+		this.writeLock.lock();
+		try {
+			this.spatialGrid.update(object);
+		}
+		finally {
+			this.writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Variable registering the spatial index of the game objects of this world.
+	 */
+	private final SpatialGrid spatialGrid;
+
+	/**
+	 * Return the read lock of this world.
+	 * 
+	 * The game objects, teams and turns of a world may be queried by several threads at once, while one thread changes them.
+	 * All changes to the collections of a world - adding and removing game objects and teams, moving game objects
+	 * in the spatial index, and passing turns - are made while holding the write lock of the world. All queries on
+	 * these collections hold the read lock. The terrain of a world is immutable and can be queried without any lock;
+	 * the cache of circle stencils behind these queries synchronizes its own lookups.
+	 * The attributes of the game objects themselves can be read at any time, each attribute showing its latest value;
+	 * a caller that needs several attributes or several queries to be consistent with each other holds the read lock
+	 * while reading them.
+	 */
+	@Basic @Immutable
+	public Lock getReadLock(){
+		return this.readLock;
+	}
+
+	/**
+	 * Return the write lock of this world.
+	 * A thread holding the write lock of this world may also take its read lock.
+	 * 
+	 * @see	getReadLock()
+	 */
+	@Basic @Immutable
+	public Lock getWriteLock(){
+		return this.writeLock;
+	}
+
+	/**
+	 * Variable registering the read/write lock guarding the game objects, teams and turns of this world.
+	 */
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Lock readLock = this.lock.readLock();
+
+	private final Lock writeLock = this.lock.writeLock();
 	
 	/**
 	 * Return the list of all worms of this world.
 	 * 
-	 * @return	for each worm in this.getObjects()
-	 * 				resultWorms.add(worm);
-	 * 			return resultWorms
+	 * @return	a read-only view on the worms of this world, in the order in which they were added
 	 */
 	protected List<Worm> getAllWorms(){
-		List<Worm> resultWorms = new ArrayList<Worm>();
-			for (GameObject object: this.getAllObjectsFrom(Worm.class.getName())){
-				try{
-					Worm worm = (Worm) object;
-					resultWorms.add(worm);
-				}
-				catch (ClassCastException exc) {
-					assert false;
-				}
-			}
-			return resultWorms;
+		return this.wormsView;
 	}
 	
 	/**
@@ -694,36 +1406,6 @@ public class World {
 				
 	}
 	*/
-	/**
-	 * Returns a list of game objects of a specific class.
-	 * @param 	className
-	 * 			The name of the class of which the game objects will be returned.
-	 * @param 	gameObjects
-	 * 			The list of game objects to extract the game objects of the specified class.
-	 * @return	for each  game object in gameObjects
-	 * 				if( gameObject.getClass().getName() == className)
-						result.add(gameObject)
-					return result
-	 */
-	protected static List<GameObject> getAllObjectsFrom(String className, List<GameObject> gameObjects){
-		List<GameObject> result = new ArrayList<GameObject>();
-		for (GameObject gameObject: gameObjects)
-			if( gameObject.getClass().getName() == className){
-				result.add(gameObject);
-			}
-		return  result;
-	}
-	
-	/**
-	 * Returns a list of game objects of a specific class.
-	 * @param 	className
-	 * 			The name of the class of which the game objects will be returned.
-	 * @return	return this.getAllObjectsFrom(className, this.getObjects())
-	 */
-	protected List<GameObject> getAllObjectsFrom(String className){
-		return this.getAllObjectsFrom(className, this.getObjects());
-	}
-
 	/**
 	 * 
 	 * @return	result == 
@@ -752,7 +1434,13 @@ public class World {
 	 */
 	@Basic @Raw
 	protected boolean hasAsGameObject(GameObject object){
-		return this.objects.contains(object);
+		this.readLock.lock();
+		try {
+			return this.objects.contains(object);
+		}
+		finally {
+			this.readLock.unlock();
+		}
 	}
 
 	/**
@@ -786,15 +1474,31 @@ public class World {
 	 * 			(isStarted == true && ( object instanceof Worm || object instanceof Food ))
 	 */
 	protected void addAsGameObject(GameObject object) throws IllegalArgumentException {
-		if (! canHaveAsGameObject(object)) 
-			throw new IllegalArgumentException("This is not a proper object for this world");
-		if (object.getWorld() != null)
-			throw new IllegalArgumentException("This object appears in another world");
-		if ((isStarted() == true) && ( object instanceof Worm || object instanceof Food )){
-			throw new IllegalArgumentException("Cannot add worms or worm food during the game");
+		this.writeLock.lock();
+		try {
+			if (! canHaveAsGameObject(object)) 
+				throw new IllegalArgumentException("This is not a proper object for this world");
+			if (object.getWorld() != null)
+				throw new IllegalArgumentException("This object appears in another world");
+			if ((isStarted() == true) && ( object instanceof Worm || object instanceof Food )){
+				throw new IllegalArgumentException("Cannot add worms or worm food during the game");
+			}
+			object.setWorld(this);
+			this.objects.add(object);
+			this.spatialGrid.add(object);
+			if (object instanceof Worm){
+				this.worms.add((Worm) object);
+				if (((Worm) object).isAlive())
+					this.addAsLiveWorm((Worm) object, ((Worm) object).getTeam());
+			}
+			else if (object instanceof Food)
+				this.food.add((Food) object);
+			else if (object instanceof Projectile)
+				this.projectiles.add((Projectile) object);
+		}
+		finally {
+			this.writeLock.unlock();
 		}
-		object.setWorld(this);
-		this.objects.add(object);
 	}
 
 	/**
@@ -806,12 +1510,28 @@ public class World {
 	 * 			(! hasAsGameObject)
 	 */
 	protected void removeAsGameObject(GameObject object) throws IllegalArgumentException {
-		if (hasAsGameObject(object)){
-			object.removeFromWorld();
-			this.objects.remove(object);
+		this.writeLock.lock();
+		try {
+			if (hasAsGameObject(object)){
+				object.removeFromWorld();
+				this.objects.remove(object);
+				this.spatialGrid.remove(object);
+				if (object instanceof Worm){
+					this.worms.remove(object);
+					this.removeAsLiveWorm((Worm) object, ((Worm) object).getTeam());
+					if (this.activeWorm == object)
+						this.activeWorm = null;
+				}
+				else if (object instanceof Food)
+					this.food.remove(object);
+				else if (object instanceof Projectile)
+					this.projectiles.remove(object);
+			}
+			else throw new IllegalArgumentException("This object does not belong to this world");
+		}
+		finally {
+			this.writeLock.unlock();
 		}
-		else throw new IllegalArgumentException("This object does not belong to this world");
-		
 	}
 
 	/**
@@ -822,6 +1542,23 @@ public class World {
 	 */
 	private final List<GameObject> objects = new ArrayList<GameObject>();
 
+	/**
+	 * Variable registering the worms among the game objects of this world.
+	 */
+	private final List<Worm> worms = new ArrayList<Worm>();
+
+	private final List<Worm> wormsView = Collections.unmodifiableList(this.worms);
+
+	/**
+	 * Variable registering the food among the game objects of this world.
+	 */
+	private final List<Food> food = new ArrayList<Food>();
+
+	/**
+	 * Variable registering the projectiles among the game objects of this world.
+	 */
+	private final List<Projectile> projectiles = new ArrayList<Projectile>();
+
 	/**
 	 * Return the teams of this world.
 	 */
@@ -847,8 +1584,14 @@ public class World {
 	 * @post	! new.getTeams().contains(team)	
 	 */
 	protected void removeAsTeam(Team team) {
-		teams.remove(team);
+		this.writeLock.lock();
+		try {
+			teams.remove(team);
+		}
+		finally {
+			this.writeLock.unlock();
 		}
+	}
 
 	/**
 	 * Add the given team to this world.
@@ -859,10 +1602,16 @@ public class World {
 	 * 			(! canHaveAsTeam(team))
 	 */
 	protected void addAsTeam(Team team) throws IllegalArgumentException {
-		if (! canHaveAsTeam(team)){
-			throw new IllegalArgumentException("invalid team");
+		this.writeLock.lock();
+		try {
+			if (! canHaveAsTeam(team)){
+				throw new IllegalArgumentException("invalid team");
+			}
+			else teams.add(team);
+		}
+		finally {
+			this.writeLock.unlock();
 		}
-		else teams.add(team);
 	}
 	/**
 	 * Variable registering the teams of this world.
@@ -870,35 +1619,90 @@ public class World {
 	private final List<Team> teams = new ArrayList<Team>();
 
 	public void startGame(){
-		setStarted(true);
-		List<Worm> allWorms = this.getAllWorms();
-		if(allWorms.size() > 0)
-			allWorms.get(0).activate();
-		else throw new IllegalComponentStateException("No worms in this world");
+		this.writeLock.lock();
+		try {
+			setStarted(true);
+			List<Worm> allWorms = this.getAllWorms();
+			if(allWorms.size() > 0)
+				allWorms.get(0).activate();
+			else throw new IllegalComponentStateException("No worms in this world");
+		}
+		finally {
+			this.writeLock.unlock();
+		}
 	}
 
+	/**
+	 * Start the turn of the next live worm of this world.
+	 * Live worms take their turns in the order in which they were added to this world.
+	 * 
+	 * @effect	if (there is a live worm in this world)
+	 * 				then (the next live worm).activate()
+	 * @effect	if (the next live worm has a program)
+	 * 				then (the next live worm).getProgram().execute(the next live worm)
+	 * @post	if (there is no live worm in this world)
+	 * 				then new.getActiveWorm() == null
+	 */
 	public void startNextTurn(){
-		List<Worm> allWorms = this.getAllLiveWorms();
-		int nextIndex = allWorms.indexOf(this.getActiveWorm()) + 1;
-		if(nextIndex == allWorms.size())
-			nextIndex = 0;
-		allWorms.get(nextIndex).activate();
-		if(allWorms.get(nextIndex).getProgram()!= null){
-			allWorms.get(nextIndex).getProgram().execute(allWorms.get(nextIndex));
+		Worm nextWorm;
+		this.writeLock.lock();
+		try {
+			nextWorm = this.turnOrder.advance();
+			if (nextWorm == null){
+				this.activeWorm = null;
+				return;
+			}
+			nextWorm.activate();
+		}
+		finally {
+			this.writeLock.unlock();
+		}
+		// the program runs without holding the lock, so that other threads can follow its actions
+		if(nextWorm.getProgram()!= null){
+			nextWorm.getProgram().execute(nextWorm);
 		}
 	}
 	
+	/**
+	 * Check whether the game in this world is finished.
+	 * The game is finished as soon as only one worm is alive, or as soon as all live worms belong to the same team.
+	 * @return	result == (this.getWinners() != null)
+	 */
 	public boolean isFinished(){
-		return (this.getWinners() != null);
+		this.readLock.lock();
+		try {
+			int nbLiveWorms = this.turnOrder.getNbWorms();
+			if (nbLiveWorms == 1)
+				return true;
+			return ((nbLiveWorms > 1) && (this.nbLiveWormsWithoutTeam == 0) && (this.nbLiveWormsPerTeam.size() == 1));
+		}
+		finally {
+			this.readLock.unlock();
+		}
 	}
 	
+	/**
+	 * Return the name of the winner of the game in this world.
+	 * @return	if (! this.isFinished())
+	 * 				then result.equals("No winner!")
+	 * @return	if (this.isFinished() && (this.getWinners().size() == 1) && (this.getWinners().get(0).getTeam() == null))
+	 * 				then result.equals(this.getWinners().get(0).getName())
+	 * @return	if (this.isFinished() && ! ((this.getWinners().size() == 1) && (this.getWinners().get(0).getTeam() == null)))
+	 * 				then result.equals(this.getWinners().get(0).getTeam().getName())
+	 */
 	public String getWinner(){
-		List<Worm> winners = this.getWinners();
-		if(winners == null)
-			return "No winner!";
-		else if((winners.size() == 1) && (winners.get(0).getTeam() == null))
-			return winners.get(0).getName();
-		else return winners.get(0).getTeam().getName();
+		this.readLock.lock();
+		try {
+			if(! this.isFinished())
+				return "No winner!";
+			Worm winner = this.turnOrder.getCurrent();
+			if(winner.getTeam() == null)
+				return winner.getName();
+			else return winner.getTeam().getName();
+		}
+		finally {
+			this.readLock.unlock();
+		}
 	}
 
 	private boolean isStarted(){
@@ -909,23 +1713,22 @@ public class World {
 		this.started = flag;
 	}
 
+	/**
+	 * Return the winners of the game in this world.
+	 * @return	if (! this.isFinished())
+	 * 				then result == null
+	 * 			else result == this.getAllLiveWorms()
+	 */
 	public List<Worm> getWinners(){
-		List<Worm> allLiveWorms = this.getAllLiveWorms();
-		List<Team> liveTeams = new ArrayList<Team>();
-		for(Worm worm : allLiveWorms){
-			liveTeams.add(worm.getTeam());
-		}
-		if(allLiveWorms.size() == 1)
-			return allLiveWorms;
-		else if((allLiveWorms.size() > 1) && (allLiveWorms.get(0).getTeam() != null)){
-			Team team = allLiveWorms.get(0).getTeam();
-			for(Team teamToCheck : liveTeams){
-				if(teamToCheck != team)
-					return new ArrayList<Worm>();
-			}
-			return allLiveWorms;
+		this.readLock.lock();
+		try {
+			if(! this.isFinished())
+				return null;
+			return this.turnOrder.getWorms();
+		}
+		finally {
+			this.readLock.unlock();
 		}
-		else return null;
 	}
 	
 	private boolean started;
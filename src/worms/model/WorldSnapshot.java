@@ -0,0 +1,430 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of immutable snapshots of the state of a world at a given moment.
+ *
+ * A snapshot registers the worms, food and projectiles of a world, each kind of game object in its own set of
+ * parallel arrays, indexed from 0. The terrain is shared with the world, as it is immutable. Reading a snapshot
+ * takes no locks and never changes, so one snapshot can be used to draw a whole frame, or as the starting point
+ * of a search that must not touch the world itself. The index of a worm or a piece of food is looked up in
+ * constant time.
+ *
+ * @Invar	getNbWorms() >= 0
+ * @Invar	getNbFood() >= 0
+ * @Invar	getNbProjectiles() >= 0
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+
+@Value
+public final class WorldSnapshot {
+
+	/**
+	 * Initialize this new snapshot with the current state of the given game objects of the given world.
+	 *
+	 * @param	world
+	 * 			The world of the given game objects.
+	 * @param	worms
+	 * 			The worms of the world, dead or alive.
+	 * @param	food
+	 * 			The food of the world.
+	 * @param	projectiles
+	 * 			The projectiles of the world.
+	 * @param	activeWorm
+	 * 			The active worm of the world, or null.
+	 * @post	new.getNbWorms() == worms.size()
+	 * @post	new.getNbFood() == food.size()
+	 * @post	new.getNbProjectiles() == projectiles.size()
+	 * @post	new.getWidth() == world.getWidth()
+	 * @post	new.getHeight() == world.getHeight()
+	 * @post	new.getTerrain() == world.getTerrain()
+	 * @post	new.getActiveWormIndex() == new.indexOf(activeWorm)
+	 * @post	for each i in 0..new.getNbWorms()-1:
+	 * 				new.isWormAtImpassableTerrain(i) == ! world.isPassable(new.getWormX(i), new.getWormY(i), new.getWormRadius(i))
+	 */
+	WorldSnapshot(World world, List<Worm> worms, List<Food> food, List<Projectile> projectiles, Worm activeWorm) {
+		this.width = world.getWidth();
+		this.height = world.getHeight();
+		this.terrain = world.getTerrain();
+
+		int nbWorms = worms.size();
+		this.worms = worms.toArray(new Worm[nbWorms]);
+		this.wormX = new double[nbWorms];
+		this.wormY = new double[nbWorms];
+		this.wormRadius = new double[nbWorms];
+		this.wormDirection = new double[nbWorms];
+		this.wormHitPoints = new int[nbWorms];
+		this.wormMaxHitPoints = new int[nbWorms];
+		this.wormActionPoints = new int[nbWorms];
+		this.wormMaxActionPoints = new int[nbWorms];
+		this.wormAlive = new boolean[nbWorms];
+		this.wormAtImpassableTerrain = new boolean[nbWorms];
+		this.wormNames = new String[nbWorms];
+		this.wormWeapons = new String[nbWorms];
+		this.wormTeams = new int[nbWorms];
+		Map<Team, Integer> teamIds = new IdentityHashMap<Team, Integer>();
+		List<String> teamNames = new ArrayList<String>();
+		int activeWormIndex = -1;
+		for (int i = 0; i < nbWorms; i++){
+			Worm worm = this.worms[i];
+			this.wormIndices.put(worm, i);
+			Position position = worm.getPosition();
+			this.wormX[i] = position.getX();
+			this.wormY[i] = position.getY();
+			this.wormRadius[i] = worm.getRadius();
+			this.wormDirection[i] = worm.getDirection();
+			this.wormHitPoints[i] = worm.getNumberOfHitPoints();
+			this.wormActionPoints[i] = worm.getNumberOfActionPoints();
+			this.wormAlive[i] = worm.isAlive();
+			this.wormAtImpassableTerrain[i] = ! world.isPassable(this.wormX[i], this.wormY[i], this.wormRadius[i]);
+			this.wormMaxHitPoints[i] = worm.getMaxNumberOfHitPoints();
+			this.wormMaxActionPoints[i] = worm.getMaxNumberOfActionPoints();
+			this.wormNames[i] = worm.getName();
+			this.wormWeapons[i] = worm.getSelectedWeaponsName();
+			Team team = worm.getTeam();
+			if (team == null)
+				this.wormTeams[i] = NO_TEAM;
+			else{
+				Integer id = teamIds.get(team);
+				if (id == null){
+					id = teamNames.size();
+					teamIds.put(team, id);
+					teamNames.add(team.getName());
+				}
+				this.wormTeams[i] = id;
+			}
+			if (worm == activeWorm)
+				activeWormIndex = i;
+		}
+		this.teamNames = teamNames.toArray(new String[teamNames.size()]);
+		this.activeWormIndex = activeWormIndex;
+
+		int nbFood = food.size();
+		this.food = food.toArray(new Food[nbFood]);
+		this.foodX = new double[nbFood];
+		this.foodY = new double[nbFood];
+		this.foodRadius = new double[nbFood];
+		for (int i = 0; i < nbFood; i++){
+			Position position = this.food[i].getPosition();
+			this.foodX[i] = position.getX();
+			this.foodY[i] = position.getY();
+			this.foodRadius[i] = this.food[i].getRadius();
+			this.foodIndices.put(this.food[i], i);
+		}
+
+		int nbProjectiles = projectiles.size();
+		this.projectiles = projectiles.toArray(new Projectile[nbProjectiles]);
+		this.projectileX = new double[nbProjectiles];
+		this.projectileY = new double[nbProjectiles];
+		this.projectileRadius = new double[nbProjectiles];
+		for (int i = 0; i < nbProjectiles; i++){
+			Position position = this.projectiles[i].getPosition();
+			this.projectileX[i] = position.getX();
+			this.projectileY[i] = position.getY();
+			this.projectileRadius[i] = this.projectiles[i].getRadius();
+		}
+	}
+
+	@Basic @Immutable
+	public double getWidth() {
+		return this.width;
+	}
+
+	@Basic @Immutable
+	public double getHeight() {
+		return this.height;
+	}
+
+	/**
+	 * Return the terrain of the world of this snapshot.
+	 */
+	@Basic @Immutable
+	public Terrain getTerrain() {
+		return this.terrain;
+	}
+
+	private final double width;
+
+	private final double height;
+
+	private final Terrain terrain;
+
+	/**
+	 * Return the number of worms in this snapshot.
+	 */
+	@Immutable
+	public int getNbWorms() {
+		return this.worms.length;
+	}
+
+	/**
+	 * Return the index of the given worm in this snapshot.
+	 * @param	worm
+	 * 			The worm to look up.
+	 * @return	if (for some i: getWorm(i) == worm)
+	 * 				then result == i
+	 * 			else result == -1
+	 */
+	public int indexOf(Worm worm) {
+		Integer index = this.wormIndices.get(worm);
+		return (index == null) ? -1 : index;
+	}
+
+	/**
+	 * Return the worm with the given index in this snapshot.
+	 * This is the live worm of the world, whose state may have changed since this snapshot was taken.
+	 */
+	@Basic @Immutable
+	public Worm getWorm(int index) {
+		return this.worms[index];
+	}
+
+	@Basic @Immutable
+	public double getWormX(int index) {
+		return this.wormX[index];
+	}
+
+	@Basic @Immutable
+	public double getWormY(int index) {
+		return this.wormY[index];
+	}
+
+	@Basic @Immutable
+	public double getWormRadius(int index) {
+		return this.wormRadius[index];
+	}
+
+	@Basic @Immutable
+	public double getWormDirection(int index) {
+		return this.wormDirection[index];
+	}
+
+	@Basic @Immutable
+	public int getWormHitPoints(int index) {
+		return this.wormHitPoints[index];
+	}
+
+	@Basic @Immutable
+	public int getWormMaxHitPoints(int index) {
+		return this.wormMaxHitPoints[index];
+	}
+
+	@Basic @Immutable
+	public int getWormActionPoints(int index) {
+		return this.wormActionPoints[index];
+	}
+
+	@Basic @Immutable
+	public int getWormMaxActionPoints(int index) {
+		return this.wormMaxActionPoints[index];
+	}
+
+	@Basic @Immutable
+	public boolean isWormAlive(int index) {
+		return this.wormAlive[index];
+	}
+
+	/**
+	 * Check whether the worm with the given index was at impassable terrain.
+	 */
+	@Basic @Immutable
+	public boolean isWormAtImpassableTerrain(int index) {
+		return this.wormAtImpassableTerrain[index];
+	}
+
+	@Basic @Immutable
+	public String getWormName(int index) {
+		return this.wormNames[index];
+	}
+
+	/**
+	 * Return the name of the weapon the worm with the given index had selected.
+	 */
+	@Basic @Immutable
+	public String getWormWeapon(int index) {
+		return this.wormWeapons[index];
+	}
+
+	/**
+	 * Return the team id of the worm with the given index, or NO_TEAM if it had no team.
+	 * Team ids are indices in the team names of this snapshot.
+	 */
+	@Basic @Immutable
+	public int getWormTeam(int index) {
+		return this.wormTeams[index];
+	}
+
+	/**
+	 * Return the name of the team with the given team id.
+	 * @return	if (teamId == NO_TEAM)
+	 * 				then result == null
+	 */
+	@Immutable
+	public String getTeamName(int teamId) {
+		if (teamId == NO_TEAM)
+			return null;
+		return this.teamNames[teamId];
+	}
+
+	/**
+	 * Return the number of teams of the worms in this snapshot.
+	 */
+	@Immutable
+	public int getNbTeams() {
+		return this.teamNames.length;
+	}
+
+	/**
+	 * Return the index of the active worm in this snapshot, or -1 if there was no active worm.
+	 */
+	@Basic @Immutable
+	public int getActiveWormIndex() {
+		return this.activeWormIndex;
+	}
+
+	/**
+	 * Return the active worm of this snapshot, or null if there was no active worm.
+	 */
+	@Immutable
+	public Worm getActiveWorm() {
+		if (this.activeWormIndex == -1)
+			return null;
+		return this.worms[this.activeWormIndex];
+	}
+
+	private final Worm[] worms;
+
+	/**
+	 * Variable registering the index of each worm of this snapshot. Worms are compared by identity.
+	 */
+	private final Map<Worm, Integer> wormIndices = new IdentityHashMap<Worm, Integer>();
+
+	private final double[] wormX;
+
+	private final double[] wormY;
+
+	private final double[] wormRadius;
+
+	private final double[] wormDirection;
+
+	private final int[] wormHitPoints;
+
+	private final int[] wormMaxHitPoints;
+
+	private final int[] wormActionPoints;
+
+	private final int[] wormMaxActionPoints;
+
+	private final boolean[] wormAlive;
+
+	private final boolean[] wormAtImpassableTerrain;
+
+	private final String[] wormNames;
+
+	private final String[] wormWeapons;
+
+	private final int[] wormTeams;
+
+	private final String[] teamNames;
+
+	private final int activeWormIndex;
+
+	/**
+	 * Constant registering the team id of worms without a team.
+	 */
+	public static final int NO_TEAM = -1;
+
+	/**
+	 * Return the number of pieces of food in this snapshot.
+	 */
+	@Immutable
+	public int getNbFood() {
+		return this.food.length;
+	}
+
+	@Basic @Immutable
+	public Food getFood(int index) {
+		return this.food[index];
+	}
+
+	@Basic @Immutable
+	public double getFoodX(int index) {
+		return this.foodX[index];
+	}
+
+	@Basic @Immutable
+	public double getFoodY(int index) {
+		return this.foodY[index];
+	}
+
+	@Basic @Immutable
+	public double getFoodRadius(int index) {
+		return this.foodRadius[index];
+	}
+
+	/**
+	 * Return the index of the given piece of food in this snapshot, or -1 if it is not in this snapshot.
+	 */
+	public int indexOf(Food food) {
+		Integer index = this.foodIndices.get(food);
+		return (index == null) ? -1 : index;
+	}
+
+	private final Food[] food;
+
+	/**
+	 * Variable registering the index of each piece of food of this snapshot. Food is compared by identity.
+	 */
+	private final Map<Food, Integer> foodIndices = new IdentityHashMap<Food, Integer>();
+
+	private final double[] foodX;
+
+	private final double[] foodY;
+
+	private final double[] foodRadius;
+
+	/**
+	 * Return the number of projectiles in this snapshot.
+	 */
+	@Immutable
+	public int getNbProjectiles() {
+		return this.projectiles.length;
+	}
+
+	@Basic @Immutable
+	public Projectile getProjectile(int index) {
+		return this.projectiles[index];
+	}
+
+	@Basic @Immutable
+	public double getProjectileX(int index) {
+		return this.projectileX[index];
+	}
+
+	@Basic @Immutable
+	public double getProjectileY(int index) {
+		return this.projectileY[index];
+	}
+
+	@Basic @Immutable
+	public double getProjectileRadius(int index) {
+		return this.projectileRadius[index];
+	}
+
+	private final Projectile[] projectiles;
+
+	private final double[] projectileX;
+
+	private final double[] projectileY;
+
+	private final double[] projectileRadius;
+
+}
@@ -107,12 +107,45 @@ public class Worm extends MovableGameObject {
 		this.distributeWeapons();
 		this.setProgram(program);
 	}
+
+	/**
+	 * Initialize this new worm as a copy of the given worm, outside of any world and without a team.
+	 * The weapons of the given worm are copied as well, but the copies have no projectiles.
+	 * The copy has no program yet: the world that copies the worm gives it a copy of the program of the given worm,
+	 * once all game objects the program may refer to have been copied.
+	 *
+	 * @param	other
+	 * 			The worm to copy.
+	 * @effect	super(other)
+	 * @post	new.getName() == other.getName()
+	 * @post	new.getNumberOfActionPoints() == other.getNumberOfActionPoints()
+	 * @post	new.getNumberOfHitPoints() == other.getNumberOfHitPoints()
+	 * @post	new.isAlive() == other.isAlive()
+	 * @post	new.getProgram() == null
+	 * @post	new.getTeam() == null
+	 * @post	for each i in 0..other.getAllWeapons().size()-1:
+	 * 				new.getAllWeapons().get(i) is a copy of other.getAllWeapons().get(i)
+	 */
+	protected Worm(Worm other) {
+		super(other);
+		this.name = other.getName();
+		this.numberOfActionPoints = other.getNumberOfActionPoints();
+		this.numberOfHitPoints = other.getNumberOfHitPoints();
+		this.alive = other.isAlive();
+		for (Weapon weapon : other.getAllWeapons())
+			new Weapon(weapon).addAsWorm(this);
+	}
 	/**
 	 * Return the selected weapon of this worm.
-	 * @return	this.getSelectedWeapon().getName()
+	 * @return	if (this.getSelectedWeapon() == null)
+	 * 				then result == null
+	 * 			else result == this.getSelectedWeapon().getName()
 	 */
 	public String getSelectedWeaponsName(){
-		return this.getSelectedWeapon().getName();
+		Weapon selectedWeapon = this.getSelectedWeapon();
+		if (selectedWeapon == null)
+			return null;
+		return selectedWeapon.getName();
 	}
 	
 	/**
@@ -228,16 +261,20 @@ public class Worm extends MovableGameObject {
 	 * Checks whether the given worm is alive or not.
 	 * @return	this.alive
 	 */
-	protected boolean isAlive(){
+	public boolean isAlive(){
 		return this.alive;
 	}
 	
 	/**
 	 * Kill this worm.
 	 * @post	(! new.isAlive())
+	 * @effect	if (this.getWorld() != null)
+	 * 				then this.getWorld().registerDeathOf(this)
 	 */
 	protected void kill(){
 		this.setAlive(false);
+		if (this.getWorld() != null)
+			this.getWorld().registerDeathOf(this);
 	}
 	
 	/**
@@ -253,14 +290,14 @@ public class Worm extends MovableGameObject {
 	/**
 	 * Variable registering whether this worm is alive or not.
 	 */
-	private boolean alive;
+	private volatile boolean alive;
 	
 	/**
 	 * Check whether this worm is active.
-	 * @return	this.active
+	 * @return	result == ((this.getWorld() != null) && (this.getWorld().getActiveWorm() == this))
 	 */
 	protected boolean isActive(){
-		return this.active;
+		return ((this.getWorld() != null) && (this.getWorld().getActiveWorm() == this));
 	}
 	
 	/**
@@ -270,44 +307,16 @@ public class Worm extends MovableGameObject {
 	 * @post	this.getNumberOfHitPoints + 10 = new.getNumberOfHitPoints()
 	 * @post	if(! allWeapons.isEmpty())
 					allWeapons.get(0).select()
-	 * @effect	for each worm in new.getWorld()
-	 * 				if (worm != new)
-	 * 					worm.isActive() == false
+	 * @effect	this.getWorld().setActiveWorm(this)
 	 */
 	protected void activate(){
-		List<Worm> allWorms = this.getWorld().getAllWorms();
-		for(Worm eachWorm : allWorms)
-			eachWorm.deactivate();
-		this.setActive(true);
+		this.getWorld().setActiveWorm(this);
 		this.restoreNumberOfActionPoints();
 		this.increaseNumberOfHitPointsBy(10);
 		List<Weapon> allWeapons = this.getAllWeapons();
 		if(!allWeapons.isEmpty())
 			allWeapons.get(0).select();
 	}
-	
-	/**
-	 * Decide upon the given flag whether this worm will be active or not.
-	 * @param 	flag
-	 * 			The flag to be set.
-	 * @post	new.isActive() == flag
-	 */
-	private void setActive(boolean flag){
-		this.active = flag;
-	}
-
-	/**
-	 * Deactivate this worm.
-	 * @post	new.isActive() == false
-	 */
-	private void deactivate(){
-		this.setActive(false);
-	}
-	
-	/**
-	 * Variable registering wheter this worm is active or not.
-	 */
-	private boolean active;
 
 	/**
 	 * Return the name of the worm.
@@ -354,7 +363,7 @@ public class Worm extends MovableGameObject {
 	/**
 	 * Variable registering the name of this worm.
 	 */
-	private String name;
+	private volatile String name;
 
 	/**
 	 * Set the radius of this worm to the given radius
@@ -541,16 +550,18 @@ public class Worm extends MovableGameObject {
 	 * 		|	if ((numberOfActionPoints >= 0) && (numberOfActionPoints <= this.getMaxNumberOfActionPoints())) new.getNumberOfActionPoints() == numberOfActionPoints
 	 * 		|	else if (numberOfActionPoints < 0) new.getNumberOfActionPoints() == 0
 	 * 		|	else if (numberOfActionPoints > this.getMaxNumberOfActionPoints()) new.getNumberOfActionPoints() == this.getMaxNumberOfActionPoints()
+	 * @effect	If this worm is active and the given number of action points is not above zero, the next turn is started.
+	 * 		|	if (this.isActive() && (numberOfActionPoints <= 0)) this.getWorld().startNextTurn()
 	 */
 	private void setNumberOfActionPoints(int numberOfActionPoints){
-		if(numberOfActionPoints <= 0){
+		if(numberOfActionPoints < 0)
 			numberOfActionPoints = 0;
-			if(this.getWorld() != null)
-				this.getWorld().startNextTurn();
-		}
 		else if(numberOfActionPoints > this.getMaxNumberOfActionPoints())
 			numberOfActionPoints = this.getMaxNumberOfActionPoints();
+		// the next turn may come back to this worm and restore its action points, so they are set before it starts
 		this.numberOfActionPoints = numberOfActionPoints;
+		if((numberOfActionPoints == 0) && this.isActive())
+			this.getWorld().startNextTurn();
 	}
 
 	/**
@@ -566,13 +577,20 @@ public class Worm extends MovableGameObject {
 	 * 		|	if ((numberOfHitPoints >= 0) && (numberOfHitPoints <= this.getMaxNumberOfHitPoints())) new.getNumberOfHitPoints() == numberOfHitPoints
 	 * 		|	else if (numberOfHitPoints < 0) new.getNumberOfHitPoints() == 0
 	 * 		|	else if (numberOfHitPoints > this.getMaxNumberOfHitPoints()) new.getNumberOfHitPoints() == this.getMaxNumberOfHitPoints()
+	 * @effect	If this worm is still alive and the given number of hit points is not above zero, this worm is killed.
+	 * 			A worm that is killed while it is active ends its turn.
+	 * 		|	if (this.isAlive() && (numberOfHitPoints <= 0)) this.kill()
+	 * 		|	if (this.isAlive() && this.isActive() && (numberOfHitPoints <= 0)) this.getWorld().startNextTurn()
 	 */
 	private void setNumberOfHitPoints(int numberOfHitPoints){
 		if(numberOfHitPoints <= 0){
 			numberOfHitPoints = 0;
-			this.kill();
-			if(this.getWorld() != null)
-				this.getWorld().startNextTurn();
+			if(this.isAlive()){
+				boolean wasActive = this.isActive();
+				this.kill();
+				if(wasActive && (this.getWorld() != null))
+					this.getWorld().startNextTurn();
+			}
 		}
 		else if(numberOfHitPoints > this.getMaxNumberOfHitPoints())
 			numberOfHitPoints = this.getMaxNumberOfHitPoints();
@@ -604,12 +622,12 @@ public class Worm extends MovableGameObject {
 	/**
 	 * Variable registering the current number of action points of this worm.
 	 */	
-	private int numberOfActionPoints;
+	private volatile int numberOfActionPoints;
 	
 	/**
 	 * Variable registering the current number of hit points of this worm.
 	 */	
-	private int numberOfHitPoints;
+	private volatile int numberOfHitPoints;
 	
 	/**
 	 * Eat a piece of food.
@@ -778,51 +796,38 @@ public class Worm extends MovableGameObject {
 	 * @return	! this.getWorld().isAdjacentToImpassableFloor(this.getPosition(), this.getRadius())
 	 */
 	public boolean canFall(){
-		return !this.getWorld().isAdjacentToImpassableFloor(this.getPosition(), this.getRadius());
+		return !this.getWorld().isAdjacentToImpassableFloor(this.getX(), this.getY(), this.getRadius());
 	}
 	
-	//TODO: fall formeel
-	
 	/**
 	 * Let a worm fall.
 	 * 
 	 * @throws 	UnsupportedOperationException("Cannot fall!")
 	 * 			(!this.canFall())
-	 * @post	
-	 * for each i in this.getWorld().getPassableMap()[this.getX()][i]
-	 * 				if ((this.getWorld().isPassable(new Position(x,i),radius) && (!this.canFall()))
-	 * 					new.getNumberOfHitPoints() == this.getNumberOfHitpoints - (int) Math.round(3 * this.getPosition().distanceFromPosition(new Position(this.getX(),i))
-	 *				for each food in this.getWorld().overlapWithFood((new Position(x,i),radius), this.getRadius())
-	 *					 == this.getRadius() * (1 + food.getPercentualIncreaseOfRadius())
-	 * 					
+	 * @effect	if (Double.isInfinite(this.getWorld().getFallDistance(this.getX(), this.getY(), this.getRadius())))
+	 * 				then this.kill()
+	 * @effect	if (! Double.isInfinite(distance))
+	 * 				then this.setPosition(this.getX(), this.getY() - distance)
+	 * 				and this.decreaseNumberOfHitPointsBy((int) Math.round(3 * distance))
+	 * 				and this.eatAllFood()
+	 * 			where distance == this.getWorld().getFallDistance(this.getX(), this.getY(), this.getRadius())
 	 */
 	public void fall() throws UnsupportedOperationException{
 		if(!this.canFall())
 			throw new UnsupportedOperationException("Cannot fall!");
-		double decrementY = this.getWorld().getPixelHeight();
-		double newY = this.getY() - decrementY;
-		double x = this.getX();
-		double radius = this.getRadius();
-		boolean landed = false;
-		Position newPosition = new Position(x,newY);
-		while (this.getWorld().isPassable(newPosition,radius)){
-			if (!this.canFall()){
-				landed = true;
-				break;
-			}
-			newY -= decrementY;
-			newPosition = new Position(x,newY);
-		}
-		if (landed){
-			double decrement = 3 * this.getPosition().distanceFromPosition(newPosition);
-			int intDecrement;
-			if (decrement > Integer.MAX_VALUE)
-				intDecrement = Integer.MAX_VALUE;
-			else intDecrement = (int) Math.round(decrement);
-			this.decreaseNumberOfHitPointsBy(intDecrement);
-			this.eatAllFood();
+		double distance = this.getWorld().getFallDistance(this.getX(), this.getY(), this.getRadius());
+		if (Double.isInfinite(distance)){
+			this.kill();
+			return;
 		}
-		else this.kill();
+		this.setPosition(this.getX(), this.getY() - distance);
+		double decrement = 3 * distance;
+		int intDecrement;
+		if (decrement > Integer.MAX_VALUE)
+			intDecrement = Integer.MAX_VALUE;
+		else intDecrement = (int) Math.round(decrement);
+		this.decreaseNumberOfHitPointsBy(intDecrement);
+		this.eatAllFood();
 	}
 	
 	/**
@@ -866,18 +871,21 @@ public class Worm extends MovableGameObject {
 		double radius = this.getRadius();
 		double distance = radius;
 		double distanceStep = 10 * Math.min(this.getWorld().getPixelWidth(), this.getWorld().getPixelHeight());
-		Position testPosition = null;
+		double testX = 0;
+		double testY = 0;
 		boolean candidateFound = false;
 		outerloop:
 		while (divergedDirection <= limitForDivergedDirection){
 			while (distance >= 0.1){
-				testPosition = new Position((distance * Math.cos(divergedDirection)), (distance * Math.sin(divergedDirection)));
-				if (onlyPassable && this.getWorld().isPassable(testPosition, radius)){
+				testX = distance * Math.cos(divergedDirection);
+				testY = distance * Math.sin(divergedDirection);
+				if (onlyPassable && this.getWorld().isPassable(testX, testY, radius)){
 					candidateFound = true;
 					break outerloop;
 				}
-				testPosition = new Position((distance * Math.cos((2 * direction) - divergedDirection)), (distance * Math.sin((2 * direction) - divergedDirection)));
-				if (!onlyPassable && this.getWorld().isAdjacentToImpassableFloor(testPosition, radius)){
+				testX = distance * Math.cos((2 * direction) - divergedDirection);
+				testY = distance * Math.sin((2 * direction) - divergedDirection);
+				if (!onlyPassable && this.getWorld().isAdjacentToImpassableFloor(testX, testY, radius)){
 					candidateFound = true;
 					break outerloop;
 				}
@@ -887,7 +895,7 @@ public class Worm extends MovableGameObject {
 			divergedDirection += 0.0175;
 		}
 		if (candidateFound)
-			return testPosition;
+			return new Position(testX, testY);
 		else return null;
 	}
 
@@ -963,19 +971,24 @@ public class Worm extends MovableGameObject {
 	 * @param 	team
 	 * 			The team to be set.
 	 * @post	new.getTeam() == team
+	 * @effect	if (this.getWorld() != null)
+	 * 				then this.getWorld().registerTeamChangeOf(this, this.getTeam())
 	 * @throws 	IllegalArgumentException
-	 * 			(! canHaveAsTeam(team) || ! team.hasAsWorm(this))
+	 * 			(! canHaveAsTeam(team) || ((team != null) && ! team.hasAsWorm(this)))
 	 */
 	protected void setTeam(Team team) throws IllegalArgumentException {
-		if (! canHaveAsTeam(team) || ! team.hasAsWorm(this))
+		if (! canHaveAsTeam(team) || ((team != null) && ! team.hasAsWorm(this)))
 			throw new IllegalArgumentException("not a valid team");
-		else this.team = team;
+		Team oldTeam = this.team;
+		this.team = team;
+		if (this.getWorld() != null)
+			this.getWorld().registerTeamChangeOf(this, oldTeam);
 	}
 	
 	/**
 	 * Variable registering  the team of this worm.
 	 */
-	Team team;
+	volatile Team team;
 
 	public void setProgram(Program program){
 		this.program = program;
@@ -0,0 +1,38 @@
+package worms.model.programs;
+
+/**
+ * A statement performing an action of the worm controlled by the program, through the action handler of the
+ * program.
+ * 
+ * An action that cannot be performed, for instance because the worm does not have enough action points left,
+ * suspends the program. The action is then tried again at the start of the next turn of the worm.
+ */
+public abstract class ActionStatement implements Statement {
+
+	/**
+	 * An action inside a foreach loop keeps its program from being well-formed.
+	 */
+	@Override
+	public void check(TypeChecker checker) {
+		checker.reportAction();
+	}
+
+	/**
+	 * An action starts a new step, from which the program restarts if the action cannot be performed.
+	 */
+	@Override
+	public void compile(Compiler compiler) {
+		int restart = compiler.beginStatement();
+		this.compileAction(compiler, restart);
+	}
+
+	/**
+	 * Compile the action of this statement.
+	 * @param	compiler
+	 * 			The compiler to emit the instructions to.
+	 * @param	restart
+	 * 			The index of the instruction to restart from if the action cannot be performed.
+	 */
+	protected abstract void compileAction(Compiler compiler, int restart);
+
+}
@@ -1,15 +1,17 @@
 package worms.model.programs;
 
+/**
+ * The sum of two doubles.
+ */
+public class AddExpression extends BinaryExpression {
+
+	public AddExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.ADD, ValueKind.DOUBLE, ValueKind.DOUBLE);
+	}
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return new DoubleType(((DoubleType) left).getValue() + ((DoubleType) right).getValue());
+	}
 
-public class AddExpression implements Expression{
-    Expression leftOperand;
-    Expression rightOperand;
-    public AddExpression(Expression left, Expression right) { 
-        leftOperand = left; 
-        rightOperand = right;
-    }
- 
-    public Type evaluate()  { 	
-        return ((DoubleType) leftOperand.evaluate()).add((DoubleType) rightOperand.evaluate());
-    }
 }
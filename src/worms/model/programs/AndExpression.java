@@ -1,14 +1,38 @@
 package worms.model.programs;
 
-public class AndExpression implements Expression{
-    Expression leftOperand;
-    Expression rightOperand;
-    public AndExpression(Expression left, Expression right) { 
-        leftOperand = left; 
-        rightOperand = right;
-    }
- 
-    public Type evaluate()  { 	
-        return ((BooleanType) leftOperand.evaluate()).and((BooleanType) rightOperand.evaluate());
-    }
+/**
+ * The conjunction of two booleans. The right operand is only evaluated if the left operand is true.
+ */
+public class AndExpression extends BinaryExpression {
+
+	public AndExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.JUMP_IF_FALSE, ValueKind.BOOLEAN, ValueKind.BOOLEAN);
+	}
+
+	/**
+	 * A constant left operand that decides the outcome on its own makes this expression constant as well.
+	 */
+	@Override
+	public void check(TypeChecker checker) {
+		super.check(checker);
+		Type left = checker.getConstant(getLeftOperand());
+		if ((getLeftOperand().getKind() == ValueKind.BOOLEAN) && (left != null) && ! ((BooleanType) left).getValue())
+			checker.setConstant(this, left);
+	}
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return ! ((BooleanType) left).getValue() ? left : right;
+	}
+
+	@Override
+	public Register compile(Compiler compiler) {
+		Register result = compiler.newTemporary(ValueKind.BOOLEAN);
+		compiler.move(result, compiler.compile(getLeftOperand()));
+		int jump = compiler.emit(Bytecode.JUMP_IF_FALSE, result.getIndex(), 0, 0);
+		compiler.move(result, compiler.compile(getRightOperand()));
+		compiler.patch(jump);
+		return result;
+	}
+
 }
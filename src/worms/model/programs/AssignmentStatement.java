@@ -0,0 +1,45 @@
+package worms.model.programs;
+
+/**
+ * A statement assigning the value of an expression to a global variable.
+ */
+public class AssignmentStatement implements Statement {
+
+	private final Variable variable;
+
+	private final Expression value;
+
+	public AssignmentStatement(Variable variable, Expression value) {
+		this.variable = variable;
+		this.value = value;
+	}
+
+	public Variable getVariable() {
+		return variable;
+	}
+
+	public Expression getValue() {
+		return value;
+	}
+
+	/**
+	 * A value of another kind than the variable cannot be assigned to it.
+	 */
+	@Override
+	public void check(TypeChecker checker) {
+		this.value.check(checker);
+		ValueKind kind = this.value.getKind();
+		if (! this.variable.isDeclared())
+			checker.reportError("Undeclared variable " + this.variable);
+		else if ((kind != null) && (kind != this.variable.getKind()))
+			checker.reportError("Cannot assign " + kind.getDescription() + " to variable " + this.variable
+					+ ", which holds " + this.variable.getKind().getDescription());
+	}
+
+	@Override
+	public void compile(Compiler compiler) {
+		compiler.beginStatement();
+		compiler.move(compiler.getRegister(this.variable), compiler.compile(this.value));
+	}
+
+}
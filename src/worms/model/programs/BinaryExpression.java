@@ -0,0 +1,77 @@
+package worms.model.programs;
+
+/**
+ * An expression with a left and a right operand. Unless a subclass compiles it otherwise, it is computed by a
+ * single instruction.
+ */
+public abstract class BinaryExpression implements Expression {
+
+	private final Expression leftOperand;
+
+	private final Expression rightOperand;
+
+	private final int opcode;
+
+	private final ValueKind operandKind;
+
+	private final ValueKind kind;
+
+	/**
+	 * Initialize this new expression with the given operands, computed by an instruction with the given opcode from
+	 * operands of the given operand kind into a value of the given kind.
+	 * An operand kind of null accepts operands of any kind, as long as both operands have the same kind.
+	 */
+	protected BinaryExpression(Expression left, Expression right, int opcode, ValueKind operandKind, ValueKind kind) {
+		this.leftOperand = left;
+		this.rightOperand = right;
+		this.opcode = opcode;
+		this.operandKind = operandKind;
+		this.kind = kind;
+	}
+
+	public Expression getLeftOperand() {
+		return leftOperand;
+	}
+
+	public Expression getRightOperand() {
+		return rightOperand;
+	}
+
+	/**
+	 * Return the kind of the operands of this expression, or null if they can have any kind.
+	 */
+	public ValueKind getOperandKind() {
+		return operandKind;
+	}
+
+	@Override
+	public ValueKind getKind() {
+		return kind;
+	}
+
+	@Override
+	public void check(TypeChecker checker) {
+		boolean wellTyped;
+		if (this.operandKind == null)
+			wellTyped = checker.checkSameKind(this.leftOperand, this.rightOperand);
+		else
+			wellTyped = checker.check(this.leftOperand, this.operandKind) & checker.check(this.rightOperand, this.operandKind);
+		Type left = checker.getConstant(this.leftOperand);
+		Type right = checker.getConstant(this.rightOperand);
+		if (wellTyped && (left != null) && (right != null))
+			checker.setConstant(this, this.evaluate(left, right));
+	}
+
+	/**
+	 * Return the value of this expression for the given constant operands.
+	 */
+	protected abstract Type evaluate(Type left, Type right);
+
+	@Override
+	public Register compile(Compiler compiler) {
+		Register left = compiler.compile(this.leftOperand);
+		Register right = compiler.compile(this.rightOperand);
+		return compiler.emitValue(this.opcode, compiler.newTemporary(this.kind), left.getIndex(), right.getIndex());
+	}
+
+}
@@ -1,16 +1,19 @@
 package worms.model.programs;
 
-public class BooleanExpression implements Expression {
+/**
+ * A boolean literal.
+ */
+public class BooleanExpression extends LiteralExpression {
 
-	private BooleanType booleanType;
+	private final BooleanType value;
 
-	public BooleanExpression(boolean booleanType) {
-		this.booleanType = new BooleanType(booleanType);
+	public BooleanExpression(boolean value) {
+		this.value = new BooleanType(value);
 	}
 	
 	@Override
-	public BooleanType evaluate() {
-		return booleanType;
+	public BooleanType getValue() {
+		return value;
 	}
 
-}
\ No newline at end of file
+}
@@ -1,30 +1,63 @@
 package worms.model.programs;
 
+/**
+ * A boolean value of a program.
+ */
 public class BooleanType implements Type {
 	
-private boolean value;
+	private final boolean value;
 	
 	public BooleanType(boolean value){
 		this.value = value;
 	}
 	
+	/**
+	 * Initialize this new boolean value to false, the value of a boolean variable that has not been assigned yet.
+	 */
 	public BooleanType(){
+		this(false);
 	}
 	
 	public boolean getValue() {
 		return value;
 	}
 	
-	public BooleanType and(BooleanType b2){
-		return new BooleanType(b2.getValue() && this.value);
+	public BooleanType and(BooleanType other){
+		return new BooleanType(this.value && other.getValue());
 	}
 	
-	public BooleanType or(BooleanType b2){
-		return new BooleanType(b2.getValue() || this.value);
+	public BooleanType or(BooleanType other){
+		return new BooleanType(this.value || other.getValue());
 	}
 	
 	public BooleanType not(){
 		return new BooleanType(!this.value);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Return the boolean held by the given value.
+	 * @throws	ExpressionException
+	 * 			The given value is not a boolean.
+	 */
+	public static boolean valueOf(Type value) throws ExpressionException {
+		if (! (value instanceof BooleanType))
+			throw new ExpressionException("Expected a boolean, but got " + value);
+		return ((BooleanType) value).getValue();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return (other instanceof BooleanType) && (((BooleanType) other).getValue() == this.value);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.value ? 1 : 0;
+	}
+
+	@Override
+	public String toString() {
+		return Boolean.toString(this.value);
+	}
+
+}
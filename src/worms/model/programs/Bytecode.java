@@ -0,0 +1,173 @@
+package worms.model.programs;
+
+import worms.model.GameObject;
+
+/**
+ * The compiled form of a program: a flat array of instructions over typed registers.
+ *
+ * Every instruction takes INSTRUCTION_SIZE words: an opcode followed by three operands. Operands are register
+ * indices, indices in the constant pools, or the word index of the instruction to jump to, which is always the
+ * last operand. The instruction that starts a statement has the STEP flag set on its opcode, so that the
+ * interpreter can count the statements it executes. The last instruction is always HALT.
+ *
+ * Registers are never boxed: doubles, booleans and entities each have a register file of their own, and the
+ * global variables of the program occupy the first registers of their kind.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+final class Bytecode {
+
+	/**
+	 * The number of words each instruction takes.
+	 */
+	static final int INSTRUCTION_SIZE = 4;
+
+	/**
+	 * The flag set on the opcode of the first instruction of a statement.
+	 */
+	static final int STEP = 0x100;
+
+	/**
+	 * The mask selecting the opcode from an opcode with flags.
+	 */
+	static final int OPCODE = 0xFF;
+
+	// constants and moves: destination, source
+
+	static final int DOUBLE_CONSTANT = 0;
+	static final int BOOLEAN_CONSTANT = 1;
+	static final int ENTITY_CONSTANT = 2;
+	static final int SELF = 3;
+	static final int DOUBLE_MOVE = 4;
+	static final int BOOLEAN_MOVE = 5;
+	static final int ENTITY_MOVE = 6;
+
+	// arithmetic and comparisons: destination, left, right
+
+	static final int ADD = 10;
+	static final int SUBTRACT = 11;
+	static final int MULTIPLY = 12;
+	static final int DIVIDE = 13;
+	static final int SQRT = 14;
+	static final int SIN = 15;
+	static final int COS = 16;
+	static final int LESS_THAN = 17;
+	static final int LESS_THAN_OR_EQUAL_TO = 18;
+	static final int GREATER_THAN = 19;
+	static final int GREATER_THAN_OR_EQUAL_TO = 20;
+	static final int DOUBLE_EQUAL = 21;
+	static final int BOOLEAN_EQUAL = 22;
+	static final int ENTITY_EQUAL = 23;
+	static final int DOUBLE_NOT_EQUAL = 24;
+	static final int BOOLEAN_NOT_EQUAL = 25;
+	static final int ENTITY_NOT_EQUAL = 26;
+	static final int NOT = 27;
+
+	// inspection of entities: destination, entity
+
+	static final int GET_X = 30;
+	static final int GET_Y = 31;
+	static final int GET_RADIUS = 32;
+	static final int GET_DIRECTION = 33;
+	static final int GET_ACTION_POINTS = 34;
+	static final int GET_MAX_ACTION_POINTS = 35;
+	static final int GET_HIT_POINTS = 36;
+	static final int GET_MAX_HIT_POINTS = 37;
+	static final int IS_WORM = 38;
+	static final int IS_FOOD = 39;
+	static final int SAME_TEAM = 40;
+	static final int SEARCH_OBJECT = 41;
+
+	// control flow
+
+	static final int NOP = 50;
+	static final int JUMP = 51;
+	static final int JUMP_IF_FALSE = 52;
+	static final int JUMP_IF_TRUE = 53;
+	static final int FOREACH_START = 54;
+	static final int FOREACH_NEXT = 55;
+	static final int HALT = 56;
+
+	// printing: value
+
+	static final int PRINT_DOUBLE = 60;
+	static final int PRINT_BOOLEAN = 61;
+	static final int PRINT_ENTITY = 62;
+
+	// actions: operand, unused, instruction to restart from if the action cannot be performed
+
+	static final int TURN = 70;
+	static final int MOVE = 71;
+	static final int JUMP_WORM = 72;
+	static final int TOGGLE_WEAPON = 73;
+	static final int FIRE = 74;
+
+	Bytecode(int[] code, double[] doubleConstants, GameObject[] entityConstants, double[] doubleRegisters, boolean[] booleanRegisters, GameObject[] entityRegisters, int nbLoops) {
+		this.code = code;
+		this.doubleConstants = doubleConstants;
+		this.entityConstants = entityConstants;
+		this.doubleRegisters = doubleRegisters;
+		this.booleanRegisters = booleanRegisters;
+		this.entityRegisters = entityRegisters;
+		this.nbLoops = nbLoops;
+	}
+
+	/**
+	 * Return the instructions of this bytecode.
+	 */
+	int[] getCode() {
+		return code;
+	}
+
+	private final int[] code;
+
+	double[] getDoubleConstants() {
+		return doubleConstants;
+	}
+
+	private final double[] doubleConstants;
+
+	GameObject[] getEntityConstants() {
+		return entityConstants;
+	}
+
+	private final GameObject[] entityConstants;
+
+	/**
+	 * Return a new double register file for this bytecode, holding the initial values of its global variables.
+	 */
+	double[] newDoubleRegisters() {
+		return doubleRegisters.clone();
+	}
+
+	private final double[] doubleRegisters;
+
+	/**
+	 * Return a new boolean register file for this bytecode, holding the initial values of its global variables.
+	 */
+	boolean[] newBooleanRegisters() {
+		return booleanRegisters.clone();
+	}
+
+	private final boolean[] booleanRegisters;
+
+	/**
+	 * Return a new entity register file for this bytecode, holding the initial values of its global variables.
+	 */
+	GameObject[] newEntityRegisters() {
+		return entityRegisters.clone();
+	}
+
+	private final GameObject[] entityRegisters;
+
+	/**
+	 * Return the number of foreach loops in this bytecode.
+	 */
+	int getNbLoops() {
+		return nbLoops;
+	}
+
+	private final int nbLoops;
+
+}
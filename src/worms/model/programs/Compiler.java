@@ -0,0 +1,277 @@
+package worms.model.programs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import worms.model.GameObject;
+
+/**
+ * A compiler lowering the statements and expressions of a program to bytecode.
+ *
+ * Every expression compiles itself into instructions that leave its value in a register, and every statement
+ * compiles itself into instructions that start with a new statement. A compiler hands out the registers: the
+ * global variables of the program get a register of their kind for the whole program, intermediate values get a
+ * temporary register that is reused by the next statement. Variables are resolved to their register before the
+ * program is compiled, so the compiler never looks them up by name.
+ *
+ * Only programs without type errors are compiled, so compiling never fails. An expression the type checker folded
+ * into a constant compiles to a single instruction that loads its value.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+public final class Compiler {
+
+	/**
+	 * Compile the given main statement of a program with the given global variables.
+	 * @param	programTree
+	 * 			The main statement of the program.
+	 * @param	globals
+	 * 			The global variables of the program, bound to their slots.
+	 * @param	checker
+	 * 			The type checker that checked the given main statement without errors.
+	 */
+	static Bytecode compile(Statement programTree, Variables globals, TypeChecker checker) {
+		assert ! checker.hasErrors();
+		Compiler compiler = new Compiler(globals, checker);
+		// a program without statements has no main statement
+		if (programTree != null)
+			programTree.compile(compiler);
+		compiler.beginStatement();
+		compiler.emit(Bytecode.HALT, 0, 0, 0);
+		return compiler.toBytecode();
+	}
+
+	private Compiler(Variables globals, TypeChecker checker) {
+		this.globals = globals;
+		this.checker = checker;
+		for (ValueKind kind : ValueKind.values())
+			this.nbVariables[kind.ordinal()] = globals.getNbSlots(kind);
+	}
+
+	/**
+	 * Return the register of the given declared variable.
+	 */
+	Register getRegister(Variable variable) {
+		assert variable.isDeclared();
+		return new Register(variable.getKind(), variable.getSlot());
+	}
+
+	private final Variables globals;
+
+	private final TypeChecker checker;
+
+	private final int[] nbVariables = new int[ValueKind.values().length];
+
+	/**
+	 * Return a new temporary register of the given kind, which stays reserved until the next statement starts.
+	 */
+	Register newTemporary(ValueKind kind) {
+		int index = this.nbVariables[kind.ordinal()] + this.nbTemporaries[kind.ordinal()]++;
+		this.nbRegisters[kind.ordinal()] = Math.max(this.nbRegisters[kind.ordinal()], index + 1);
+		return new Register(kind, index);
+	}
+
+	private final int[] nbTemporaries = new int[ValueKind.values().length];
+
+	private final int[] nbRegisters = new int[ValueKind.values().length];
+
+	/**
+	 * Return a new slot for the state of a foreach loop.
+	 */
+	int newLoop() {
+		return this.nbLoops++;
+	}
+
+	private int nbLoops;
+
+	/**
+	 * Start a new statement: its first instruction is counted as a step by the interpreter, and the temporary
+	 * registers of the previous statement are released.
+	 * @return	The index of the first instruction of the new statement.
+	 */
+	int beginStatement() {
+		this.startsStatement = true;
+		Arrays.fill(this.nbTemporaries, 0);
+		return this.getCurrentIndex();
+	}
+
+	private boolean startsStatement;
+
+	/**
+	 * Return the index of the next instruction to be emitted, as the target of a jump.
+	 */
+	int here() {
+		this.lastTarget = this.getCurrentIndex();
+		return this.lastTarget;
+	}
+
+	private int lastTarget = -1;
+
+	private int getCurrentIndex() {
+		return this.size;
+	}
+
+	/**
+	 * Emit an instruction with the given opcode and operands.
+	 * @return	The index of the emitted instruction.
+	 */
+	int emit(int opcode, int a, int b, int c) {
+		if (this.startsStatement){
+			opcode |= Bytecode.STEP;
+			this.startsStatement = false;
+		}
+		if (this.size + Bytecode.INSTRUCTION_SIZE > this.code.length)
+			this.code = Arrays.copyOf(this.code, 2 * this.code.length);
+		int index = this.size;
+		this.code[index] = opcode;
+		this.code[index + 1] = a;
+		this.code[index + 2] = b;
+		this.code[index + 3] = c;
+		this.size += Bytecode.INSTRUCTION_SIZE;
+		this.lastDestination = null;
+		return index;
+	}
+
+	/**
+	 * Emit an instruction with the given opcode that computes a value into the given destination register.
+	 * @return	The given destination register.
+	 */
+	Register emitValue(int opcode, Register destination, int b, int c) {
+		this.emit(opcode, destination.getIndex(), b, c);
+		this.lastDestination = destination;
+		return destination;
+	}
+
+	/**
+	 * Variable registering the destination of the last instruction, if it computed a value.
+	 */
+	private Register lastDestination;
+
+	/**
+	 * Let the jump instruction with the given index jump to the next instruction to be emitted.
+	 */
+	void patch(int jump) {
+		this.code[jump + 3] = this.here();
+	}
+
+	private int[] code = new int[16 * Bytecode.INSTRUCTION_SIZE];
+
+	private int size;
+
+	/**
+	 * Emit an instruction that moves the value of the given source register into the given destination register.
+	 * If the source is the temporary register the last instruction computed its value in, that instruction
+	 * computes its value into the destination instead.
+	 */
+	void move(Register destination, Register source) {
+		assert destination.getKind() == source.getKind();
+		if (source.getIndex() == destination.getIndex())
+			return;
+		if ((source == this.lastDestination) && (source.getIndex() >= this.nbVariables[source.getKind().ordinal()])
+				&& (this.lastTarget != this.getCurrentIndex())){
+			this.code[this.size - Bytecode.INSTRUCTION_SIZE + 1] = destination.getIndex();
+			this.lastDestination = destination;
+			return;
+		}
+		int opcode;
+		switch (source.getKind()){
+		case DOUBLE:
+			opcode = Bytecode.DOUBLE_MOVE;
+			break;
+		case BOOLEAN:
+			opcode = Bytecode.BOOLEAN_MOVE;
+			break;
+		default:
+			opcode = Bytecode.ENTITY_MOVE;
+		}
+		this.emitValue(opcode, destination, source.getIndex(), 0);
+	}
+
+	/**
+	 * Compile the given expression, loading its value if the type checker folded it into a constant.
+	 * @return	The register holding the value of the given expression.
+	 */
+	Register compile(Expression expression) {
+		Type constant = this.checker.getConstant(expression);
+		if (constant != null)
+			return this.loadConstant(constant);
+		return expression.compile(this);
+	}
+
+	/**
+	 * Emit an instruction that loads the given constant value into a temporary register.
+	 * @return	The register holding the given value.
+	 */
+	Register loadConstant(Type value) {
+		ValueKind kind = ValueKind.of(value);
+		Register destination = this.newTemporary(kind);
+		switch (kind){
+		case DOUBLE:
+			return this.emitValue(Bytecode.DOUBLE_CONSTANT, destination, this.addConstant(((DoubleType) value).getValue()), 0);
+		case BOOLEAN:
+			return this.emitValue(Bytecode.BOOLEAN_CONSTANT, destination, ((BooleanType) value).getValue() ? 1 : 0, 0);
+		default:
+			return this.emitValue(Bytecode.ENTITY_CONSTANT, destination, this.addConstant(((EntityType) value).getValue()), 0);
+		}
+	}
+
+	/**
+	 * Return the index of the given constant in the double constant pool.
+	 * Constants are compared by their bits, so that 0.0 and -0.0 get their own index.
+	 */
+	int addConstant(double constant) {
+		Long bits = Double.doubleToLongBits(constant);
+		Integer index = this.doubleConstantIndices.get(bits);
+		if (index == null){
+			index = this.doubleConstants.size();
+			this.doubleConstants.add(constant);
+			this.doubleConstantIndices.put(bits, index);
+		}
+		return index;
+	}
+
+	private final List<Double> doubleConstants = new ArrayList<Double>();
+
+	private final Map<Long, Integer> doubleConstantIndices = new HashMap<Long, Integer>();
+
+	/**
+	 * Return the index of the given entity in the entity constant pool.
+	 * Entities are compared by identity.
+	 */
+	int addConstant(GameObject constant) {
+		Integer index = this.entityConstantIndices.get(constant);
+		if (index == null){
+			index = this.entityConstants.size();
+			this.entityConstants.add(constant);
+			this.entityConstantIndices.put(constant, index);
+		}
+		return index;
+	}
+
+	private final List<GameObject> entityConstants = new ArrayList<GameObject>();
+
+	private final Map<GameObject, Integer> entityConstantIndices = new IdentityHashMap<GameObject, Integer>();
+
+	private Bytecode toBytecode() {
+		double[] doubleConstants = new double[this.doubleConstants.size()];
+		for (int i = 0; i < doubleConstants.length; i++)
+			doubleConstants[i] = this.doubleConstants.get(i);
+		double[] doubles = new double[this.getNbRegisters(ValueKind.DOUBLE)];
+		boolean[] booleans = new boolean[this.getNbRegisters(ValueKind.BOOLEAN)];
+		GameObject[] entities = new GameObject[this.getNbRegisters(ValueKind.ENTITY)];
+		this.globals.initialize(doubles, booleans, entities);
+		return new Bytecode(Arrays.copyOf(this.code, this.size), doubleConstants,
+				this.entityConstants.toArray(new GameObject[this.entityConstants.size()]),
+				doubles, booleans, entities, this.nbLoops);
+	}
+
+	private int getNbRegisters(ValueKind kind) {
+		return Math.max(this.nbRegisters[kind.ordinal()], this.nbVariables[kind.ordinal()]);
+	}
+
+}
@@ -1,14 +1,17 @@
 package worms.model.programs;
 
-public class CosExpression implements Expression {
-	
-    Expression toCos;
-    
-    public CosExpression(Expression cos) { 
-    	toCos = cos;
-    }
- 
-    public Type evaluate()  { 	
-        return ((DoubleType) toCos).toCos();
-    }
+/**
+ * The cosine of a double.
+ */
+public class CosExpression extends UnaryExpression {
+
+	public CosExpression(Expression operand) {
+		super(operand, Bytecode.COS, ValueKind.DOUBLE, ValueKind.DOUBLE);
+	}
+
+	@Override
+	protected Type evaluate(Type operand) {
+		return new DoubleType(Math.cos(((DoubleType) operand).getValue()));
+	}
+
 }
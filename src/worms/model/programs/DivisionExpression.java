@@ -1,14 +1,17 @@
 package worms.model.programs;
 
-public class DivisionExpression implements Expression {
-    Expression leftOperand;
-    Expression rightOperand;
-    public DivisionExpression (Expression left, Expression right) { 
-        leftOperand = left; 
-        rightOperand = right;
-    }
- 
-    public Type evaluate()  { 	
-        return ((DoubleType) leftOperand).division((DoubleType) rightOperand);
-    }
-}
\ No newline at end of file
+/**
+ * The quotient of two doubles.
+ */
+public class DivisionExpression extends BinaryExpression {
+
+	public DivisionExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.DIVIDE, ValueKind.DOUBLE, ValueKind.DOUBLE);
+	}
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return new DoubleType(((DoubleType) left).getValue() / ((DoubleType) right).getValue());
+	}
+
+}
@@ -1,16 +1,19 @@
 package worms.model.programs;
 
-public class DoubleExpression implements Expression {
+/**
+ * A double literal.
+ */
+public class DoubleExpression extends LiteralExpression {
 
-	DoubleType doubleType;
+	private final DoubleType value;
 	
-	public DoubleExpression(double doubleType){
-		this.doubleType = new DoubleType(doubleType);
+	public DoubleExpression(double value){
+		this.value = new DoubleType(value);
 	}
 	
 	@Override
-	public Type evaluate() {
-		return doubleType;
+	public DoubleType getValue() {
+		return value;
 	}
 
 }
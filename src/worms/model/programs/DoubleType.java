@@ -1,41 +1,41 @@
 package worms.model.programs;
 
-import java.lang.Math;
-
-
+/**
+ * A double value of a program.
+ */
 public class DoubleType implements Type {
 	
-	private double value;
+	private final double value;
 	
 	public DoubleType(double value){
 		this.value = value;
 	}
 	
+	/**
+	 * Initialize this new double value to 0, the value of a double variable that has not been assigned yet.
+	 */
 	public DoubleType(){
+		this(0);
 	}
 	
-	public DoubleType add(DoubleType e2){
-		return new DoubleType(e2.getValue() + this.value);
-		
+	public double getValue() {
+		return value;
 	}
 	
-	public DoubleType subtract(DoubleType e2){
-		return new DoubleType(e2.getValue() - this.value);
-		
+	public DoubleType add(DoubleType other){
+		return new DoubleType(this.value + other.getValue());
 	}
 	
-	public DoubleType mul(DoubleType e2){
-		return new DoubleType(e2.getValue() * this.value);
-		
+	public DoubleType subtract(DoubleType other){
+		return new DoubleType(this.value - other.getValue());
 	}
 	
-	public DoubleType division(DoubleType e2){
-		return new DoubleType(e2.getValue() / this.value);
-		
+	public DoubleType mul(DoubleType other){
+		return new DoubleType(this.value * other.getValue());
 	}
 	
-	public double getValue() {
-		return value;
+	public DoubleType division(DoubleType other){
+		return new DoubleType(this.value / other.getValue());
 	}
 	
 	public DoubleType sqrt() {
@@ -50,4 +50,31 @@ public class DoubleType implements Type {
 		return new DoubleType(Math.cos(this.value));
 	}
 
+	/**
+	 * Return the double held by the given value.
+	 * @throws	ExpressionException
+	 * 			The given value is not a double.
+	 */
+	public static double valueOf(Type value) throws ExpressionException {
+		if (! (value instanceof DoubleType))
+			throw new ExpressionException("Expected a double, but got " + value);
+		return ((DoubleType) value).getValue();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return (other instanceof DoubleType) && (((DoubleType) other).getValue() == this.value);
+	}
+
+	@Override
+	public int hashCode() {
+		long bits = Double.doubleToLongBits(this.value);
+		return (int) (bits ^ (bits >>> 32));
+	}
+
+	@Override
+	public String toString() {
+		return Double.toString(this.value);
+	}
+
 }
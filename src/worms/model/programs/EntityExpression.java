@@ -1,14 +1,19 @@
 package worms.model.programs;
 
-public class EntityExpression implements Expression {
-	EntityType entity;
+/**
+ * An entity literal, of which null is the only one a program can write.
+ */
+public class EntityExpression extends LiteralExpression {
+
+	private final EntityType entity;
 	
-	public EntityExpression(EntityType e){
-		this.entity = e;
+	public EntityExpression(EntityType entity){
+		this.entity = entity;
 	}
 	
 	@Override
-	public Type evaluate() {
+	public EntityType getValue() {
 		return entity;
 	}
+
 }
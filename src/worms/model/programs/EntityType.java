@@ -1,21 +1,93 @@
 package worms.model.programs;
 
+import worms.model.Food;
 import worms.model.GameObject;
+import worms.model.Worm;
 
+/**
+ * An entity value of a program: a game object, or null.
+ */
 public class EntityType implements Type {
 
-protected GameObject o;
+	protected final GameObject o;
 	
 	public EntityType(GameObject o){
 		this.o = o;
 	}
 	
+	/**
+	 * Initialize this new entity value to null, the value of an entity variable that has not been assigned yet.
+	 */
 	public EntityType(){
+		this(null);
 	}
 	
-	
 	public GameObject getValue() {
 		return o;
 	}
+
+	/**
+	 * Return a new entity value for the given game object, typed after the kind of the given game object.
+	 */
+	public static EntityType of(GameObject object) {
+		if (object instanceof Worm)
+			return new WormEntityType((Worm) object);
+		if (object instanceof Food)
+			return new FoodEntityType((Food) object);
+		return new EntityType(object);
+	}
+
+	/**
+	 * Return the game object held by the given value, which may be null.
+	 * @throws	ExpressionException
+	 * 			The given value is not an entity.
+	 */
+	public static GameObject valueOf(Type value) throws ExpressionException {
+		if (! (value instanceof EntityType))
+			throw new ExpressionException("Expected an entity, but got " + value);
+		return ((EntityType) value).getValue();
+	}
+
+	/**
+	 * Return the game object held by the given value.
+	 * @throws	ExpressionException
+	 * 			The given value is not an entity, or it is null.
+	 */
+	public static GameObject objectOf(Type value) throws ExpressionException {
+		GameObject object = valueOf(value);
+		if (object == null)
+			throw new ExpressionException("Expected an entity, but got null");
+		return object;
+	}
+
+	/**
+	 * Return the worm held by the given value.
+	 * @throws	ExpressionException
+	 * 			The given value is not an entity holding a worm.
+	 */
+	public static Worm wormOf(Type value) throws ExpressionException {
+		GameObject object = valueOf(value);
+		if (! (object instanceof Worm))
+			throw new ExpressionException("Expected a worm, but got " + value);
+		return (Worm) object;
+	}
+
+	/**
+	 * Two entity values are equal if they hold the same game object.
+	 */
+	@Override
+	public boolean equals(Object other) {
+		return (other instanceof EntityType) && (((EntityType) other).getValue() == this.o);
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(this.o);
+	}
+
+	@Override
+	public String toString() {
+		return (this.o == null) ? "null" : this.o.getClass().getSimpleName().toLowerCase();
+	}
 	
 }
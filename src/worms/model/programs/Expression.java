@@ -1,5 +1,34 @@
 package worms.model.programs;
 
+/**
+ * An expression of a program.
+ * Expressions are checked and compiled along with the statement they belong to, and are evaluated each time that
+ * statement is executed, against the state of the program executing them: its variables, and the worm it
+ * controls.
+ */
 public interface Expression {
-	public Type evaluate();
-}
\ No newline at end of file
+
+	/**
+	 * Return the kind of the values of this expression, or null if it reads a variable that was not declared.
+	 * The kind of an expression follows from its operator alone, whatever the kinds of its operands.
+	 */
+	public ValueKind getKind();
+
+	/**
+	 * Check whether the operands of this expression, and of the expressions nested in it, have the right kind.
+	 * Report the errors, and the value of this expression if it is a constant, to the given checker.
+	 * @param	checker
+	 * 			The checker of the program this expression belongs to.
+	 */
+	public void check(TypeChecker checker);
+
+	/**
+	 * Compile this expression into instructions that leave its value in a register.
+	 * Expressions are only compiled once they have been checked.
+	 * @param	compiler
+	 * 			The compiler to emit the instructions to.
+	 * @return	The register holding the value of this expression.
+	 */
+	public Register compile(Compiler compiler);
+
+}
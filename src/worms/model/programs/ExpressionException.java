@@ -1,5 +1,9 @@
 package worms.model.programs;
 
+/**
+ * A class of exceptions signalling that an expression of a program cannot be evaluated,
+ * for instance because one of its operands has the wrong type or is null.
+ */
 public class ExpressionException extends RuntimeException {
 	
 	/**
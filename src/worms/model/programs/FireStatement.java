@@ -1,20 +1,30 @@
 package worms.model.programs;
 
-import worms.gui.game.IActionHandler;
+/**
+ * A statement making the worm of the program fire its selected weapon with a propulsion yield.
+ */
+public class FireStatement extends ActionStatement {
 
-public class FireStatement implements Statement {
-
-	private IActionHandler ah;
-	private Program p;
-	private Expression yield;
+	private final Expression yield;
 
 	public FireStatement(Expression yield){
 		this.yield = yield;
 	}
-	
+
+	public Expression getYield() {
+		return yield;
+	}
+
+	@Override
+	public void check(TypeChecker checker) {
+		super.check(checker);
+		checker.check(this.yield, ValueKind.DOUBLE);
+	}
+
 	@Override
-	public void execute() {
-		ah.fire(p.getWorm(), (int) ((DoubleType) yield.evaluate()).getValue());
+	protected void compileAction(Compiler compiler, int restart) {
+		Register yield = compiler.compile(this.yield);
+		compiler.emit(Bytecode.FIRE, yield.getIndex(), 0, restart);
 	}
 
 }
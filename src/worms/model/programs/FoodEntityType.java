@@ -2,13 +2,16 @@ package worms.model.programs;
 
 import worms.model.Food;
 
-
+/**
+ * An entity value of a program holding a piece of food.
+ */
 public class FoodEntityType extends EntityType{
 	
 	public FoodEntityType(Food f){
 		super(f);
 	}
 	
+	@Override
 	public Food getValue() {
 		return (Food) o;
 	}
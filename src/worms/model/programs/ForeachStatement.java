@@ -0,0 +1,65 @@
+package worms.model.programs;
+
+import worms.model.programs.ProgramFactory.ForeachType;
+
+/**
+ * A statement executing its body once for each worm, each piece of food, or each of both in the world of the
+ * program, with a global variable referring to that entity.
+ * The loop iterates over the entities that were in the world when it started, skipping those that have left the
+ * world since.
+ */
+public class ForeachStatement implements Statement {
+
+	private final ForeachType type;
+
+	private final Variable variable;
+
+	private final Statement body;
+
+	public ForeachStatement(ForeachType type, Variable variable, Statement body) {
+		this.type = type;
+		this.variable = variable;
+		this.body = body;
+	}
+
+	public ForeachType getType() {
+		return type;
+	}
+
+	public Variable getVariable() {
+		return variable;
+	}
+
+	public Statement getBody() {
+		return body;
+	}
+
+	@Override
+	public void check(TypeChecker checker) {
+		if (! this.variable.isDeclared())
+			checker.reportError("Undeclared variable " + this.variable);
+		else if (this.variable.getKind() != ValueKind.ENTITY)
+			checker.reportError("Cannot iterate over entities with variable " + this.variable
+					+ ", which holds " + this.variable.getKind().getDescription());
+		checker.enterForeach();
+		this.body.check(checker);
+		checker.exitForeach();
+	}
+
+	/**
+	 * The loop takes a step for each entity it visits, and another one when it starts.
+	 */
+	@Override
+	public void compile(Compiler compiler) {
+		compiler.beginStatement();
+		int loop = compiler.newLoop();
+		compiler.emit(Bytecode.FOREACH_START, loop, this.type.ordinal(), 0);
+		compiler.beginStatement();
+		int next = compiler.here();
+		int exit = compiler.emit(Bytecode.FOREACH_NEXT, loop, this.variable.getSlot(), 0);
+		this.body.compile(compiler);
+		compiler.emit(Bytecode.JUMP, 0, 0, next);
+		compiler.patch(exit);
+	}
+
+}
@@ -1,15 +1,12 @@
 package worms.model.programs;
 
-public class GetAPExpression implements Expression{
-	DoubleType ap;
-	
-	public GetAPExpression(EntityExpression e){
-		WormEntityType eType = (WormEntityType) e.evaluate();
-		this.ap = new DoubleType((double) eType.getValue().getNumberOfActionPoints());
-	}
+/**
+ * The current number of action points of a worm.
+ */
+public class GetAPExpression extends UnaryExpression {
 
-	@Override
-	public Type evaluate() {
-		return ap;
+	public GetAPExpression(Expression operand) {
+		super(operand, Bytecode.GET_ACTION_POINTS, ValueKind.ENTITY, ValueKind.DOUBLE);
 	}
+
 }
@@ -1,15 +1,12 @@
 package worms.model.programs;
 
-public class GetDirExpression implements Expression{
-	DoubleType dir;
-	
-	public GetDirExpression(EntityExpression e){
-		WormEntityType eType = (WormEntityType) e.evaluate();
-		this.dir = new DoubleType(eType.getValue().getDirection());
-	}
+/**
+ * The direction of a worm.
+ */
+public class GetDirExpression extends UnaryExpression {
 
-	@Override
-	public Type evaluate() {
-		return dir;
+	public GetDirExpression(Expression operand) {
+		super(operand, Bytecode.GET_DIRECTION, ValueKind.ENTITY, ValueKind.DOUBLE);
 	}
+
 }
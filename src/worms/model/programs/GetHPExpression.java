@@ -1,15 +1,12 @@
 package worms.model.programs;
 
-public class GetHPExpression implements Expression{
-	DoubleType hp;
-	
-	public GetHPExpression(EntityExpression e){
-		WormEntityType eType = (WormEntityType) e.evaluate();
-		this.hp = new DoubleType((double) eType.getValue().getNumberOfHitPoints());
-	}
+/**
+ * The current number of hit points of a worm.
+ */
+public class GetHPExpression extends UnaryExpression {
 
-	@Override
-	public Type evaluate() {
-		return hp;
+	public GetHPExpression(Expression operand) {
+		super(operand, Bytecode.GET_HIT_POINTS, ValueKind.ENTITY, ValueKind.DOUBLE);
 	}
+
 }
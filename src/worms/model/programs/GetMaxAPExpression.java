@@ -1,15 +1,12 @@
 package worms.model.programs;
 
-public class GetMaxAPExpression implements Expression{
-	DoubleType maxap;
-	
-	public GetMaxAPExpression(EntityExpression e){
-		WormEntityType eType = (WormEntityType) e.evaluate();
-		this.maxap = new DoubleType((double) eType.getValue().getMaxNumberOfActionPoints());
-	}
+/**
+ * The maximum number of action points of a worm.
+ */
+public class GetMaxAPExpression extends UnaryExpression {
 
-	@Override
-	public Type evaluate() {
-		return maxap;
+	public GetMaxAPExpression(Expression operand) {
+		super(operand, Bytecode.GET_MAX_ACTION_POINTS, ValueKind.ENTITY, ValueKind.DOUBLE);
 	}
+
 }
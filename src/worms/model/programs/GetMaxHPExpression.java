@@ -1,15 +1,12 @@
 package worms.model.programs;
 
-public class GetMaxHPExpression implements Expression{
-	DoubleType maxhp;
-	
-	public GetMaxHPExpression(EntityExpression e){
-		WormEntityType eType = (WormEntityType) e.evaluate();
-		this.maxhp = new DoubleType((double) eType.getValue().getMaxNumberOfHitPoints());
-	}
+/**
+ * The maximum number of hit points of a worm.
+ */
+public class GetMaxHPExpression extends UnaryExpression {
 
-	@Override
-	public Type evaluate() {
-		return maxhp;
+	public GetMaxHPExpression(Expression operand) {
+		super(operand, Bytecode.GET_MAX_HIT_POINTS, ValueKind.ENTITY, ValueKind.DOUBLE);
 	}
+
 }
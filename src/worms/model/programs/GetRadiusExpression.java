@@ -1,15 +1,12 @@
 package worms.model.programs;
 
-public class GetRadiusExpression implements Expression {
-	DoubleType radius;
-	
-	public GetRadiusExpression(EntityExpression e){
-		WormEntityType eType = (WormEntityType) e.evaluate();
-		this.radius = new DoubleType(eType.getValue().getRadius());
-	}
+/**
+ * The radius of an entity.
+ */
+public class GetRadiusExpression extends UnaryExpression {
 
-	@Override
-	public Type evaluate() {
-		return radius;
+	public GetRadiusExpression(Expression operand) {
+		super(operand, Bytecode.GET_RADIUS, ValueKind.ENTITY, ValueKind.DOUBLE);
 	}
+
 }
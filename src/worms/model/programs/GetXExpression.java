@@ -1,17 +1,12 @@
 package worms.model.programs;
 
-public class GetXExpression implements Expression {
-	
-	DoubleType xCoordinate;
-	
-	public GetXExpression(EntityExpression e){
-		EntityType eType = (EntityType) e.evaluate();
-		this.xCoordinate = new DoubleType(eType.getValue().getX());
-	}
+/**
+ * The x-coordinate of an entity.
+ */
+public class GetXExpression extends UnaryExpression {
 
-	@Override
-	public Type evaluate() {
-		return xCoordinate;
+	public GetXExpression(Expression operand) {
+		super(operand, Bytecode.GET_X, ValueKind.ENTITY, ValueKind.DOUBLE);
 	}
 
 }
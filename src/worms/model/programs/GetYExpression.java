@@ -1,17 +1,12 @@
 package worms.model.programs;
 
-public class GetYExpression implements Expression{
-		
-	DoubleType yCoordinate;
-	
-	public GetYExpression(EntityExpression e){
-		EntityType eType = (EntityType) e.evaluate();
-		this.yCoordinate = new DoubleType(eType.getValue().getY());
-	}
+/**
+ * The y-coordinate of an entity.
+ */
+public class GetYExpression extends UnaryExpression {
 
-	@Override
-	public Type evaluate() {
-		return yCoordinate;
+	public GetYExpression(Expression operand) {
+		super(operand, Bytecode.GET_Y, ValueKind.ENTITY, ValueKind.DOUBLE);
 	}
 
 }
@@ -1,16 +1,17 @@
 package worms.model.programs;
 
-public class GreaterThanExpression implements Expression {
+/**
+ * Whether the left double is greater than the right double.
+ */
+public class GreaterThanExpression extends BinaryExpression {
 
-	Expression e1, e2;
-	
-	public GreaterThanExpression(Expression e1, Expression e2){
-		this.e1 = e1;
-		this.e2 = e2;
+	public GreaterThanExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.GREATER_THAN, ValueKind.DOUBLE, ValueKind.BOOLEAN);
 	}
-	
-	public Type evaluate(){
-		return new BooleanType(((DoubleType) e1.evaluate()).getValue() > ((DoubleType) e2.evaluate()).getValue());
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return new BooleanType(((DoubleType) left).getValue() > ((DoubleType) right).getValue());
 	}
 
 }
@@ -1,16 +1,17 @@
 package worms.model.programs;
 
-public class GreaterThanOrEqualToExpression implements Expression {
-	
-	Expression e1,e2;
-	
-	public GreaterThanOrEqualToExpression(Expression e1, Expression e2){
-		this.e1 = e1;
-		this.e2 = e2;
+/**
+ * Whether the left double is greater than or equal to the right double.
+ */
+public class GreaterThanOrEqualToExpression extends BinaryExpression {
+
+	public GreaterThanOrEqualToExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.GREATER_THAN_OR_EQUAL_TO, ValueKind.DOUBLE, ValueKind.BOOLEAN);
 	}
-	
-	public Type evaluate(){
-		return new BooleanType((((DoubleType) e1.evaluate()).getValue() > ((DoubleType) e2.evaluate()).getValue()) ||(((DoubleType) e1.evaluate()).getValue() == ((DoubleType) e2.evaluate()).getValue()) );
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return new BooleanType(((DoubleType) left).getValue() >= ((DoubleType) right).getValue());
 	}
 
 }
@@ -1,21 +1,51 @@
 package worms.model.programs;
 
+/**
+ * A statement executing one of two statements, depending on a condition.
+ */
 public class IfStatement implements Statement{
-	private Statement s1;	
-	private Statement s2;
-	private Expression c;
+
+	private final Expression condition;
+
+	private final Statement then;
+
+	private final Statement otherwise;
 	
-	public IfStatement(Expression c, Statement s1, Statement s2){
-		this.s1 = s1;
-		this.s2 = s2;
-		this.c = c;
+	public IfStatement(Expression condition, Statement then, Statement otherwise){
+		this.condition = condition;
+		this.then = then;
+		this.otherwise = otherwise;
+	}
+
+	public Expression getCondition() {
+		return condition;
+	}
+
+	public Statement getThen() {
+		return then;
+	}
+
+	public Statement getOtherwise() {
+		return otherwise;
 	}
 	
 	@Override
-	public void execute(){
-		if (((BooleanType) c.evaluate()).getValue())
-			s1.execute();
-		else
-			s2.execute();
+	public void check(TypeChecker checker) {
+		checker.check(this.condition, ValueKind.BOOLEAN);
+		this.then.check(checker);
+		this.otherwise.check(checker);
+	}
+
+	@Override
+	public void compile(Compiler compiler) {
+		compiler.beginStatement();
+		Register condition = compiler.compile(this.condition);
+		int jumpToOtherwise = compiler.emit(Bytecode.JUMP_IF_FALSE, condition.getIndex(), 0, 0);
+		this.then.compile(compiler);
+		int jumpToEnd = compiler.emit(Bytecode.JUMP, 0, 0, 0);
+		compiler.patch(jumpToOtherwise);
+		this.otherwise.compile(compiler);
+		compiler.patch(jumpToEnd);
 	}
+
 }
@@ -1,16 +1,38 @@
 package worms.model.programs;
 
-public class InequalityExpression implements Expression {
-	
-	BooleanType result;
-	
-	public InequalityExpression(Expression e1, Expression e2){
-		result =  new BooleanType(! ((e1.evaluate()) == ( e2.evaluate()))) ;
+/**
+ * Whether two values differ. Doubles and booleans are compared by value, entities by identity.
+ */
+public class InequalityExpression extends BinaryExpression {
+
+	public InequalityExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.DOUBLE_NOT_EQUAL, null, ValueKind.BOOLEAN);
 	}
-	
-	public Type evaluate(){
-		return result;
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return new BooleanType(! left.equals(right));
 	}
 
-}
+	/**
+	 * Both operands have the same kind, which decides on the instruction that compares them.
+	 */
+	@Override
+	public Register compile(Compiler compiler) {
+		Register left = compiler.compile(getLeftOperand());
+		Register right = compiler.compile(getRightOperand());
+		int opcode;
+		switch (left.getKind()){
+		case DOUBLE:
+			opcode = Bytecode.DOUBLE_NOT_EQUAL;
+			break;
+		case BOOLEAN:
+			opcode = Bytecode.BOOLEAN_NOT_EQUAL;
+			break;
+		default:
+			opcode = Bytecode.ENTITY_NOT_EQUAL;
+		}
+		return compiler.emitValue(opcode, compiler.newTemporary(ValueKind.BOOLEAN), left.getIndex(), right.getIndex());
+	}
 
+}
@@ -1,19 +1,19 @@
 package worms.model.programs;
 
-public class IsWormExpression implements Expression{
-	
-	BooleanType isWorm;
-	
-	public IsWormExpression(Expression e){
-		if (e.evaluate() instanceof WormEntityType)
-		isWorm = new BooleanType(true);
-		else isWorm = new BooleanType(false);
+import worms.model.Worm;
+
+/**
+ * Whether an entity is a worm.
+ */
+public class IsWormExpression extends UnaryExpression {
+
+	public IsWormExpression(Expression operand) {
+		super(operand, Bytecode.IS_WORM, ValueKind.ENTITY, ValueKind.BOOLEAN);
 	}
-	
 
 	@Override
-	public Type evaluate() {
-		return isWorm;
+	protected Type evaluate(Type operand) {
+		return new BooleanType(((EntityType) operand).getValue() instanceof Worm);
 	}
 
 }
@@ -1,18 +1,13 @@
 package worms.model.programs;
 
-import worms.gui.game.IActionHandler;
+/**
+ * A statement making the worm of the program jump.
+ */
+public class JumpStatement extends ActionStatement {
 
-public class JumpStatement implements Statement{
-
-	private IActionHandler ah;
-	private Program p;
-
-	public JumpStatement(){
-	}
-	
 	@Override
-	public void execute() {
-		ah.jump(p.getWorm());
+	protected void compileAction(Compiler compiler, int restart) {
+		compiler.emit(Bytecode.JUMP_WORM, 0, 0, restart);
 	}
 
 }
@@ -1,17 +1,17 @@
 package worms.model.programs;
 
-public class LessThanExpression implements Expression {
-	
-	Expression e1,e2;
-	
-	public LessThanExpression(Expression e1, Expression e2){
-		this.e1 = e1;
-		this.e2 = e2;
-	
+/**
+ * Whether the left double is less than the right double.
+ */
+public class LessThanExpression extends BinaryExpression {
+
+	public LessThanExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.LESS_THAN, ValueKind.DOUBLE, ValueKind.BOOLEAN);
 	}
-	
-	public Type evaluate(){
-		return new BooleanType(((DoubleType) e1.evaluate()).getValue() < ((DoubleType) e2.evaluate()).getValue());
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return new BooleanType(((DoubleType) left).getValue() < ((DoubleType) right).getValue());
 	}
 
 }
@@ -1,16 +1,17 @@
 package worms.model.programs;
 
-public class LessThanOrEqualToExpression  implements Expression {
-	
-	Expression e1,e2;
-	
-	public LessThanOrEqualToExpression(Expression e1, Expression e2){
-		this.e1= e1;
-		this.e2 = e2;
+/**
+ * Whether the left double is less than or equal to the right double.
+ */
+public class LessThanOrEqualToExpression extends BinaryExpression {
+
+	public LessThanOrEqualToExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.LESS_THAN_OR_EQUAL_TO, ValueKind.DOUBLE, ValueKind.BOOLEAN);
 	}
-	
-	public Type evaluate(){
-		return new BooleanType((((DoubleType) e1.evaluate()).getValue() < ((DoubleType) e2.evaluate()).getValue()) ||(((DoubleType) e1.evaluate()).getValue() == ((DoubleType) e2.evaluate()).getValue()) );
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return new BooleanType(((DoubleType) left).getValue() <= ((DoubleType) right).getValue());
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package worms.model.programs;
+
+/**
+ * An expression with a constant value.
+ */
+public abstract class LiteralExpression implements Expression {
+
+	/**
+	 * Return the value of this literal.
+	 */
+	public abstract Type getValue();
+
+	@Override
+	public ValueKind getKind() {
+		return ValueKind.of(this.getValue());
+	}
+
+	@Override
+	public void check(TypeChecker checker) {
+		checker.setConstant(this, this.getValue());
+	}
+
+	@Override
+	public Register compile(Compiler compiler) {
+		return compiler.loadConstant(this.getValue());
+	}
+
+}
@@ -1,18 +1,13 @@
 package worms.model.programs;
 
-import worms.gui.game.IActionHandler;
+/**
+ * A statement moving the worm of the program.
+ */
+public class MoveStatement extends ActionStatement {
 
-public class MoveStatement implements Statement{
-	
-	private IActionHandler ah;
-	private Program p;
-
-	public MoveStatement(){
-	}
-	
 	@Override
-	public void execute() {
-		ah.move(p.getWorm());
+	protected void compileAction(Compiler compiler, int restart) {
+		compiler.emit(Bytecode.MOVE, 0, 0, restart);
 	}
-	
+
 }
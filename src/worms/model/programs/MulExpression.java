@@ -1,14 +1,17 @@
 package worms.model.programs;
 
-public class MulExpression implements Expression {
-    Expression leftOperand;
-    Expression rightOperand;
-    public MulExpression (Expression left, Expression right) { 
-        leftOperand = left; 
-        rightOperand = right;
-    }
- 
-    public Type evaluate()  { 	
-        return ((DoubleType) leftOperand).Mul((DoubleType) rightOperand);
-    }
+/**
+ * The product of two doubles.
+ */
+public class MulExpression extends BinaryExpression {
+
+	public MulExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.MULTIPLY, ValueKind.DOUBLE, ValueKind.DOUBLE);
+	}
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return new DoubleType(((DoubleType) left).getValue() * ((DoubleType) right).getValue());
+	}
+
 }
@@ -1,233 +1,293 @@
 package worms.model.programs;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-import worms.gui.game.IActionHandler;
-import worms.model.World;
-
+/**
+ * A factory building the expressions and statements of programs that can be executed by Program.
+ */
 public class MyFactory implements ProgramFactory<Expression,Statement,Type>{
-	
-	private String programText;
-	private IActionHandler handler;
-	private ProgramParser parser;
-	
-	public MyFactory(String programText, IActionHandler handler){
-		this.programText = programText;
-		this.handler = handler;
-		this.parser = new ProgramParser(this);
+
+	/**
+	 * Return the variable with the given name, which is the same variable for all expressions and statements
+	 * this factory creates.
+	 */
+	private Variable getVariable(String name) {
+		Variable variable = this.variables.get(name);
+		if (variable == null){
+			variable = new Variable(name);
+			this.variables.put(name, variable);
+		}
+		return variable;
 	}
 
-	public Expression createDoubleLiteral(double doubleType) {
-		return new DoubleExpression(doubleType);
+	/**
+	 * Bind the variables the expressions and statements created by this factory refer to, to a slot in the
+	 * register file of their kind, if they are declared in the given global variables.
+	 * This resolves the variables of a program once it has been parsed, before it is compiled, so that no
+	 * variable is ever looked up by name while the program runs.
+	 * @param	globals
+	 * 			The declared global variables of the parsed program, mapped to their initial values.
+	 * @return	The declared variables, bound to their slots.
+	 * @throws	IllegalStateException
+	 * 			The variables of this factory have already been resolved.
+	 */
+	public Variables resolve(Map<String, Type> globals) {
+		return new Variables(this.variables.values(), globals);
 	}
-	
-	public Expression createBooleanLiteral(boolean booleanExpression){
-		return new BooleanExpression(booleanExpression);
+
+	/**
+	 * Variable registering the variables referred to so far, in the order in which they were first referred to.
+	 */
+	private final Map<String, Variable> variables = new LinkedHashMap<String, Variable>();
+
+	@Override
+	public Expression createDoubleLiteral(int line, int column, double d) {
+		return new DoubleExpression(d);
 	}
 	
-	public Expression createAnd( Expression e1, Expression e2) throws ExpressionException{
-		if (e1 instanceof BooleanExpression && e2 instanceof BooleanExpression){
-			BooleanType boolean1 = (BooleanType) e1.evaluate();
-			BooleanType boolean2 = (BooleanType) e2.evaluate();
-			if (boolean1.getValue() && boolean2.getValue()){
-				return new BooleanExpression(true);
-			}
-			else return new BooleanExpression(false);
-			}
-		else throw new ExpressionException("Invalid Expression");
+	@Override
+	public Expression createBooleanLiteral(int line, int column, boolean b){
+		return new BooleanExpression(b);
 	}
 	
+	@Override
+	public Expression createAnd(int line, int column, Expression e1, Expression e2){
+		return new AndExpression(e1, e2);
+	}
 	
+	@Override
+	public Expression createOr(int line, int column, Expression e1, Expression e2){
+		return new OrExpression(e1, e2);
+	}
 	
-	public Expression createOr( Expression e1, Expression e2){
-		if (e1 instanceof BooleanExpression && e2 instanceof BooleanExpression){
-			BooleanType boolean1 = (BooleanType) e1.evaluate();
-			BooleanType boolean2 = (BooleanType) e2.evaluate();
-			if (boolean1.getValue() || boolean2.getValue()){
-				return new BooleanExpression(true);
-			}
-			else return new BooleanExpression(false);
-			}
-		else throw new ExpressionException("Invalid Expression");
-		}
-	
-	
-	public Expression createNot(Expression e){
-		if (e instanceof BooleanExpression){
-			BooleanExpression boolean1 = (BooleanExpression) e.evaluate();
-			return new BooleanExpression(boolean1.getContrary());
-		}
-		else throw new ExpressionException("Invalid Expression");
+	@Override
+	public Expression createNot(int line, int column, Expression e){
+		return new NotExpression(e);
 	}
 	
-	public Expression createNull(){
-		return null;
+	@Override
+	public Expression createNull(int line, int column){
+		return new EntityExpression(new EntityType());
 	}
 
-	public Expression createSelf(){
+	@Override
+	public Expression createSelf(int line, int column){
 		return new SelfExpression();
 	}
 	
+	@Override
 	public Expression createGetX(int line, int column, Expression e){
-		if(! (e instanceof EntityExpression)){
-			throw new ExpressionException("");
-		
-		}
-		return new GetXExpression((EntityExpression) e);
+		return new GetXExpression(e);
 	}
 	
+	@Override
 	public Expression createGetY(int line, int column, Expression e){
-		if(! (e instanceof EntityExpression)){
-			throw new ExpressionException("");
-		
-		}
-		return new GetYExpression((EntityExpression) e);
-	}
-	
-	public Expression createGetDir(int line, int column, Expression e){
-		if(! (e instanceof EntityExpression)){
-			throw new ExpressionException("");
-		
-		}
-		return new GetDirExpression((EntityExpression) e);
+		return new GetYExpression(e);
 	}
 	
+	@Override
 	public Expression createGetRadius(int line, int column, Expression e){
-		if(! (e instanceof EntityExpression)){
-			throw new ExpressionException("");
-		
-		}
-		return new GetRadiusExpression((EntityExpression) e);
+		return new GetRadiusExpression(e);
 	}
 	
-
-	
+	@Override
+	public Expression createGetDir(int line, int column, Expression e){
+		return new GetDirExpression(e);
+	}
 	
+	@Override
 	public Expression createGetAP(int line, int column, Expression e) {
-		if(! (e instanceof EntityExpression)){
-			throw new ExpressionException("");
-		
-		}
-		return new GetAPExpression((EntityExpression) e);
+		return new GetAPExpression(e);
 	}
 
+	@Override
 	public Expression createGetMaxAP(int line, int column, Expression e) {
-		if(! (e instanceof EntityExpression)){
-			throw new ExpressionException("");
-		
-		}
-		return new GetMaxAPExpression((EntityExpression) e);
+		return new GetMaxAPExpression(e);
 	}
 
+	@Override
 	public Expression createGetHP(int line, int column, Expression e){
-		if(! (e instanceof EntityExpression)){
-			throw new ExpressionException("");
-		
-		}
-		return new GetHPExpression((EntityExpression) e);
+		return new GetHPExpression(e);
 	}
 	
+	@Override
 	public Expression createGetMaxHP(int line, int column, Expression e){
-		if(! (e instanceof EntityExpression)){
-			throw new ExpressionException("");
-		
-		}
-		return new GetMaxHPExpression((EntityExpression) e);
+		return new GetMaxHPExpression(e);
 	}
 	
-	
-	
+	@Override
 	public Expression createSameTeam(int line, int column, Expression e){
-		if (! (e.evaluate() instanceof WormEntityType)){
-			throw new ExpressionException("Invalid Expression");
-		}
-		else return new BooleanExpression(((WormEntityType) e.evaluate()).getTeam() == ((WormEntityType) this.createSelf().evaluate()).getTeam());
+		return new SameTeamExpression(e);
 	}
 	
+	@Override
 	public Expression createSearchObj(int line, int column, Expression e){
-		if (! (e instanceof DoubleExpression)){
-			throw new ExpressionException("Invalid Expression");
-		}
-		else return new EntityExpression ( new EntityType(((WormEntityType) this.createSelf().evaluate()).searchNearestObjectInGivenDirection(((DoubleType) e.evaluate()))));
-	}
-
-	public Expression createAdd(Expression e1, Expression e2) {
-		if(e1 instanceof DoubleExpression && e2 instanceof DoubleExpression){
-			return new AddExpression(e1, e2);
-		}
-		else throw new ExpressionException("Invalid Expression");
+		return new SearchObjExpression(e);
 	}
 
-	public Expression createIsWorm(Expression e) {
-			return new IsWormExpression(e);
+	@Override
+	public Expression createIsWorm(int line, int column, Expression e) {
+		return new IsWormExpression(e);
 	}
 	
+	@Override
 	public Expression createIsFood(int line, int column, Expression e){
 		return new isFoodExpression(e);
 	}
 	
+	@Override
+	public Expression createVariableAccess(int line, int column, String name){
+		return new VariableAccesExpression(this.getVariable(name));
+	}
+	
+	@Override
 	public Expression createLessThan(int line, int column, Expression e1, Expression e2){
 		return new LessThanExpression(e1, e2);
 	}
 	
+	@Override
 	public Expression createGreaterThan(int line, int column, Expression e1, Expression e2){
 		return new GreaterThanExpression(e1, e2);
-		}
+	}
 	
+	@Override
 	public Expression createLessThanOrEqualTo(int line, int column, Expression e1, Expression e2){
 		return new LessThanOrEqualToExpression(e1, e2);
 	}
 	
+	@Override
 	public Expression createGreaterThanOrEqualTo(int line, int column, Expression e1, Expression e2){
-		return new GreaterThanOrEqualToExpression(e1,e2);
+		return new GreaterThanOrEqualToExpression(e1, e2);
 	}
 	
+	@Override
 	public Expression createEquality(int line, int column, Expression e1, Expression e2){
-		return new EqualityExpression(e1,e2);
+		return new EqualityExpression(e1, e2);
 	}
 	
+	@Override
 	public Expression createInequality(int line, int column, Expression e1, Expression e2){
-		return new InequalityExpression(e1,e2);
-		
+		return new InequalityExpression(e1, e2);
 	}
 	
+	@Override
+	public Expression createAdd(int line, int column, Expression e1, Expression e2) {
+		return new AddExpression(e1, e2);
+	}
+
+	@Override
 	public Expression createSubtraction(int line, int column, Expression e1, Expression e2){
-		return new SubtractionExpression(e1,e2);
+		return new SubtractionExpression(e1, e2);
 	}
 	
+	@Override
 	public Expression createMul(int line, int column, Expression e1, Expression e2){
-		return new MulExpression(e1,e2);
+		return new MulExpression(e1, e2);
 	}
 	
+	@Override
 	public Expression createDivision(int line, int column, Expression e1, Expression e2){
-		return new DivisionExpression(e1,e2);
+		return new DivisionExpression(e1, e2);
 	}
 	
+	@Override
 	public Expression createSqrt(int line, int column, Expression e){
 		return new SqrtExpression(e);
-		
 	}
 	
+	@Override
 	public Expression createSin(int line, int column, Expression e){
 		return new SinExpression(e);
 	}
 	
+	@Override
 	public Expression createCos(int line, int column, Expression e){
-	return new CosExpression(e);
+		return new CosExpression(e);
 	}
-	
-	public Expression createVariableAccess(int line, int column, String name){
-		return new VariableAccesExpression(name);
+
+	@Override
+	public Statement createTurn(int line, int column, Expression angle) {
+		return new TurnStatement(angle);
+	}
+
+	@Override
+	public Statement createMove(int line, int column) {
+		return new MoveStatement();
+	}
+
+	@Override
+	public Statement createJump(int line, int column) {
+		return new JumpStatement();
+	}
+
+	@Override
+	public Statement createToggleWeap(int line, int column) {
+		return new ToggleWeaponStatement();
+	}
+
+	@Override
+	public Statement createFire(int line, int column, Expression yield) {
+		return new FireStatement(yield);
+	}
+
+	@Override
+	public Statement createSkip(int line, int column) {
+		return new SkipStatement();
+	}
+
+	@Override
+	public Statement createAssignment(int line, int column, String variableName, Expression rhs) {
+		return new AssignmentStatement(this.getVariable(variableName), rhs);
+	}
+
+	@Override
+	public Statement createIf(int line, int column, Expression condition, Statement then, Statement otherwise) {
+		return new IfStatement(condition, orEmpty(then), orEmpty(otherwise));
+	}
+
+	@Override
+	public Statement createWhile(int line, int column, Expression condition, Statement body) {
+		return new WhileStatement(condition, orEmpty(body));
+	}
+
+	@Override
+	public Statement createForeach(int line, int column, ForeachType type, String variableName, Statement body) {
+		return new ForeachStatement(type, this.getVariable(variableName), orEmpty(body));
+	}
+
+	@Override
+	public Statement createSequence(int line, int column, List<Statement> statements) {
+		return new SequenceStatement(statements);
+	}
+
+	@Override
+	public Statement createPrint(int line, int column, Expression e) {
+		return new PrintStatement(e);
 	}
 	
+	/**
+	 * Return the given statement, or an empty sequence if the parser handed an empty block as null.
+	 */
+	private static Statement orEmpty(Statement statement) {
+		if (statement == null)
+			return new SequenceStatement(Collections.<Statement>emptyList());
+		return statement;
+	}
+
+	@Override
 	public DoubleType createDoubleType(){
 		return new DoubleType();
-		
 	}
 	
+	@Override
 	public BooleanType createBooleanType(){
 		return new BooleanType();
 	}
 	
+	@Override
 	public EntityType createEntityType(){
 		return new EntityType();
 	}
@@ -1,12 +1,17 @@
 package worms.model.programs;
 
-public class NotExpression {
-    Expression operand;
-    public NotExpression(Expression e) { 
-        operand = e;
-    }
- 
-    public Type evaluate()  { 	
-        return ((BooleanType) operand.evaluate()).not();
-    }
+/**
+ * The negation of a boolean.
+ */
+public class NotExpression extends UnaryExpression {
+
+	public NotExpression(Expression operand) {
+		super(operand, Bytecode.NOT, ValueKind.BOOLEAN, ValueKind.BOOLEAN);
+	}
+
+	@Override
+	protected Type evaluate(Type operand) {
+		return new BooleanType(! ((BooleanType) operand).getValue());
+	}
+
 }
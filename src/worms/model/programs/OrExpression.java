@@ -1,14 +1,38 @@
 package worms.model.programs;
 
-public class OrExpression {
-    Expression leftOperand;
-    Expression rightOperand;
-    public OrExpression(Expression left, Expression right) { 
-        leftOperand = left; 
-        rightOperand = right;
-    }
- 
-    public Type evaluate()  { 	
-        return ((BooleanType) leftOperand.evaluate()).or((BooleanType) rightOperand.evaluate());
-    }
+/**
+ * The disjunction of two booleans. The right operand is only evaluated if the left operand is false.
+ */
+public class OrExpression extends BinaryExpression {
+
+	public OrExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.JUMP_IF_TRUE, ValueKind.BOOLEAN, ValueKind.BOOLEAN);
+	}
+
+	/**
+	 * A constant left operand that decides the outcome on its own makes this expression constant as well.
+	 */
+	@Override
+	public void check(TypeChecker checker) {
+		super.check(checker);
+		Type left = checker.getConstant(getLeftOperand());
+		if ((getLeftOperand().getKind() == ValueKind.BOOLEAN) && (left != null) && ((BooleanType) left).getValue())
+			checker.setConstant(this, left);
+	}
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return ((BooleanType) left).getValue() ? left : right;
+	}
+
+	@Override
+	public Register compile(Compiler compiler) {
+		Register result = compiler.newTemporary(ValueKind.BOOLEAN);
+		compiler.move(result, compiler.compile(getLeftOperand()));
+		int jump = compiler.emit(Bytecode.JUMP_IF_TRUE, result.getIndex(), 0, 0);
+		compiler.move(result, compiler.compile(getRightOperand()));
+		compiler.patch(jump);
+		return result;
+	}
+
 }
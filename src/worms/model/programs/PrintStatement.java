@@ -1,17 +1,39 @@
 package worms.model.programs;
 
-import worms.gui.game.IActionHandler;
-
+/**
+ * A statement printing the value of an expression through the action handler of the program.
+ */
 public class PrintStatement implements Statement{
 	
-	private IActionHandler ah;
-	private String message;
+	private final Expression message;
+
+	public PrintStatement(Expression message){
+		this.message = message;
+	}
 
-	public PrintStatement(String message){
+	public Expression getMessage() {
+		return message;
 	}
 	
 	@Override
-	public void execute() {
-		ah.print(this.message);
+	public void check(TypeChecker checker) {
+		this.message.check(checker);
 	}
+
+	@Override
+	public void compile(Compiler compiler) {
+		compiler.beginStatement();
+		Register value = compiler.compile(this.message);
+		switch (value.getKind()){
+		case DOUBLE:
+			compiler.emit(Bytecode.PRINT_DOUBLE, value.getIndex(), 0, 0);
+			break;
+		case BOOLEAN:
+			compiler.emit(Bytecode.PRINT_BOOLEAN, value.getIndex(), 0, 0);
+			break;
+		default:
+			compiler.emit(Bytecode.PRINT_ENTITY, value.getIndex(), 0, 0);
+		}
+	}
+
 }
@@ -1,23 +1,512 @@
 package worms.model.programs;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import worms.gui.game.IActionHandler;
+import worms.model.Food;
+import worms.model.GameObject;
+import worms.model.Team;
+import worms.model.World;
 import worms.model.Worm;
+import worms.model.programs.ProgramFactory.ForeachType;
 
+/**
+ * A program controlling a worm.
+ *
+ * A program is compiled to bytecode when it is created, and executed by a resumable machine: a program counter
+ * into that bytecode, and a register file for each kind of value. Each turn of its worm, the program continues
+ * from where it was suspended, one statement at a time, until
+ * <ul>
+ * <li>it has executed its statement budget for that turn,
+ * <li>an action fails, for instance because the worm does not have enough action points left, in which case the
+ * action is tried again at the start of the next turn,
+ * <li>the worm has no action points left or has died after an action,
+ * <li>or the main statement completes, after which the program does nothing anymore.
+ * </ul>
+ * A program whose expressions cannot be evaluated, for instance because it asks for the position of null,
+ * terminates and prints the reason through its action handler.
+ *
+ * The budget bounds the time a turn takes, whatever the program: a loop that never performs an action, or
+ * performs actions that keep failing, only delays the game by its budget each turn.
+ *
+ * Since a program is resumed where it was suspended, it belongs to a single worm. A fork of a world gives each of
+ * its worms a copy of the program of the worm it copies, which resumes from the same point on its own.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
 public class Program {
-	
-	Statement programTree;
-	Map<String, Type> globals;
-	
-	public Program(Statement programTree, Map<String, Type> globals){
+
+	/**
+	 * The number of statements a program executes at most in a single turn of its worm, unless configured otherwise.
+	 */
+	public static final int DEFAULT_STATEMENT_BUDGET = 1000;
+
+	/**
+	 * Initialize this new program with the given main statement and global variables, checked by the given type
+	 * checker, that performs its actions through the given action handler.
+	 * @param	programTree
+	 * 			The main statement of this program.
+	 * @param	globals
+	 * 			The global variables of this program, bound to their slots.
+	 * @param	checker
+	 * 			The type checker that checked the given main statement.
+	 * @param	handler
+	 * 			The action handler to perform the actions and print the messages of this program.
+	 * @post	This program is well-formed if and only if the given checker found it to be well-formed.
+	 * 			| new.isWellFormed() == checker.isWellFormed()
+	 * @throws	IllegalArgumentException
+	 * 			The given checker found errors in the given main statement.
+	 * 			| checker.hasErrors()
+	 */
+	public Program(Statement programTree, Variables globals, TypeChecker checker, IActionHandler handler)
+			throws IllegalArgumentException {
+		if (checker.hasErrors())
+			throw new IllegalArgumentException("Ill-typed program: " + checker.getErrors());
 		this.programTree = programTree;
-		this.globals=globals;
-		
+		this.handler = handler;
+		this.wellFormed = checker.isWellFormed();
+		this.bytecode = Compiler.compile(programTree, globals, checker);
+		this.doubles = this.bytecode.newDoubleRegisters();
+		this.booleans = this.bytecode.newBooleanRegisters();
+		this.entities = this.bytecode.newEntityRegisters();
+		this.loopEntities = new ArrayList<List<GameObject>>(this.bytecode.getNbLoops());
+		for (int i = 0; i < this.bytecode.getNbLoops(); i++)
+			this.loopEntities.add(new ArrayList<GameObject>());
+		this.loopIndices = new int[this.bytecode.getNbLoops()];
+	}
+
+	/**
+	 * Initialize this new program as a copy of the given program, for a copy of the world of its worm.
+	 * The copy continues from where the given program was suspended, with its own values of the global variables
+	 * and its own state of the foreach loops, so that executing either program leaves the other one unchanged.
+	 * Entities are replaced by their copies in the given map. Entities without a copy, such as entities that have
+	 * left the world of the given program, are kept. The copy shares the compiled form and the action handler of
+	 * the given program.
+	 * @param	original
+	 * 			The program to copy, which is not executing.
+	 * @param	objectCopies
+	 * 			The copies of the game objects in the world of the worm of the given program.
+	 * @post	new.getWorm() is the copy of original.getWorm(), or null if the given program has not been executed yet.
+	 * @post	new.isTerminated() == original.isTerminated()
+	 * @post	new.getStatementBudget() == original.getStatementBudget()
+	 */
+	public Program(Program original, Map<GameObject, GameObject> objectCopies) {
+		this.programTree = original.programTree;
+		this.handler = original.handler;
+		this.wellFormed = original.wellFormed;
+		this.bytecode = original.bytecode;
+		this.statementBudget = original.statementBudget;
+		this.worm = (Worm) copyOf(original.worm, objectCopies);
+		this.pc = original.pc;
+		this.doubles = original.doubles.clone();
+		this.booleans = original.booleans.clone();
+		this.entities = new GameObject[original.entities.length];
+		for (int i = 0; i < this.entities.length; i++)
+			this.entities[i] = copyOf(original.entities[i], objectCopies);
+		this.loopEntities = new ArrayList<List<GameObject>>(original.loopEntities.size());
+		for (List<GameObject> entities : original.loopEntities){
+			List<GameObject> copies = new ArrayList<GameObject>(entities.size());
+			for (GameObject entity : entities)
+				copies.add(copyOf(entity, objectCopies));
+			this.loopEntities.add(copies);
+		}
+		this.loopIndices = original.loopIndices.clone();
+	}
+
+	/**
+	 * Return the copy of the given entity in the given map, or the given entity itself if it has no copy.
+	 */
+	private static GameObject copyOf(GameObject entity, Map<GameObject, GameObject> objectCopies) {
+		GameObject copy = objectCopies.get(entity);
+		return (copy == null) ? entity : copy;
+	}
+
+	public Statement getProgramTree() {
+		return programTree;
+	}
+
+	private final Statement programTree;
+
+	/**
+	 * Check whether this program is well-formed: a program that performs an action inside a foreach loop is not.
+	 */
+	public boolean isWellFormed() {
+		return wellFormed;
+	}
+
+	private final boolean wellFormed;
+
+	public IActionHandler getActionHandler() {
+		return handler;
+	}
+
+	private final IActionHandler handler;
+
+	/**
+	 * Return the worm this program is executed for, or null if it has not been executed yet.
+	 */
+	public Worm getWorm() {
+		return worm;
+	}
+
+	private Worm worm;
+
+	/**
+	 * Return the number of statements this program executes at most in a single turn of its worm.
+	 */
+	public int getStatementBudget() {
+		return statementBudget;
+	}
+
+	/**
+	 * Set the number of statements this program executes at most in a single turn of its worm to the given budget.
+	 * @throws	IllegalArgumentException
+	 * 			The given budget is not positive.
+	 */
+	public void setStatementBudget(int statementBudget) throws IllegalArgumentException {
+		if (statementBudget <= 0)
+			throw new IllegalArgumentException("Statement budget must be positive");
+		this.statementBudget = statementBudget;
+	}
+
+	private int statementBudget = DEFAULT_STATEMENT_BUDGET;
+
+	/**
+	 * Check whether this program has completed its main statement, or has been stopped by an error.
+	 */
+	public boolean isTerminated() {
+		return (this.bytecode.getCode()[this.pc] & Bytecode.OPCODE) == Bytecode.HALT;
 	}
-	
+
+	/**
+	 * Continue the execution of this program for the given worm, from where it was suspended, until it is
+	 * suspended again or terminates.
+	 * An action of this program may end the turn of its worm and thereby start the turns of other worms. If that
+	 * leads back to this program while it is still executing, the nested execution does nothing.
+	 * @param	worm
+	 * 			The worm this program controls, whose turn it is.
+	 */
 	public void execute(Worm worm){
-		programTree.execute();
-		
+		if (this.executing)
+			return;
+		this.executing = true;
+		this.worm = worm;
+		try {
+			this.run();
+		}
+		catch (ExpressionException exc){
+			this.pc = this.bytecode.getCode().length - Bytecode.INSTRUCTION_SIZE;
+			this.handler.print("Program stopped: " + exc.getMessage());
+		}
+		finally {
+			this.executing = false;
+		}
+	}
+
+	private boolean executing;
+
+	/**
+	 * Run the bytecode of this program from its program counter, until it is suspended or reaches its end.
+	 * The program counter is only updated when the program is suspended or stopped.
+	 * @throws	ExpressionException
+	 * 			An instruction cannot be executed in the current state of this program.
+	 */
+	private void run() throws ExpressionException {
+		final int[] code = this.bytecode.getCode();
+		final double[] doubleConstants = this.bytecode.getDoubleConstants();
+		final double[] doubles = this.doubles;
+		final boolean[] booleans = this.booleans;
+		final GameObject[] entities = this.entities;
+		final Worm worm = this.worm;
+		int budget = this.statementBudget;
+		int pc = this.pc;
+		while (true){
+			int opcode = code[pc];
+			if ((opcode & Bytecode.STEP) != 0){
+				if (budget == 0){
+					this.pc = pc;
+					return;
+				}
+				budget--;
+				opcode &= Bytecode.OPCODE;
+			}
+			int a = code[pc + 1];
+			int b = code[pc + 2];
+			int c = code[pc + 3];
+			pc += Bytecode.INSTRUCTION_SIZE;
+			switch (opcode){
+			case Bytecode.DOUBLE_CONSTANT:
+				doubles[a] = doubleConstants[b];
+				break;
+			case Bytecode.BOOLEAN_CONSTANT:
+				booleans[a] = (b != 0);
+				break;
+			case Bytecode.ENTITY_CONSTANT:
+				entities[a] = this.bytecode.getEntityConstants()[b];
+				break;
+			case Bytecode.SELF:
+				entities[a] = worm;
+				break;
+			case Bytecode.DOUBLE_MOVE:
+				doubles[a] = doubles[b];
+				break;
+			case Bytecode.BOOLEAN_MOVE:
+				booleans[a] = booleans[b];
+				break;
+			case Bytecode.ENTITY_MOVE:
+				entities[a] = entities[b];
+				break;
+			case Bytecode.ADD:
+				doubles[a] = doubles[b] + doubles[c];
+				break;
+			case Bytecode.SUBTRACT:
+				doubles[a] = doubles[b] - doubles[c];
+				break;
+			case Bytecode.MULTIPLY:
+				doubles[a] = doubles[b] * doubles[c];
+				break;
+			case Bytecode.DIVIDE:
+				doubles[a] = doubles[b] / doubles[c];
+				break;
+			case Bytecode.SQRT:
+				doubles[a] = Math.sqrt(doubles[b]);
+				break;
+			case Bytecode.SIN:
+				doubles[a] = Math.sin(doubles[b]);
+				break;
+			case Bytecode.COS:
+				doubles[a] = Math.cos(doubles[b]);
+				break;
+			case Bytecode.LESS_THAN:
+				booleans[a] = doubles[b] < doubles[c];
+				break;
+			case Bytecode.LESS_THAN_OR_EQUAL_TO:
+				booleans[a] = doubles[b] <= doubles[c];
+				break;
+			case Bytecode.GREATER_THAN:
+				booleans[a] = doubles[b] > doubles[c];
+				break;
+			case Bytecode.GREATER_THAN_OR_EQUAL_TO:
+				booleans[a] = doubles[b] >= doubles[c];
+				break;
+			case Bytecode.DOUBLE_EQUAL:
+				booleans[a] = doubles[b] == doubles[c];
+				break;
+			case Bytecode.BOOLEAN_EQUAL:
+				booleans[a] = booleans[b] == booleans[c];
+				break;
+			case Bytecode.ENTITY_EQUAL:
+				booleans[a] = entities[b] == entities[c];
+				break;
+			case Bytecode.DOUBLE_NOT_EQUAL:
+				booleans[a] = doubles[b] != doubles[c];
+				break;
+			case Bytecode.BOOLEAN_NOT_EQUAL:
+				booleans[a] = booleans[b] != booleans[c];
+				break;
+			case Bytecode.ENTITY_NOT_EQUAL:
+				booleans[a] = entities[b] != entities[c];
+				break;
+			case Bytecode.NOT:
+				booleans[a] = ! booleans[b];
+				break;
+			case Bytecode.GET_X:
+				doubles[a] = objectOf(entities[b]).getX();
+				break;
+			case Bytecode.GET_Y:
+				doubles[a] = objectOf(entities[b]).getY();
+				break;
+			case Bytecode.GET_RADIUS:
+				doubles[a] = objectOf(entities[b]).getRadius();
+				break;
+			case Bytecode.GET_DIRECTION:
+				doubles[a] = wormOf(entities[b]).getDirection();
+				break;
+			case Bytecode.GET_ACTION_POINTS:
+				doubles[a] = wormOf(entities[b]).getNumberOfActionPoints();
+				break;
+			case Bytecode.GET_MAX_ACTION_POINTS:
+				doubles[a] = wormOf(entities[b]).getMaxNumberOfActionPoints();
+				break;
+			case Bytecode.GET_HIT_POINTS:
+				doubles[a] = wormOf(entities[b]).getNumberOfHitPoints();
+				break;
+			case Bytecode.GET_MAX_HIT_POINTS:
+				doubles[a] = wormOf(entities[b]).getMaxNumberOfHitPoints();
+				break;
+			case Bytecode.IS_WORM:
+				booleans[a] = entities[b] instanceof Worm;
+				break;
+			case Bytecode.IS_FOOD:
+				booleans[a] = entities[b] instanceof Food;
+				break;
+			case Bytecode.SAME_TEAM:
+				Team team = worm.getTeam();
+				booleans[a] = (entities[b] instanceof Worm) && (team != null) && (((Worm) entities[b]).getTeam() == team);
+				break;
+			case Bytecode.SEARCH_OBJECT:
+				entities[a] = worm.searchNearestObjectInGivenDirection(worm.getDirection() + doubles[b]);
+				break;
+			case Bytecode.NOP:
+				break;
+			case Bytecode.JUMP:
+				pc = c;
+				break;
+			case Bytecode.JUMP_IF_FALSE:
+				if (! booleans[a])
+					pc = c;
+				break;
+			case Bytecode.JUMP_IF_TRUE:
+				if (booleans[a])
+					pc = c;
+				break;
+			case Bytecode.FOREACH_START:
+				this.startLoop(a, ForeachType.values()[b]);
+				break;
+			case Bytecode.FOREACH_NEXT:
+				GameObject next = this.nextInLoop(a);
+				if (next == null)
+					pc = c;
+				else
+					entities[b] = next;
+				break;
+			case Bytecode.HALT:
+				this.pc = pc - Bytecode.INSTRUCTION_SIZE;
+				return;
+			case Bytecode.PRINT_DOUBLE:
+				this.handler.print(Double.toString(doubles[a]));
+				break;
+			case Bytecode.PRINT_BOOLEAN:
+				this.handler.print(Boolean.toString(booleans[a]));
+				break;
+			case Bytecode.PRINT_ENTITY:
+				this.handler.print(EntityType.of(entities[a]).toString());
+				break;
+			case Bytecode.TURN:
+			case Bytecode.MOVE:
+			case Bytecode.JUMP_WORM:
+			case Bytecode.TOGGLE_WEAPON:
+			case Bytecode.FIRE:
+				if (! this.perform(opcode, doubles[a])){
+					// the action is tried again from the start of its statement in the next turn
+					this.pc = c;
+					return;
+				}
+				if (! worm.isAlive() || (worm.getNumberOfActionPoints() == 0)){
+					this.pc = pc;
+					return;
+				}
+				break;
+			default:
+				throw new IllegalStateException("Unknown opcode " + opcode);
+			}
+		}
+	}
+
+	/**
+	 * Perform the action with the given opcode for the worm of this program, through its action handler.
+	 * @param	operand
+	 * 			The angle to turn over, or the propulsion yield to fire with.
+	 * @return	Whether the action has been performed.
+	 */
+	private boolean perform(int opcode, double operand) {
+		switch (opcode){
+		case Bytecode.TURN:
+			return this.handler.turn(this.worm, operand);
+		case Bytecode.MOVE:
+			return this.handler.move(this.worm);
+		case Bytecode.JUMP_WORM:
+			return this.handler.jump(this.worm);
+		case Bytecode.TOGGLE_WEAPON:
+			return this.handler.toggleWeapon(this.worm);
+		default:
+			return this.handler.fire(this.worm, (int) operand);
+		}
+	}
+
+	/**
+	 * Return the given game object.
+	 * @throws	ExpressionException
+	 * 			The given game object is null.
+	 */
+	private static GameObject objectOf(GameObject object) throws ExpressionException {
+		if (object == null)
+			throw new ExpressionException("Expected an entity, but got null");
+		return object;
+	}
+
+	/**
+	 * Return the given game object as a worm.
+	 * @throws	ExpressionException
+	 * 			The given game object is not a worm.
+	 */
+	private static Worm wormOf(GameObject object) throws ExpressionException {
+		if (! (object instanceof Worm))
+			throw new ExpressionException("Expected a worm, but got " + EntityType.of(object));
+		return (Worm) object;
 	}
 
+	/**
+	 * Start the foreach loop with the given slot, over the entities of the given type in the world of the worm of
+	 * this program. The entities are copied at the start of the loop, so that other threads may add and remove
+	 * game objects meanwhile.
+	 */
+	private void startLoop(int loop, ForeachType type) {
+		World world = this.worm.getWorld();
+		List<GameObject> entities = this.loopEntities.get(loop);
+		entities.clear();
+		if (type != ForeachType.FOOD)
+			entities.addAll(world.getAllLiveWorms());
+		if (type != ForeachType.WORM)
+			entities.addAll(world.getAllFood());
+		this.loopIndices[loop] = 0;
+	}
+
+	/**
+	 * Return the next entity of the foreach loop with the given slot that is still in the world of the worm of
+	 * this program, or null if the loop is done.
+	 */
+	private GameObject nextInLoop(int loop) {
+		World world = this.worm.getWorld();
+		List<GameObject> entities = this.loopEntities.get(loop);
+		int next = this.loopIndices[loop];
+		while ((next < entities.size()) && (entities.get(next).getWorld() != world))
+			next++;
+		if (next == entities.size()){
+			entities.clear();
+			return null;
+		}
+		this.loopIndices[loop] = next + 1;
+		return entities.get(next);
+	}
+
+	/**
+	 * Variable registering the compiled form of the main statement of this program.
+	 */
+	private final Bytecode bytecode;
+
+	/**
+	 * Variable registering the index of the next instruction this program executes.
+	 */
+	private int pc;
+
+	private final double[] doubles;
+
+	private final boolean[] booleans;
+
+	private final GameObject[] entities;
+
+	/**
+	 * Variable registering, for each foreach loop, the entities it iterates over, as they were when the loop started.
+	 */
+	private final List<List<GameObject>> loopEntities;
+
+	/**
+	 * Variable registering, for each foreach loop, the index of the next entity it visits.
+	 */
+	private final int[] loopIndices;
+
 }
@@ -0,0 +1,28 @@
+package worms.model.programs;
+
+/**
+ * A register of a compiled program: a slot in the register file of its kind.
+ * 
+ * The first registers of each kind hold the global variables of the program. The remaining registers hold
+ * intermediate values, and are reused from one statement to the next.
+ */
+public final class Register {
+
+	Register(ValueKind kind, int index) {
+		this.kind = kind;
+		this.index = index;
+	}
+
+	public ValueKind getKind() {
+		return kind;
+	}
+
+	private final ValueKind kind;
+
+	public int getIndex() {
+		return index;
+	}
+
+	private final int index;
+
+}
@@ -0,0 +1,13 @@
+package worms.model.programs;
+
+/**
+ * Whether an entity is a worm of the team of the worm controlled by the program.
+ * Worms without a team share a team with no other worm.
+ */
+public class SameTeamExpression extends UnaryExpression {
+
+	public SameTeamExpression(Expression operand) {
+		super(operand, Bytecode.SAME_TEAM, ValueKind.ENTITY, ValueKind.BOOLEAN);
+	}
+
+}
@@ -0,0 +1,13 @@
+package worms.model.programs;
+
+/**
+ * The nearest game object in a direction relative to the direction of the worm controlled by the program,
+ * or null if there is no game object in that direction.
+ */
+public class SearchObjExpression extends UnaryExpression {
+
+	public SearchObjExpression(Expression operand) {
+		super(operand, Bytecode.SEARCH_OBJECT, ValueKind.DOUBLE, ValueKind.ENTITY);
+	}
+
+}
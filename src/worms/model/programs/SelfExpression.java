@@ -1,19 +1,22 @@
 package worms.model.programs;
 
+/**
+ * The worm controlled by the program.
+ */
 public class SelfExpression implements Expression {
 
-	WormEntityType self;
-	
-	Program program;
-	
-	public SelfExpression(){
-		self = new WormEntityType(program.getWorm());
-		
+	@Override
+	public ValueKind getKind() {
+		return ValueKind.ENTITY;
 	}
-	
+
+	@Override
+	public void check(TypeChecker checker) {
+	}
+
 	@Override
-	public Type evaluate() {
-		return self;
+	public Register compile(Compiler compiler) {
+		return compiler.emitValue(Bytecode.SELF, compiler.newTemporary(ValueKind.ENTITY), 0, 0);
 	}
 
 }
@@ -1,18 +1,34 @@
 package worms.model.programs;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * A statement executing a list of statements one after the other.
+ */
 public class SequenceStatement implements Statement{
-	private List<Statement> statements;	
+
+	private final List<Statement> statements;
 	
 	public SequenceStatement(List<Statement> statements){
-		this.statements = statements;
+		this.statements = Collections.unmodifiableList(new ArrayList<Statement>(statements));
+	}
+
+	public List<Statement> getStatements() {
+		return statements;
 	}
 	
 	@Override
-	public void execute(){
-		for (Statement statement : statements){
-			statement.execute();
-		}
+	public void check(TypeChecker checker) {
+		for (Statement statement : this.statements)
+			statement.check(checker);
 	}
+
+	@Override
+	public void compile(Compiler compiler) {
+		for (Statement statement : this.statements)
+			statement.compile(compiler);
+	}
+
 }
@@ -1,14 +1,17 @@
 package worms.model.programs;
 
-public class SinExpression implements Expression {
-	
-    Expression toSin;
-    
-    public SinExpression(Expression sin) { 
-        toSin = sin;
-    }
- 
-    public Type evaluate()  { 	
-        return ((DoubleType) toSin).toSin();
-    }
-}
\ No newline at end of file
+/**
+ * The sine of a double.
+ */
+public class SinExpression extends UnaryExpression {
+
+	public SinExpression(Expression operand) {
+		super(operand, Bytecode.SIN, ValueKind.DOUBLE, ValueKind.DOUBLE);
+	}
+
+	@Override
+	protected Type evaluate(Type operand) {
+		return new DoubleType(Math.sin(((DoubleType) operand).getValue()));
+	}
+
+}
@@ -1,7 +1,18 @@
 package worms.model.programs;
 
+/**
+ * A statement that does nothing.
+ */
 public class SkipStatement implements Statement{
+
 	@Override
-	public void execute(){
+	public void check(TypeChecker checker) {
 	}
+
+	@Override
+	public void compile(Compiler compiler) {
+		compiler.beginStatement();
+		compiler.emit(Bytecode.NOP, 0, 0, 0);
+	}
+
 }
@@ -1,14 +1,17 @@
 package worms.model.programs;
 
-public class SqrtExpression implements Expression{
-	
-    Expression toSqrt;
-    
-    public SqrtExpression(Expression Sqrt) { 
-    	toSqrt = Sqrt;
-    }
- 
-    public Type evaluate()  { 	
-        return ((DoubleType) toSqrt).sqrt();
-    }
+/**
+ * The square root of a double.
+ */
+public class SqrtExpression extends UnaryExpression {
+
+	public SqrtExpression(Expression operand) {
+		super(operand, Bytecode.SQRT, ValueKind.DOUBLE, ValueKind.DOUBLE);
+	}
+
+	@Override
+	protected Type evaluate(Type operand) {
+		return new DoubleType(Math.sqrt(((DoubleType) operand).getValue()));
+	}
+
 }
@@ -1,7 +1,28 @@
 package worms.model.programs;
 
-import java.util.Map;
-
+/**
+ * A statement of a program.
+ * 
+ * Statements are checked and compiled to bytecode before they are executed. Each statement starts a new step of
+ * the program, and the statement budget of a program bounds the number of steps it takes in a single turn, so a
+ * program is only ever suspended between two statements.
+ */
 public interface Statement {
-	public void execute(Map<String,Type> map);
+
+	/**
+	 * Check whether the expressions of this statement, and of the statements nested in it, have the right kind,
+	 * and whether this statement is allowed where it occurs. Report the errors to the given checker.
+	 * @param	checker
+	 * 			The checker of the program this statement belongs to.
+	 */
+	public void check(TypeChecker checker);
+
+	/**
+	 * Compile this statement into instructions that execute it.
+	 * Statements are only compiled once they have been checked.
+	 * @param	compiler
+	 * 			The compiler to emit the instructions to.
+	 */
+	public void compile(Compiler compiler);
+
 }
@@ -1,14 +1,17 @@
 package worms.model.programs;
 
-public class SubtractionExpression implements Expression{
-    Expression leftOperand;
-    Expression rightOperand;
-    public SubtractionExpression(Expression left, Expression right) { 
-        leftOperand = left; 
-        rightOperand = right;
-    }
- 
-    public Type evaluate()  { 	
-        return ((DoubleType) leftOperand).Subtract((DoubleType) rightOperand);
-    }
+/**
+ * The difference of two doubles.
+ */
+public class SubtractionExpression extends BinaryExpression {
+
+	public SubtractionExpression(Expression left, Expression right) {
+		super(left, right, Bytecode.SUBTRACT, ValueKind.DOUBLE, ValueKind.DOUBLE);
+	}
+
+	@Override
+	protected Type evaluate(Type left, Type right) {
+		return new DoubleType(((DoubleType) left).getValue() - ((DoubleType) right).getValue());
+	}
+
 }
@@ -1,18 +1,13 @@
 package worms.model.programs;
 
-import worms.gui.game.IActionHandler;
+/**
+ * A statement selecting the next weapon of the worm of the program.
+ */
+public class ToggleWeaponStatement extends ActionStatement {
 
-public class ToggleWeaponStatement implements Statement{
-	
-	private IActionHandler ah;
-	private Program p;
-
-	public ToggleWeaponStatement(){
-	}
-	
 	@Override
-	public void execute() {
-		ah.toggleWeapon(p.getWorm());
+	protected void compileAction(Compiler compiler, int restart) {
+		compiler.emit(Bytecode.TOGGLE_WEAPON, 0, 0, restart);
 	}
-	
+
 }
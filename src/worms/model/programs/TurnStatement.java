@@ -1,20 +1,30 @@
 package worms.model.programs;
 
-import worms.gui.game.IActionHandler;
+/**
+ * A statement turning the worm of the program over an angle.
+ */
+public class TurnStatement extends ActionStatement {
 
-public class TurnStatement implements Statement{
-
-	private IActionHandler ah;
-	private Program p;
-	private Expression angle;
+	private final Expression angle;
 
 	public TurnStatement(Expression angle){
 		this.angle = angle;
 	}
-	
+
+	public Expression getAngle() {
+		return angle;
+	}
+
+	@Override
+	public void check(TypeChecker checker) {
+		super.check(checker);
+		checker.check(this.angle, ValueKind.DOUBLE);
+	}
+
 	@Override
-	public void execute() {
-		ah.turn(p.getWorm(), ((DoubleType) angle.evaluate()).getValue());
+	protected void compileAction(Compiler compiler, int restart) {
+		Register angle = compiler.compile(this.angle);
+		compiler.emit(Bytecode.TURN, angle.getIndex(), 0, restart);
 	}
 
 }
@@ -1,5 +1,8 @@
 package worms.model.programs;
 
+/**
+ * The values a program computes with: doubles, booleans and entities.
+ */
 public interface Type {
 
 }
@@ -0,0 +1,142 @@
+package worms.model.programs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A checker of the kinds of the expressions of a program, run once on the statements of a program after it has
+ * been parsed and before it is compiled.
+ *
+ * A program is rejected if it has errors: an operand of the wrong kind, an assignment of a value of the wrong kind,
+ * or a variable that was not declared. A program without errors may still not be well-formed: a program that
+ * performs an action inside a foreach loop can be executed, but is not well-formed.
+ *
+ * While checking, the checker also folds the expressions that only depend on literals into constants, so that the
+ * compiler loads their value instead of computing it each time they are evaluated.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+public final class TypeChecker {
+
+	/**
+	 * Initialize this new checker with the given main statement of a program, and check it.
+	 * @param	programTree
+	 * 			The main statement of the program, or null if the program has no statements.
+	 */
+	public TypeChecker(Statement programTree) {
+		if (programTree != null)
+			programTree.check(this);
+	}
+
+	/**
+	 * Return the errors found in the program of this checker, in the order in which its statements occur.
+	 */
+	public List<String> getErrors() {
+		return Collections.unmodifiableList(this.errors);
+	}
+
+	/**
+	 * Check whether the program of this checker has errors.
+	 */
+	public boolean hasErrors() {
+		return ! this.errors.isEmpty();
+	}
+
+	/**
+	 * Report the given error in the program of this checker.
+	 */
+	void reportError(String error) {
+		this.errors.add(error);
+	}
+
+	private final List<String> errors = new ArrayList<String>();
+
+	/**
+	 * Check whether the program of this checker is well-formed.
+	 * @return	False if the program has errors, or if it performs an action inside a foreach loop.
+	 */
+	public boolean isWellFormed() {
+		return (! this.hasErrors()) && (! this.hasActionInForeach);
+	}
+
+	/**
+	 * Check the given expression, which must evaluate to a value of the given kind.
+	 * @return	Whether the given expression evaluates to a value of the given kind. An expression that reads a
+	 * 			variable that was not declared does not, but its only error is the undeclared variable.
+	 */
+	boolean check(Expression expression, ValueKind kind) {
+		expression.check(this);
+		ValueKind actual = expression.getKind();
+		if ((actual != null) && (actual != kind))
+			this.reportError("Expected " + kind.getDescription() + ", but got " + actual.getDescription());
+		return actual == kind;
+	}
+
+	/**
+	 * Check the given expressions, which must evaluate to values of the same kind.
+	 * @return	Whether the given expressions evaluate to values of the same kind.
+	 */
+	boolean checkSameKind(Expression left, Expression right) {
+		left.check(this);
+		right.check(this);
+		ValueKind leftKind = left.getKind();
+		ValueKind rightKind = right.getKind();
+		if ((leftKind == null) || (rightKind == null))
+			return false;
+		if (leftKind != rightKind)
+			this.reportError("Cannot compare " + leftKind.getDescription() + " with " + rightKind.getDescription());
+		return leftKind == rightKind;
+	}
+
+	/**
+	 * Return the constant value of the given checked expression, or null if its value is not known before the
+	 * program runs.
+	 */
+	Type getConstant(Expression expression) {
+		return this.constants.get(expression);
+	}
+
+	/**
+	 * Register the given value as the constant value of the given expression. A null value is ignored.
+	 */
+	void setConstant(Expression expression, Type value) {
+		if (value != null)
+			this.constants.put(expression, value);
+	}
+
+	/**
+	 * Expressions are compared by identity: two equal literals are distinct expressions.
+	 */
+	private final Map<Expression, Type> constants = new IdentityHashMap<Expression, Type>();
+
+	/**
+	 * Register that the statements checked from now on are nested in one more foreach loop.
+	 */
+	void enterForeach() {
+		this.foreachDepth++;
+	}
+
+	/**
+	 * Register that the statements checked from now on are nested in one foreach loop less.
+	 */
+	void exitForeach() {
+		this.foreachDepth--;
+	}
+
+	private int foreachDepth;
+
+	/**
+	 * Register that the program of this checker performs an action at the statement being checked.
+	 */
+	void reportAction() {
+		if (this.foreachDepth > 0)
+			this.hasActionInForeach = true;
+	}
+
+	private boolean hasActionInForeach;
+
+}
@@ -0,0 +1,64 @@
+package worms.model.programs;
+
+/**
+ * An expression with a single operand, computed by a single instruction.
+ */
+public abstract class UnaryExpression implements Expression {
+
+	private final Expression operand;
+
+	private final int opcode;
+
+	private final ValueKind operandKind;
+
+	private final ValueKind kind;
+
+	/**
+	 * Initialize this new expression with the given operand, computed by an instruction with the given opcode from
+	 * an operand of the given operand kind into a value of the given kind.
+	 */
+	protected UnaryExpression(Expression operand, int opcode, ValueKind operandKind, ValueKind kind) {
+		this.operand = operand;
+		this.opcode = opcode;
+		this.operandKind = operandKind;
+		this.kind = kind;
+	}
+
+	public Expression getOperand() {
+		return operand;
+	}
+
+	/**
+	 * Return the kind of the operand of this expression.
+	 */
+	public ValueKind getOperandKind() {
+		return operandKind;
+	}
+
+	@Override
+	public ValueKind getKind() {
+		return kind;
+	}
+
+	@Override
+	public void check(TypeChecker checker) {
+		Type operand = checker.getConstant(this.operand);
+		if (checker.check(this.operand, this.operandKind) && (operand != null))
+			checker.setConstant(this, this.evaluate(operand));
+	}
+
+	/**
+	 * Return the value of this expression for the given constant operand, or null if it depends on the state of
+	 * the program. Expressions that inspect entities depend on the state of the world.
+	 */
+	protected Type evaluate(Type operand) {
+		return null;
+	}
+
+	@Override
+	public Register compile(Compiler compiler) {
+		Register value = compiler.compile(this.operand);
+		return compiler.emitValue(this.opcode, compiler.newTemporary(this.kind), value.getIndex(), 0);
+	}
+
+}
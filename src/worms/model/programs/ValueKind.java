@@ -0,0 +1,41 @@
+package worms.model.programs;
+
+/**
+ * An enumeration of the kinds of values a program computes with: doubles, booleans and entities.
+ * 
+ * The kind of every expression is known when a program is compiled, from its operator or from the declaration of
+ * the variable it reads, so each kind of value is kept in a register file of its own.
+ */
+public enum ValueKind {
+
+	DOUBLE("a double"),
+
+	BOOLEAN("a boolean"),
+
+	ENTITY("an entity");
+
+	private ValueKind(String description) {
+		this.description = description;
+	}
+
+	/**
+	 * Return the kind of the given value.
+	 */
+	public static ValueKind of(Type value) {
+		if (value instanceof DoubleType)
+			return DOUBLE;
+		if (value instanceof BooleanType)
+			return BOOLEAN;
+		return ENTITY;
+	}
+
+	/**
+	 * Return a description of a value of this kind, to be used in messages.
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	private final String description;
+
+}
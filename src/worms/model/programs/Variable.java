@@ -0,0 +1,64 @@
+package worms.model.programs;
+
+/**
+ * A global variable of a program, as referred to by its expressions and statements.
+ *
+ * The factory creates one variable for each name a program refers to, while the program is being parsed. Once the
+ * declarations of the program are known, every declared variable is bound to a slot in the register file of its
+ * kind, so that reading or writing it never involves its name. A variable that is never bound was not declared.
+ */
+public final class Variable {
+
+	Variable(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	private final String name;
+
+	/**
+	 * Check whether this variable has been declared, and is therefore bound to a slot.
+	 */
+	public boolean isDeclared() {
+		return kind != null;
+	}
+
+	/**
+	 * Return the kind of the values of this variable, or null if it has not been declared.
+	 */
+	public ValueKind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Return the slot of this variable in the register file of its kind, or -1 if it has not been declared.
+	 */
+	public int getSlot() {
+		return slot;
+	}
+
+	/**
+	 * Bind this variable to the given slot in the register file of the given kind.
+	 * @throws	IllegalStateException
+	 * 			This variable has already been bound.
+	 */
+	void bind(ValueKind kind, int slot) throws IllegalStateException {
+		if (this.isDeclared())
+			throw new IllegalStateException("Variable " + name + " is already bound");
+		this.kind = kind;
+		this.slot = slot;
+	}
+
+	private ValueKind kind;
+
+	private int slot = -1;
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
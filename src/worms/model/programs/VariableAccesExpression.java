@@ -1,18 +1,37 @@
 package worms.model.programs;
 
+/**
+ * The current value of a global variable.
+ */
 public class VariableAccesExpression implements Expression {
 	
-	private String name;
+	private final Variable variable;
 	
-	public VariableAccesExpression(String name){
-		this.name = name;
+	public VariableAccesExpression(Variable variable){
+		this.variable = variable;
+	}
+
+	public Variable getVariable() {
+		return variable;
 	}
 
 	@Override
-	public Type evaluate() {
-		return name;
+	public ValueKind getKind() {
+		return this.variable.getKind();
+	}
+
+	@Override
+	public void check(TypeChecker checker) {
+		if (! this.variable.isDeclared())
+			checker.reportError("Undeclared variable " + this.variable);
+	}
+
+	/**
+	 * A variable is read directly from its register, without copying it.
+	 */
+	@Override
+	public Register compile(Compiler compiler) {
+		return compiler.getRegister(this.variable);
 	}
-	
-	
 
 }
@@ -0,0 +1,79 @@
+package worms.model.programs;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import worms.model.GameObject;
+
+/**
+ * The global variables of a program, each bound to a slot in the register file of its kind.
+ *
+ * Slots are handed out per kind, in the order in which the program first refers to its variables, so the double
+ * variables of a program occupy the first double registers, its boolean variables the first boolean registers,
+ * and its entity variables the first entity registers.
+ */
+public final class Variables {
+
+	/**
+	 * Bind the given variables that are declared in the given global variables to a slot.
+	 * @param	variables
+	 * 			The variables a program refers to, in the order in which it first refers to them.
+	 * @param	globals
+	 * 			The declared global variables of the program, mapped to their initial values.
+	 */
+	Variables(Collection<Variable> variables, Map<String, Type> globals) {
+		for (Variable variable : variables){
+			Type initialValue = globals.get(variable.getName());
+			if (initialValue != null){
+				ValueKind kind = ValueKind.of(initialValue);
+				variable.bind(kind, this.nbSlots[kind.ordinal()]++);
+				this.variables.add(variable);
+				this.initialValues.add(initialValue);
+			}
+		}
+	}
+
+	/**
+	 * Return the declared variables, in the order of their slots within each kind.
+	 */
+	public List<Variable> getVariables() {
+		return Collections.unmodifiableList(variables);
+	}
+
+	private final List<Variable> variables = new ArrayList<Variable>();
+
+	private final List<Type> initialValues = new ArrayList<Type>();
+
+	/**
+	 * Return the number of slots taken by the variables of the given kind.
+	 */
+	public int getNbSlots(ValueKind kind) {
+		return nbSlots[kind.ordinal()];
+	}
+
+	private final int[] nbSlots = new int[ValueKind.values().length];
+
+	/**
+	 * Store the initial values of these variables in their slots of the given register files.
+	 */
+	void initialize(double[] doubles, boolean[] booleans, GameObject[] entities) {
+		for (int i = 0; i < this.variables.size(); i++){
+			Variable variable = this.variables.get(i);
+			Type initialValue = this.initialValues.get(i);
+			switch (variable.getKind()){
+			case DOUBLE:
+				doubles[variable.getSlot()] = ((DoubleType) initialValue).getValue();
+				break;
+			case BOOLEAN:
+				booleans[variable.getSlot()] = ((BooleanType) initialValue).getValue();
+				break;
+			default:
+				entities[variable.getSlot()] = ((EntityType) initialValue).getValue();
+			}
+		}
+	}
+
+}
@@ -1,20 +1,46 @@
 package worms.model.programs;
 
+/**
+ * A statement executing its body as long as a condition holds.
+ */
 public class WhileStatement implements Statement{
+
+	private final Expression condition;
 	
-	private Statement body;
-	private Expression condition;
+	private final Statement body;
 	
 	public WhileStatement(Expression condition, Statement body){
-		this.body = body;
 		this.condition = condition;
+		this.body = body;
+	}
+
+	public Expression getCondition() {
+		return condition;
+	}
+
+	public Statement getBody() {
+		return body;
 	}
 	
 	@Override
-	public void execute(){
-		while (((BooleanType) condition.evaluate()).getValue()){
-			body.execute();
-		}
+	public void check(TypeChecker checker) {
+		checker.check(this.condition, ValueKind.BOOLEAN);
+		this.body.check(checker);
+	}
+
+	/**
+	 * The condition of this loop starts a new step each time it is evaluated, so that a loop that never performs
+	 * an action still uses up the statement budget of its program.
+	 */
+	@Override
+	public void compile(Compiler compiler) {
+		compiler.beginStatement();
+		int start = compiler.here();
+		Register condition = compiler.compile(this.condition);
+		int exit = compiler.emit(Bytecode.JUMP_IF_FALSE, condition.getIndex(), 0, 0);
+		this.body.compile(compiler);
+		compiler.emit(Bytecode.JUMP, 0, 0, start);
+		compiler.patch(exit);
 	}
 	
 }
@@ -1,15 +1,18 @@
 package worms.model.programs;
 
-import worms.model.GameObject;
 import worms.model.Team;
 import worms.model.Worm;
 
+/**
+ * An entity value of a program holding a worm.
+ */
 public class WormEntityType extends EntityType{
 	
 	public WormEntityType(Worm w){
 		super(w);
 	}
 	
+	@Override
 	public Worm getValue() {
 		return (Worm) o;
 	}
@@ -17,10 +20,10 @@ public class WormEntityType extends EntityType{
 	public Team getTeam() {
 		return this.getValue().getTeam();
 	}
-	
-	public GameObject searchNearestObjectInGivenDirection(DoubleType theta){
-		return this.getValue().searchNearestObjectInGivenDirection(theta.getValue());
+
+	@Override
+	public String toString() {
+		return this.getValue().getName();
 	}
 
-	
 }
@@ -1,20 +1,19 @@
 package worms.model.programs;
 
-public class isFoodExpression implements Expression {
-	
-	BooleanType isFood;
-	
-	public isFoodExpression(Expression e){
-		if (e.evaluate() instanceof FoodEntityType){
-			isFood = new BooleanType(true);
-		}
-		else isFood = new BooleanType(false);
-		
+import worms.model.Food;
+
+/**
+ * Whether an entity is a piece of food.
+ */
+public class isFoodExpression extends UnaryExpression {
+
+	public isFoodExpression(Expression operand) {
+		super(operand, Bytecode.IS_FOOD, ValueKind.ENTITY, ValueKind.BOOLEAN);
 	}
 
 	@Override
-	public Type evaluate() {
-		return isFood;
+	protected Type evaluate(Type operand) {
+		return new BooleanType(((EntityType) operand).getValue() instanceof Food);
 	}
 
 }
@@ -17,12 +17,15 @@ grammar WormsParser;
 // ------------------------------------------------------------------------
 // --- Eval and Related Definitions ---------------------------------------
 // ------------------------------------------------------------------------
-eval:	     (decl SEMICOLON
+// A list of statements is a loop rather than a right-recursive rule, so
+// that neither parsing nor walking it nests deeper for longer lists.
+eval:         (stmt)*;
+stmt:         decl SEMICOLON
             | action SEMICOLON
             | assign SEMICOLON
             | PRINT expr SEMICOLON
             | ctrl
-            | SEMICOLON) (eval)?
+            | SEMICOLON
 ;
 decl:         type IDENTIFIER (ASSIGN expr)?;
 action:       TURN expr
@@ -51,11 +54,11 @@ unop:         GETX expr
             | NOT expr
 ;
 ctrl:       ifthenelse | whiledo | foreach;
-ifthenelse: IF expr (THEN)? LEFT_BRACE (eval)? RIGHT_BRACE
-            (ELSE LEFT_BRACE (eval)? RIGHT_BRACE)?;
-whiledo:    WHILE expr (DO)? LEFT_BRACE (eval)? RIGHT_BRACE;
+ifthenelse: IF expr (THEN)? LEFT_BRACE eval RIGHT_BRACE
+            (ELSE LEFT_BRACE eval RIGHT_BRACE)?;
+whiledo:    WHILE expr (DO)? LEFT_BRACE eval RIGHT_BRACE;
 foreach:    FOREACH LEFT_PAREN entityspec COMMA IDENTIFIER RIGHT_PAREN
-            (DO)? LEFT_BRACE (eval)? RIGHT_BRACE;
+            (DO)? LEFT_BRACE eval RIGHT_BRACE;
 assign:     IDENTIFIER ASSIGN expr;
 expr:         NUMBER
             | IDENTIFIER
@@ -17,13 +17,26 @@ public class WormsParserBaseListener implements WormsParserListener {
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterForeach(@NotNull WormsParserParser.ForeachContext ctx) { }
+	@Override public void enterDecl(@NotNull WormsParserParser.DeclContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitForeach(@NotNull WormsParserParser.ForeachContext ctx) { }
+	@Override public void exitDecl(@NotNull WormsParserParser.DeclContext ctx) { }
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void enterCtrl(@NotNull WormsParserParser.CtrlContext ctx) { }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void exitCtrl(@NotNull WormsParserParser.CtrlContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
@@ -43,39 +56,39 @@ public class WormsParserBaseListener implements WormsParserListener {
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterAssign(@NotNull WormsParserParser.AssignContext ctx) { }
+	@Override public void enterUnop(@NotNull WormsParserParser.UnopContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitAssign(@NotNull WormsParserParser.AssignContext ctx) { }
+	@Override public void exitUnop(@NotNull WormsParserParser.UnopContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterIfthenelse(@NotNull WormsParserParser.IfthenelseContext ctx) { }
+	@Override public void enterType(@NotNull WormsParserParser.TypeContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitIfthenelse(@NotNull WormsParserParser.IfthenelseContext ctx) { }
+	@Override public void exitType(@NotNull WormsParserParser.TypeContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterUnop(@NotNull WormsParserParser.UnopContext ctx) { }
+	@Override public void enterForeach(@NotNull WormsParserParser.ForeachContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitUnop(@NotNull WormsParserParser.UnopContext ctx) { }
+	@Override public void exitForeach(@NotNull WormsParserParser.ForeachContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
@@ -95,78 +108,78 @@ public class WormsParserBaseListener implements WormsParserListener {
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterAction(@NotNull WormsParserParser.ActionContext ctx) { }
+	@Override public void enterNamedconst(@NotNull WormsParserParser.NamedconstContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitAction(@NotNull WormsParserParser.ActionContext ctx) { }
+	@Override public void exitNamedconst(@NotNull WormsParserParser.NamedconstContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterNamedconst(@NotNull WormsParserParser.NamedconstContext ctx) { }
+	@Override public void enterEntityspec(@NotNull WormsParserParser.EntityspecContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitNamedconst(@NotNull WormsParserParser.NamedconstContext ctx) { }
+	@Override public void exitEntityspec(@NotNull WormsParserParser.EntityspecContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterExpr(@NotNull WormsParserParser.ExprContext ctx) { }
+	@Override public void enterIfthenelse(@NotNull WormsParserParser.IfthenelseContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitExpr(@NotNull WormsParserParser.ExprContext ctx) { }
+	@Override public void exitIfthenelse(@NotNull WormsParserParser.IfthenelseContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterType(@NotNull WormsParserParser.TypeContext ctx) { }
+	@Override public void enterAction(@NotNull WormsParserParser.ActionContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitType(@NotNull WormsParserParser.TypeContext ctx) { }
+	@Override public void exitAction(@NotNull WormsParserParser.ActionContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterCtrl(@NotNull WormsParserParser.CtrlContext ctx) { }
+	@Override public void enterExpr(@NotNull WormsParserParser.ExprContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitCtrl(@NotNull WormsParserParser.CtrlContext ctx) { }
+	@Override public void exitExpr(@NotNull WormsParserParser.ExprContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterEntityspec(@NotNull WormsParserParser.EntityspecContext ctx) { }
+	@Override public void enterStmt(@NotNull WormsParserParser.StmtContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitEntityspec(@NotNull WormsParserParser.EntityspecContext ctx) { }
+	@Override public void exitStmt(@NotNull WormsParserParser.StmtContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
@@ -186,13 +199,13 @@ public class WormsParserBaseListener implements WormsParserListener {
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void enterDecl(@NotNull WormsParserParser.DeclContext ctx) { }
+	@Override public void enterAssign(@NotNull WormsParserParser.AssignContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
 	 * <p>The default implementation does nothing.</p>
 	 */
-	@Override public void exitDecl(@NotNull WormsParserParser.DeclContext ctx) { }
+	@Override public void exitAssign(@NotNull WormsParserParser.AssignContext ctx) { }
 
 	/**
 	 * {@inheritDoc}
@@ -9,15 +9,26 @@ import org.antlr.v4.runtime.tree.ParseTreeListener;
  */
 public interface WormsParserListener extends ParseTreeListener {
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#foreach}.
+	 * Enter a parse tree produced by {@link WormsParserParser#decl}.
 	 * @param ctx the parse tree
 	 */
-	void enterForeach(@NotNull WormsParserParser.ForeachContext ctx);
+	void enterDecl(@NotNull WormsParserParser.DeclContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#foreach}.
+	 * Exit a parse tree produced by {@link WormsParserParser#decl}.
 	 * @param ctx the parse tree
 	 */
-	void exitForeach(@NotNull WormsParserParser.ForeachContext ctx);
+	void exitDecl(@NotNull WormsParserParser.DeclContext ctx);
+
+	/**
+	 * Enter a parse tree produced by {@link WormsParserParser#ctrl}.
+	 * @param ctx the parse tree
+	 */
+	void enterCtrl(@NotNull WormsParserParser.CtrlContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link WormsParserParser#ctrl}.
+	 * @param ctx the parse tree
+	 */
+	void exitCtrl(@NotNull WormsParserParser.CtrlContext ctx);
 
 	/**
 	 * Enter a parse tree produced by {@link WormsParserParser#whiledo}.
@@ -31,37 +42,37 @@ public interface WormsParserListener extends ParseTreeListener {
 	void exitWhiledo(@NotNull WormsParserParser.WhiledoContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#assign}.
+	 * Enter a parse tree produced by {@link WormsParserParser#unop}.
 	 * @param ctx the parse tree
 	 */
-	void enterAssign(@NotNull WormsParserParser.AssignContext ctx);
+	void enterUnop(@NotNull WormsParserParser.UnopContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#assign}.
+	 * Exit a parse tree produced by {@link WormsParserParser#unop}.
 	 * @param ctx the parse tree
 	 */
-	void exitAssign(@NotNull WormsParserParser.AssignContext ctx);
+	void exitUnop(@NotNull WormsParserParser.UnopContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#ifthenelse}.
+	 * Enter a parse tree produced by {@link WormsParserParser#type}.
 	 * @param ctx the parse tree
 	 */
-	void enterIfthenelse(@NotNull WormsParserParser.IfthenelseContext ctx);
+	void enterType(@NotNull WormsParserParser.TypeContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#ifthenelse}.
+	 * Exit a parse tree produced by {@link WormsParserParser#type}.
 	 * @param ctx the parse tree
 	 */
-	void exitIfthenelse(@NotNull WormsParserParser.IfthenelseContext ctx);
+	void exitType(@NotNull WormsParserParser.TypeContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#unop}.
+	 * Enter a parse tree produced by {@link WormsParserParser#foreach}.
 	 * @param ctx the parse tree
 	 */
-	void enterUnop(@NotNull WormsParserParser.UnopContext ctx);
+	void enterForeach(@NotNull WormsParserParser.ForeachContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#unop}.
+	 * Exit a parse tree produced by {@link WormsParserParser#foreach}.
 	 * @param ctx the parse tree
 	 */
-	void exitUnop(@NotNull WormsParserParser.UnopContext ctx);
+	void exitForeach(@NotNull WormsParserParser.ForeachContext ctx);
 
 	/**
 	 * Enter a parse tree produced by {@link WormsParserParser#eval}.
@@ -75,70 +86,70 @@ public interface WormsParserListener extends ParseTreeListener {
 	void exitEval(@NotNull WormsParserParser.EvalContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#action}.
+	 * Enter a parse tree produced by {@link WormsParserParser#namedconst}.
 	 * @param ctx the parse tree
 	 */
-	void enterAction(@NotNull WormsParserParser.ActionContext ctx);
+	void enterNamedconst(@NotNull WormsParserParser.NamedconstContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#action}.
+	 * Exit a parse tree produced by {@link WormsParserParser#namedconst}.
 	 * @param ctx the parse tree
 	 */
-	void exitAction(@NotNull WormsParserParser.ActionContext ctx);
+	void exitNamedconst(@NotNull WormsParserParser.NamedconstContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#namedconst}.
+	 * Enter a parse tree produced by {@link WormsParserParser#entityspec}.
 	 * @param ctx the parse tree
 	 */
-	void enterNamedconst(@NotNull WormsParserParser.NamedconstContext ctx);
+	void enterEntityspec(@NotNull WormsParserParser.EntityspecContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#namedconst}.
+	 * Exit a parse tree produced by {@link WormsParserParser#entityspec}.
 	 * @param ctx the parse tree
 	 */
-	void exitNamedconst(@NotNull WormsParserParser.NamedconstContext ctx);
+	void exitEntityspec(@NotNull WormsParserParser.EntityspecContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#expr}.
+	 * Enter a parse tree produced by {@link WormsParserParser#ifthenelse}.
 	 * @param ctx the parse tree
 	 */
-	void enterExpr(@NotNull WormsParserParser.ExprContext ctx);
+	void enterIfthenelse(@NotNull WormsParserParser.IfthenelseContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#expr}.
+	 * Exit a parse tree produced by {@link WormsParserParser#ifthenelse}.
 	 * @param ctx the parse tree
 	 */
-	void exitExpr(@NotNull WormsParserParser.ExprContext ctx);
+	void exitIfthenelse(@NotNull WormsParserParser.IfthenelseContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#type}.
+	 * Enter a parse tree produced by {@link WormsParserParser#action}.
 	 * @param ctx the parse tree
 	 */
-	void enterType(@NotNull WormsParserParser.TypeContext ctx);
+	void enterAction(@NotNull WormsParserParser.ActionContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#type}.
+	 * Exit a parse tree produced by {@link WormsParserParser#action}.
 	 * @param ctx the parse tree
 	 */
-	void exitType(@NotNull WormsParserParser.TypeContext ctx);
+	void exitAction(@NotNull WormsParserParser.ActionContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#ctrl}.
+	 * Enter a parse tree produced by {@link WormsParserParser#expr}.
 	 * @param ctx the parse tree
 	 */
-	void enterCtrl(@NotNull WormsParserParser.CtrlContext ctx);
+	void enterExpr(@NotNull WormsParserParser.ExprContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#ctrl}.
+	 * Exit a parse tree produced by {@link WormsParserParser#expr}.
 	 * @param ctx the parse tree
 	 */
-	void exitCtrl(@NotNull WormsParserParser.CtrlContext ctx);
+	void exitExpr(@NotNull WormsParserParser.ExprContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#entityspec}.
+	 * Enter a parse tree produced by {@link WormsParserParser#stmt}.
 	 * @param ctx the parse tree
 	 */
-	void enterEntityspec(@NotNull WormsParserParser.EntityspecContext ctx);
+	void enterStmt(@NotNull WormsParserParser.StmtContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#entityspec}.
+	 * Exit a parse tree produced by {@link WormsParserParser#stmt}.
 	 * @param ctx the parse tree
 	 */
-	void exitEntityspec(@NotNull WormsParserParser.EntityspecContext ctx);
+	void exitStmt(@NotNull WormsParserParser.StmtContext ctx);
 
 	/**
 	 * Enter a parse tree produced by {@link WormsParserParser#binop}.
@@ -152,13 +163,13 @@ public interface WormsParserListener extends ParseTreeListener {
 	void exitBinop(@NotNull WormsParserParser.BinopContext ctx);
 
 	/**
-	 * Enter a parse tree produced by {@link WormsParserParser#decl}.
+	 * Enter a parse tree produced by {@link WormsParserParser#assign}.
 	 * @param ctx the parse tree
 	 */
-	void enterDecl(@NotNull WormsParserParser.DeclContext ctx);
+	void enterAssign(@NotNull WormsParserParser.AssignContext ctx);
 	/**
-	 * Exit a parse tree produced by {@link WormsParserParser#decl}.
+	 * Exit a parse tree produced by {@link WormsParserParser#assign}.
 	 * @param ctx the parse tree
 	 */
-	void exitDecl(@NotNull WormsParserParser.DeclContext ctx);
+	void exitAssign(@NotNull WormsParserParser.AssignContext ctx);
 }
\ No newline at end of file
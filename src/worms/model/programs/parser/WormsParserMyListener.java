@@ -44,64 +44,67 @@ public class WormsParserMyListener<E, S, T> implements WormsParserListener {
 		return factory != null;
 	}
 
+	// The statements of a list are siblings in the parse tree, so they are
+	// collected in a loop into a single sequence, however long the list.
 	private S StatementOfEval(WormsParserParser.EvalContext eval) {
 		if (eval == null)
 			return null;
 		int line = eval.getStart().getLine();
 		int column = eval.getStart().getCharPositionInLine();
-		S statements = null;
+		List<WormsParserParser.StmtContext> stmts = eval.stmt();
+		List<S> statements = new ArrayList<S>(stmts.size());
+		for (WormsParserParser.StmtContext stmt : stmts) {
+			S statement = StatementOfStmt(stmt);
+			if (statement != null)
+				statements.add(statement);
+		}
+
+		if (statements.size() == 1) {
+			return (statements.get(0));
+		}
+		// return something sensible for empty bodies
+		return (factory.createSequence(line, column, statements));
+	}
+
+	private S StatementOfStmt(WormsParserParser.StmtContext stmt) {
+		int line = stmt.getStart().getLine();
+		int column = stmt.getStart().getCharPositionInLine();
 
 		// assignment
-		if (eval.assign() != null) {
-			statements = StatementOfAssign(eval.assign().IDENTIFIER(), eval
-					.assign().expr());
+		if (stmt.assign() != null) {
+			return (StatementOfAssign(stmt.assign().IDENTIFIER(), stmt
+					.assign().expr()));
 		}
 
 		// if, while, etc.
-		if (eval.ctrl() != null) {
-			statements = StatementOfCtrl(eval.ctrl());
+		if (stmt.ctrl() != null) {
+			return (StatementOfCtrl(stmt.ctrl()));
 		}
 
 		// fire, turn, etc.
-		if (eval.action() != null) {
-			statements = StatementOfAction(eval.action());
+		if (stmt.action() != null) {
+			return (StatementOfAction(stmt.action()));
 		}
 
 		// declarations
-		if (eval.decl() != null) {
-			addDeclaration(eval.decl());
+		if (stmt.decl() != null) {
+			addDeclaration(stmt.decl());
 
 			// handle assignment in declaration
-			if (eval.decl().ASSIGN() != null && eval.decl().expr() != null) {
-				statements = StatementOfAssign(eval.decl().IDENTIFIER(), eval
-						.decl().expr());
+			if (stmt.decl().ASSIGN() != null && stmt.decl().expr() != null) {
+				return (StatementOfAssign(stmt.decl().IDENTIFIER(), stmt
+						.decl().expr()));
 			}
+			return (null);
 		}
 
-		if (eval.PRINT() != null) {
-			statements = factory.createPrint(line, column,
-					ExpressionOfExpr(eval.expr()));
+		if (stmt.PRINT() != null) {
+			return (factory.createPrint(line, column,
+					ExpressionOfExpr(stmt.expr())));
 		}
 
-		// recurse to process sequence of statements
-		if (eval.eval() != null) {
-			if (statements == null) {
-				statements = StatementOfEval(eval.eval());
-			} else {
-				java.util.List<S> l = new java.util.ArrayList<S>();
-				l.add(statements);
-				l.add(StatementOfEval(eval.eval()));
-				statements = factory.createSequence(line, column, l);
-			}
-		}
-
-		// return something sensible for empty bodies
-		if (statements != null) {
-			return (statements);
-		} else {
-			return (factory.createSequence(line, column,
-					Collections.<S> emptyList()));
-		}
+		// empty statement
+		return (null);
 	}
 
 	private S StatementOfAssign(TerminalNode identifier,
@@ -122,6 +125,9 @@ public class WormsParserMyListener<E, S, T> implements WormsParserListener {
 		if (action.SKIP() != null) {
 			return (factory.createSkip(line, column));
 		}
+		if (action.MOVE() != null) {
+			return (factory.createMove(line, column));
+		}
 		if (action.JUMP() != null) {
 			return (factory.createJump(line, column));
 		}
@@ -191,6 +197,7 @@ public class WormsParserMyListener<E, S, T> implements WormsParserListener {
 		WormsParserParser.ExprContext c = ctx.expr();
 		java.util.List<WormsParserParser.EvalContext> e = ctx.eval();
 
+		// an if without else has a single body
 		switch (e.size()) {
 		case 0: {
 			break;
@@ -533,6 +540,14 @@ public class WormsParserMyListener<E, S, T> implements WormsParserListener {
 	public void exitEval(WormsParserParser.EvalContext ctx) {
 	}
 
+	@Override
+	public void enterStmt(WormsParserParser.StmtContext ctx) {
+	}
+
+	@Override
+	public void exitStmt(WormsParserParser.StmtContext ctx) {
+	}
+
 	@Override
 	public void enterAction(WormsParserParser.ActionContext ctx) {
 	}
@@ -0,0 +1,162 @@
+package worms.sim;
+
+import java.io.PrintStream;
+
+import worms.gui.GUIConstants;
+import worms.gui.game.IActionHandler;
+import worms.model.IFacade;
+import worms.model.ModelException;
+import worms.model.Projectile;
+import worms.model.World;
+import worms.model.Worm;
+
+/**
+ * An action handler that executes the actions of programmed worms directly on
+ * the facade, without animations and without waiting between actions.
+ *
+ * An action is refused if the worm performing it is no longer the current worm
+ * of the world, for instance because its turn ended during the execution of
+ * its program.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+public class HeadlessActionHandler implements IActionHandler {
+
+	private final IFacade facade;
+
+	private final World world;
+
+	private final PrintStream out;
+
+	private int nbActionsPerformed;
+
+	private int nbActionsRefused;
+
+	/**
+	 * Create a new headless action handler for the given world.
+	 *
+	 * @param facade
+	 *            The facade to execute the actions on.
+	 * @param world
+	 *            The world in which the actions are executed.
+	 * @param out
+	 *            The stream to print the messages of programs to, or null if
+	 *            these messages should be ignored.
+	 */
+	public HeadlessActionHandler(IFacade facade, World world, PrintStream out) {
+		this.facade = facade;
+		this.world = world;
+		this.out = out;
+	}
+
+	public IFacade getFacade() {
+		return facade;
+	}
+
+	public World getWorld() {
+		return world;
+	}
+
+	/**
+	 * Return the number of actions this handler has performed.
+	 */
+	public int getNbActionsPerformed() {
+		return nbActionsPerformed;
+	}
+
+	/**
+	 * Return the number of actions this handler has refused or that failed.
+	 */
+	public int getNbActionsRefused() {
+		return nbActionsRefused;
+	}
+
+	@Override
+	public boolean turn(Worm worm, double angle) {
+		if (!canAct(worm) || !getFacade().canTurn(worm, angle))
+			return refuse();
+		getFacade().turn(worm, angle);
+		return perform();
+	}
+
+	@Override
+	public boolean move(Worm worm) {
+		if (!canAct(worm) || !getFacade().canMove(worm))
+			return refuse();
+		try {
+			getFacade().move(worm);
+			if (getFacade().isAlive(worm) && getFacade().canFall(worm))
+				getFacade().fall(worm);
+		} catch (ModelException e) {
+			return refuse();
+		}
+		return perform();
+	}
+
+	@Override
+	public boolean jump(Worm worm) {
+		if (!canAct(worm))
+			return refuse();
+		try {
+			getFacade().jump(worm, GUIConstants.JUMP_TIME_STEP);
+		} catch (ModelException e) {
+			return refuse();
+		}
+		return perform();
+	}
+
+	@Override
+	public boolean fire(Worm worm, int propulsion) {
+		if (!canAct(worm))
+			return refuse();
+		try {
+			getFacade().shoot(worm, propulsion);
+			Projectile projectile = getFacade().getActiveProjectile(getWorld());
+			if (projectile == null)
+				return refuse();
+			getFacade().jump(projectile, GUIConstants.JUMP_TIME_STEP);
+		} catch (ModelException e) {
+			return refuse();
+		}
+		return perform();
+	}
+
+	@Override
+	public boolean toggleWeapon(Worm worm) {
+		if (!canAct(worm))
+			return refuse();
+		try {
+			getFacade().selectNextWeapon(worm);
+		} catch (ModelException e) {
+			return refuse();
+		}
+		return perform();
+	}
+
+	@Override
+	public void print(String message) {
+		if (out != null)
+			out.println(message);
+	}
+
+	/**
+	 * Check whether the given worm may perform an action in the world of this
+	 * handler.
+	 */
+	private boolean canAct(Worm worm) {
+		return (worm != null) && getFacade().isAlive(worm)
+				&& (getFacade().getCurrentWorm(getWorld()) == worm);
+	}
+
+	private boolean perform() {
+		nbActionsPerformed++;
+		return true;
+	}
+
+	private boolean refuse() {
+		nbActionsRefused++;
+		return false;
+	}
+
+}
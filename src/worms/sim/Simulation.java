@@ -0,0 +1,247 @@
+package worms.sim;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import worms.gui.Level;
+import worms.model.Facade;
+import worms.model.IFacade;
+import worms.model.ModelException;
+import worms.model.World;
+import worms.model.Worm;
+import worms.model.programs.ParseOutcome;
+import worms.model.programs.Program;
+
+/**
+ * A headless game of worms, played by programmed worms only.
+ *
+ * A simulation drives the world through the facade, exactly like the GUI does,
+ * but without any animations or wall-clock pacing. Each program controls one
+ * worm. Worms without a program, if any, pass their turn.
+ *
+ * Usage:
+ *
+ * <pre>
+ * java worms.sim.Simulation -level Simple -seed 42 [-food 5] [-maxturns 1000] [-verbose] program1.txt program2.txt ...
+ * </pre>
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+public class Simulation {
+
+	/**
+	 * Default number of turns after which a game without a winner is stopped.
+	 */
+	public static final int DEFAULT_MAX_TURNS = 1000;
+
+	private final IFacade facade;
+	private final Level level;
+	private final List<String> programTexts;
+	private final int nbFood;
+	private final int maxTurns;
+	private PrintStream out;
+
+	/**
+	 * Create a new simulation on the given level.
+	 *
+	 * @param facade
+	 *            The facade to play the game through.
+	 * @param level
+	 *            The level to play on, which must already be loaded.
+	 * @param programTexts
+	 *            The source texts of the programs, one for each worm.
+	 * @param nbFood
+	 *            The number of pieces of food to add to the world.
+	 * @param maxTurns
+	 *            The number of turns after which a game without winner is
+	 *            stopped.
+	 */
+	public Simulation(IFacade facade, Level level, List<String> programTexts,
+			int nbFood, int maxTurns) {
+		this.facade = facade;
+		this.level = level;
+		this.programTexts = new ArrayList<String>(programTexts);
+		this.nbFood = nbFood;
+		this.maxTurns = maxTurns;
+	}
+
+	public IFacade getFacade() {
+		return facade;
+	}
+
+	public Level getLevel() {
+		return level;
+	}
+
+	/**
+	 * Set the stream to print the messages of programs to, or null to ignore
+	 * these messages.
+	 */
+	public void setOutput(PrintStream out) {
+		this.out = out;
+	}
+
+	/**
+	 * Play a single game with the given seed.
+	 *
+	 * @param seed
+	 *            The seed of the random number generator of the world.
+	 * @return The outcome of the game.
+	 * @throws IllegalArgumentException
+	 *             If one of the programs cannot be parsed.
+	 * @throws ModelException
+	 *             If the game cannot be started.
+	 */
+	public SimulationResult run(long seed) throws IllegalArgumentException,
+			ModelException {
+		long start = System.nanoTime();
+		World world = getFacade().createWorld(level.getWorldWidth(),
+				level.getWorldHeight(), level.getPassableMap(),
+				new Random(seed));
+		HeadlessActionHandler handler = new HeadlessActionHandler(
+				getFacade(), world, out);
+		List<Worm> wormsOfPrograms = new ArrayList<Worm>(programTexts.size());
+		for (String programText : programTexts) {
+			int nbWorms = getFacade().getWorms(world).size();
+			getFacade().addNewWorm(world, parse(programText, handler));
+			List<Worm> worms = new ArrayList<Worm>(getFacade().getWorms(world));
+			// a worm is only added if the world has room for it
+			wormsOfPrograms.add((worms.size() > nbWorms) ? worms.get(worms
+					.size() - 1) : null);
+		}
+		for (int i = 0; i < nbFood; i++)
+			getFacade().addNewFood(world);
+
+		getFacade().startGame(world);
+		executeProgramOf(getFacade().getCurrentWorm(world));
+		// the world counts the turns it starts, also those started from within a turn, when the active worm
+		// runs out of action points or dies
+		while (!getFacade().isGameFinished(world) && (world.getNbTurns() < maxTurns)
+				&& (getFacade().getCurrentWorm(world) != null)) {
+			// starting the next turn executes the program of the next worm
+			getFacade().startNextTurn(world);
+		}
+
+		boolean finished = getFacade().isGameFinished(world);
+		List<String> survivors = new ArrayList<String>();
+		for (Worm worm : getFacade().getWorms(world))
+			survivors.add(getFacade().getName(worm));
+		List<Integer> survivingPrograms = new ArrayList<Integer>();
+		for (int i = 0; i < wormsOfPrograms.size(); i++) {
+			Worm worm = wormsOfPrograms.get(i);
+			if ((worm != null) && getFacade().isAlive(worm))
+				survivingPrograms.add(i);
+		}
+		return new SimulationResult(level.getName(), seed, finished,
+				finished ? getFacade().getWinner(world) : null, survivors,
+				survivingPrograms, world.getNbTurns(), handler.getNbActionsPerformed(),
+				handler.getNbActionsRefused(), System.nanoTime() - start);
+	}
+
+	private Program parse(String programText, HeadlessActionHandler handler)
+			throws IllegalArgumentException {
+		ParseOutcome<?> outcome = getFacade().parseProgram(programText,
+				handler);
+		if ((outcome == null) || !outcome.isSuccess())
+			throw new IllegalArgumentException("Could not parse program: "
+					+ ((outcome == null) ? "no outcome" : outcome.getResult()));
+		return (Program) outcome.getResult();
+	}
+
+	private void executeProgramOf(Worm worm) {
+		if ((worm != null) && (worm.getProgram() != null))
+			worm.getProgram().execute(worm);
+	}
+
+	/**
+	 * Return the loaded level with the given name, as listed in the levels
+	 * file.
+	 *
+	 * @param name
+	 *            The name of the level, with or without the .lvl extension.
+	 * @throws IllegalArgumentException
+	 *             If there is no level with the given name.
+	 */
+	public static Level loadLevel(String name) throws IllegalArgumentException {
+		if (name.toLowerCase().endsWith(".lvl"))
+			name = name.substring(0, name.length() - 4);
+		for (Level level : Level.getAvailableLevels()) {
+			if (level.getName().equalsIgnoreCase(name)) {
+				level.load();
+				return level;
+			}
+		}
+		throw new IllegalArgumentException("Unknown level: " + name);
+	}
+
+	/**
+	 * Return the contents of the file with the given name.
+	 */
+	public static String readFile(String fileName) throws IOException {
+		StringBuilder result = new StringBuilder();
+		BufferedReader reader = new BufferedReader(new FileReader(fileName));
+		try {
+			String line = reader.readLine();
+			while (line != null) {
+				result.append(line).append('\n');
+				line = reader.readLine();
+			}
+		} finally {
+			reader.close();
+		}
+		return result.toString();
+	}
+
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		String levelName = null;
+		long seed = 0;
+		int nbFood = 0;
+		int maxTurns = DEFAULT_MAX_TURNS;
+		boolean verbose = false;
+		List<String> programTexts = new ArrayList<String>();
+
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if ("-level".equals(arg)) {
+				levelName = args[++i];
+			} else if ("-seed".equals(arg)) {
+				seed = Long.parseLong(args[++i]);
+			} else if ("-food".equals(arg)) {
+				nbFood = Integer.parseInt(args[++i]);
+			} else if ("-maxturns".equals(arg)) {
+				maxTurns = Integer.parseInt(args[++i]);
+			} else if ("-verbose".equals(arg)) {
+				verbose = true;
+			} else {
+				programTexts.add(readFile(arg));
+			}
+		}
+		if ((levelName == null) || programTexts.isEmpty()) {
+			System.err.println("Usage: Simulation -level <name> [-seed <seed>] [-food <n>] [-maxturns <n>] [-verbose] <program file>...");
+			System.exit(1);
+		}
+
+		Simulation simulation = new Simulation(new Facade(),
+				loadLevel(levelName), programTexts,
+				nbFood, maxTurns);
+		if (verbose)
+			simulation.setOutput(System.out);
+		try {
+			System.out.println(simulation.run(seed));
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		} catch (ModelException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+package worms.sim;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a single headless game.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+public class SimulationResult {
+
+	private final String levelName;
+	private final long seed;
+	private final boolean finished;
+	private final String winner;
+	private final List<String> survivors;
+	private final List<Integer> survivingPrograms;
+	private final int nbTurns;
+	private final int nbActionsPerformed;
+	private final int nbActionsRefused;
+	private final long elapsedNanos;
+
+	public SimulationResult(String levelName, long seed, boolean finished,
+			String winner, List<String> survivors,
+			List<Integer> survivingPrograms, int nbTurns,
+			int nbActionsPerformed, int nbActionsRefused, long elapsedNanos) {
+		this.levelName = levelName;
+		this.seed = seed;
+		this.finished = finished;
+		this.winner = winner;
+		this.survivors = Collections.unmodifiableList(survivors);
+		this.survivingPrograms = Collections
+				.unmodifiableList(survivingPrograms);
+		this.nbTurns = nbTurns;
+		this.nbActionsPerformed = nbActionsPerformed;
+		this.nbActionsRefused = nbActionsRefused;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public String getLevelName() {
+		return levelName;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Return whether the game ended with a winner before the turn limit was
+	 * reached.
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Return the name of the winning worm or team, or null if the game did not
+	 * finish.
+	 */
+	public String getWinner() {
+		return winner;
+	}
+
+	/**
+	 * Return the names of the worms that were alive at the end of the game.
+	 */
+	public List<String> getSurvivors() {
+		return survivors;
+	}
+
+	/**
+	 * Return the indices, in the list of programs of the simulation, of the
+	 * programs whose worm was alive at the end of the game.
+	 */
+	public List<Integer> getSurvivingPrograms() {
+		return survivingPrograms;
+	}
+
+	public int getNbTurns() {
+		return nbTurns;
+	}
+
+	public int getNbActionsPerformed() {
+		return nbActionsPerformed;
+	}
+
+	public int getNbActionsRefused() {
+		return nbActionsRefused;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		result.append("level:     ").append(levelName).append('\n');
+		result.append("seed:      ").append(seed).append('\n');
+		result.append("winner:    ")
+				.append(finished ? winner : "none (turn limit reached)")
+				.append('\n');
+		result.append("survivors: ").append(survivors).append('\n');
+		result.append("turns:     ").append(nbTurns).append('\n');
+		result.append("actions:   ").append(nbActionsPerformed)
+				.append(" performed, ").append(nbActionsRefused)
+				.append(" refused\n");
+		result.append("time:      ")
+				.append(String.format("%.3f ms", elapsedNanos / 1e6));
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,361 @@
+package worms.sim;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import worms.gui.Level;
+import worms.model.Facade;
+import worms.model.IFacade;
+import worms.model.programs.ParseOutcome;
+
+/**
+ * A tournament of headless games between pairs of programs, played in
+ * parallel on a work-stealing pool.
+ *
+ * Every pair of programs plays a number of rounds on every level listed in the
+ * levels file; the programs alternate who is placed first. Each match has its
+ * own world, seeded from the master seed of the tournament by the position of
+ * the match in the schedule, so the results do not depend on the number of
+ * threads.
+ *
+ * Usage:
+ *
+ * <pre>
+ * java worms.sim.Tournament [-seed 42] [-rounds 10] [-threads 4] [-food 5] [-maxturns 1000] [-programs programs]
+ * </pre>
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ */
+public class Tournament {
+
+	/**
+	 * Number of matches below which a batch of matches is not split any
+	 * further.
+	 */
+	private static final int BATCH_SIZE = 4;
+
+	private final List<String> programNames;
+	private final List<String> programTexts;
+	private final List<Level> levels;
+	private final int nbRounds;
+	private final int nbFood;
+	private final int maxTurns;
+
+	/**
+	 * Create a new tournament between the given programs on the given levels.
+	 *
+	 * @param programNames
+	 *            The names of the programs.
+	 * @param programTexts
+	 *            The source texts of the programs.
+	 * @param levels
+	 *            The levels to play on, which must already be loaded.
+	 * @param nbRounds
+	 *            The number of matches each pair of programs plays on each
+	 *            level.
+	 * @param nbFood
+	 *            The number of pieces of food in each world.
+	 * @param maxTurns
+	 *            The number of turns after which a match without winner is a
+	 *            draw.
+	 */
+	public Tournament(List<String> programNames, List<String> programTexts,
+			List<Level> levels, int nbRounds, int nbFood, int maxTurns) {
+		if (programNames.size() != programTexts.size())
+			throw new IllegalArgumentException(
+					"Each program needs exactly one name");
+		this.programNames = new ArrayList<String>(programNames);
+		this.programTexts = new ArrayList<String>(programTexts);
+		this.levels = new ArrayList<Level>(levels);
+		this.nbRounds = nbRounds;
+		this.nbFood = nbFood;
+		this.maxTurns = maxTurns;
+	}
+
+	/**
+	 * A single match of this tournament.
+	 */
+	private static class Match {
+
+		private final Level level;
+		private final int first;
+		private final int second;
+		private final long seed;
+		private SimulationResult result;
+		private String error;
+
+		private Match(Level level, int first, int second, long seed) {
+			this.level = level;
+			this.first = first;
+			this.second = second;
+			this.seed = seed;
+		}
+
+		/**
+		 * Return the index of the winning program, or -1 if this match was a
+		 * draw or could not be played.
+		 */
+		private int getWinner() {
+			if ((result == null) || !result.isFinished()
+					|| (result.getSurvivingPrograms().size() != 1))
+				return -1;
+			return (result.getSurvivingPrograms().get(0) == 0) ? first
+					: second;
+		}
+
+	}
+
+	/**
+	 * A batch of consecutive matches of the schedule, split in halves until it
+	 * is small enough to be played by a single worker.
+	 */
+	private class MatchBatch extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Match[] matches;
+		private final int start;
+		private final int end;
+
+		private MatchBatch(Match[] matches, int start, int end) {
+			this.matches = matches;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= BATCH_SIZE) {
+				for (int i = start; i < end; i++)
+					play(matches[i]);
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new MatchBatch(matches, start, middle),
+						new MatchBatch(matches, middle, end));
+			}
+		}
+
+	}
+
+	/**
+	 * Play the given match, registering its result or the reason it could
+	 * not be played.
+	 */
+	private void play(Match match) {
+		IFacade facade = new Facade();
+		Simulation simulation = new Simulation(facade, match.level,
+				Arrays.asList(programTexts.get(match.first),
+						programTexts.get(match.second)), nbFood, maxTurns);
+		try {
+			match.result = simulation.run(match.seed);
+		} catch (RuntimeException e) {
+			match.error = e.toString();
+		}
+	}
+
+	/**
+	 * Return the schedule of this tournament for the given master seed.
+	 */
+	private Match[] schedule(long masterSeed) {
+		Random seeds = new Random(masterSeed);
+		List<Match> matches = new ArrayList<Match>();
+		for (Level level : levels) {
+			for (int i = 0; i < programTexts.size(); i++) {
+				for (int j = i + 1; j < programTexts.size(); j++) {
+					for (int round = 0; round < nbRounds; round++) {
+						if (round % 2 == 0)
+							matches.add(new Match(level, i, j, seeds.nextLong()));
+						else matches.add(new Match(level, j, i, seeds.nextLong()));
+					}
+				}
+			}
+		}
+		return matches.toArray(new Match[matches.size()]);
+	}
+
+	/**
+	 * Play all matches of this tournament on a pool with the given parallelism
+	 * and return the aggregated results.
+	 *
+	 * @param masterSeed
+	 *            The seed from which the seeds of all matches are derived.
+	 * @param parallelism
+	 *            The number of worker threads to use.
+	 */
+	public Standings play(long masterSeed, int parallelism) {
+		Match[] matches = schedule(masterSeed);
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.invoke(new MatchBatch(matches, 0, matches.length));
+		} finally {
+			pool.shutdown();
+		}
+		long elapsedNanos = System.nanoTime() - start;
+
+		Standings standings = new Standings(programNames, matches.length,
+				elapsedNanos);
+		for (Match match : matches) {
+			if (match.error != null) {
+				standings.errors[match.first]++;
+				standings.errors[match.second]++;
+				continue;
+			}
+			int winner = match.getWinner();
+			if (winner == -1) {
+				standings.draws[match.first]++;
+				standings.draws[match.second]++;
+			} else {
+				standings.wins[winner]++;
+				standings.losses[(winner == match.first) ? match.second
+						: match.first]++;
+			}
+			standings.nbTurns += match.result.getNbTurns();
+		}
+		return standings;
+	}
+
+	/**
+	 * The aggregated results of a tournament.
+	 */
+	public static class Standings {
+
+		private final List<String> programNames;
+		private final int[] wins;
+		private final int[] losses;
+		private final int[] draws;
+		private final int[] errors;
+		private final int nbMatches;
+		private final long elapsedNanos;
+		private long nbTurns;
+
+		private Standings(List<String> programNames, int nbMatches,
+				long elapsedNanos) {
+			this.programNames = programNames;
+			this.wins = new int[programNames.size()];
+			this.losses = new int[programNames.size()];
+			this.draws = new int[programNames.size()];
+			this.errors = new int[programNames.size()];
+			this.nbMatches = nbMatches;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		public int getNbWins(int program) {
+			return wins[program];
+		}
+
+		public int getNbLosses(int program) {
+			return losses[program];
+		}
+
+		public int getNbDraws(int program) {
+			return draws[program];
+		}
+
+		public int getNbErrors(int program) {
+			return errors[program];
+		}
+
+		public int getNbMatches() {
+			return nbMatches;
+		}
+
+		/**
+		 * Return the number of matches played per second of wall-clock time.
+		 */
+		public double getThroughput() {
+			return nbMatches / (elapsedNanos / 1e9);
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder result = new StringBuilder();
+			result.append(String.format("%-24s %6s %6s %6s %6s%n", "program",
+					"won", "lost", "draw", "error"));
+			for (int i = 0; i < programNames.size(); i++)
+				result.append(String.format("%-24s %6d %6d %6d %6d%n",
+						programNames.get(i), wins[i], losses[i], draws[i],
+						errors[i]));
+			result.append(String.format(
+					"%d matches, %d turns in %.3f s (%.1f matches/s)",
+					nbMatches, nbTurns, elapsedNanos / 1e9, getThroughput()));
+			return result.toString();
+		}
+
+	}
+
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		long seed = 0;
+		int nbRounds = 10;
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		int nbFood = 0;
+		int maxTurns = Simulation.DEFAULT_MAX_TURNS;
+		String programsDirectory = "programs";
+
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if ("-seed".equals(arg)) {
+				seed = Long.parseLong(args[++i]);
+			} else if ("-rounds".equals(arg)) {
+				nbRounds = Integer.parseInt(args[++i]);
+			} else if ("-threads".equals(arg)) {
+				parallelism = Integer.parseInt(args[++i]);
+			} else if ("-food".equals(arg)) {
+				nbFood = Integer.parseInt(args[++i]);
+			} else if ("-maxturns".equals(arg)) {
+				maxTurns = Integer.parseInt(args[++i]);
+			} else if ("-programs".equals(arg)) {
+				programsDirectory = args[++i];
+			}
+		}
+
+		File[] files = new File(programsDirectory)
+				.listFiles(new FilenameFilter() {
+					@Override
+					public boolean accept(File dir, String name) {
+						return name.endsWith(".txt");
+					}
+				});
+		if (files == null) {
+			System.err.println("Not a directory: " + programsDirectory);
+			System.exit(1);
+		}
+		Arrays.sort(files);
+		IFacade facade = new Facade();
+		List<String> programNames = new ArrayList<String>();
+		List<String> programTexts = new ArrayList<String>();
+		for (File file : files) {
+			String text = Simulation.readFile(file.getPath());
+			ParseOutcome<?> outcome = facade.parseProgram(text, null);
+			if ((outcome != null) && outcome.isSuccess()) {
+				programNames.add(file.getName());
+				programTexts.add(text);
+			} else System.err.println("Skipping " + file.getName()
+					+ ": it cannot be parsed");
+		}
+		if (programTexts.size() < 2) {
+			System.err.println("A tournament needs at least two programs");
+			System.exit(1);
+		}
+
+		List<Level> levels = new ArrayList<Level>();
+		for (Level level : Level.getAvailableLevels()) {
+			level.load();
+			levels.add(level);
+		}
+
+		Tournament tournament = new Tournament(programNames, programTexts,
+				levels, nbRounds, nbFood, maxTurns);
+		System.out.println(tournament.play(seed, parallelism));
+	}
+
+}
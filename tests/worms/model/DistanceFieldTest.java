@@ -0,0 +1,74 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.*;
+
+
+/**
+ *
+ * A class collecting tests for the class of distance fields.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ *
+ *
+ */
+
+public class DistanceFieldTest {
+
+	private static boolean[][] map;
+
+	private static Terrain terrain1;
+
+	/**
+	 * Set up an immutable test fixture
+	 *
+	 * @post	The variable terrain1 references a terrain of 37 by 23 pixels,
+	 * 			of which roughly one pixel out of twenty is impassable.
+	 */
+	@BeforeClass
+	public static void setUpImmutableFixture() throws Exception {
+		Random random = new Random(7357);
+		map = new boolean[23][37];
+		for (int i = 0; i<map.length;i++){
+			for (int u = 0; u<map[0].length;u++){
+				map[i][u] = (random.nextInt(20) != 0);
+			}
+		}
+		terrain1 = new Terrain(map);
+	}
+
+	@Test
+	public void getDistance_MatchesBruteForce(){
+		DistanceField field = new DistanceField(terrain1, 0.5, 0.25);
+		for (int row = 0; row < map.length; row++){
+			for (int column = 0; column < map[0].length; column++){
+				assertEquals(bruteForceDistance(column, row, 0.5, 0.25), field.getDistance(column, row), 1e-5);
+			}
+		}
+	}
+
+	@Test
+	public void getDistance_NoImpassableTerrain(){
+		DistanceField field = new DistanceField(new Terrain(new boolean[][] {{true, true}, {true, true}}), 1, 1);
+		assertTrue(Double.isInfinite(field.getDistance(1, 1)));
+	}
+
+	private static double bruteForceDistance(int column, int row, double pixelWidth, double pixelHeight){
+		double best = Double.POSITIVE_INFINITY;
+		for (int r = 0; r < map.length; r++){
+			for (int c = 0; c < map[0].length; c++){
+				if (!map[r][c]){
+					double dx = (column - c) * pixelWidth;
+					double dy = (row - r) * pixelHeight;
+					best = Math.min(best, Math.sqrt((dx * dx) + (dy * dy)));
+				}
+			}
+		}
+		return best;
+	}
+
+}
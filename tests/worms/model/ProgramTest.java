@@ -0,0 +1,255 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.*;
+
+import worms.model.programs.ParseOutcome;
+import worms.model.programs.Program;
+import worms.util.Util;
+
+/**
+ *
+ * A class collecting tests for the execution of programs controlling worms.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ *
+ *
+ */
+
+public class ProgramTest {
+
+	private IFacade facade;
+
+	private World world1;
+
+	private Worm worm1;
+
+	private List<String> messages;
+
+	private SimpleActionHandler handler;
+
+	/**
+	 * Set up a mutable test fixture
+	 *
+	 * @post	The variable world1 references a new world of 20 by 10 with a floor of impassable terrain,
+	 * 			holding the worm referenced by worm1 on that floor.
+	 * @post	The variable handler references an action handler for the facade referenced by facade,
+	 * 			which collects the messages it prints in the list referenced by messages.
+	 */
+	@Before
+	public void setUpMutableFixture() throws Exception {
+		facade = new Facade();
+		boolean[][] map = new boolean[10][20];
+		for (boolean[] row : map)
+			Arrays.fill(row, true);
+		Arrays.fill(map[9], false);
+		world1 = new World(20, 10, map, new Random(7357));
+		worm1 = new Worm(new Position(5, 1.5), 0.5, 0, "Worm", null);
+		world1.addAsGameObject(worm1);
+		messages = new ArrayList<String>();
+		handler = new SimpleActionHandler(facade){
+			@Override
+			public void print(String message) {
+				messages.add(message);
+			}
+		};
+	}
+
+	private Program parse(String text){
+		ParseOutcome<?> outcome = facade.parseProgram(text, handler);
+		assertTrue(outcome.isSuccess());
+		return (Program) outcome.getResult();
+	}
+
+	@Test
+	public void execute_Completes(){
+		Program program = parse("double x; x := (1 + 2); print x; turn x;");
+		program.execute(worm1);
+		assertTrue(program.isTerminated());
+		assertEquals(Arrays.asList("3.0"), messages);
+		assertEquals(3, worm1.getDirection(), Util.DEFAULT_EPSILON);
+	}
+
+	@Test
+	public void execute_InfiniteLoopSuspendsAfterBudget(){
+		Program program = parse("double x; while (true) { x := x + 1; print x; }");
+		program.setStatementBudget(100);
+		program.execute(worm1);
+		assertFalse(program.isTerminated());
+		int nbMessages = messages.size();
+		assertTrue(nbMessages > 0);
+		assertTrue(nbMessages < 100);
+		program.execute(worm1);
+		assertEquals(2 * nbMessages, messages.size());
+		assertEquals(Double.toString(2 * nbMessages), messages.get(messages.size() - 1));
+	}
+
+	@Test
+	public void execute_ResumesWhereSuspended(){
+		Program program = parse("print 1; print 2; while (false) { } print 3; print 4;");
+		program.setStatementBudget(4);
+		program.execute(worm1);
+		program.execute(worm1);
+		program.execute(worm1);
+		program.execute(worm1);
+		assertTrue(program.isTerminated());
+		assertEquals(Arrays.asList("1.0", "2.0", "3.0", "4.0"), messages);
+	}
+
+	@Test
+	public void execute_SuspendsWhenActionFails(){
+		Program program = parse("turn 1; print 1; turn 1; print 2;");
+		// turning over 1 radian costs ceil(60 / (2 * pi)) == 10 action points
+		worm1.decreaseNumberOfActionPointsBy(worm1.getNumberOfActionPoints() - 10);
+		program.execute(worm1);
+		assertEquals(0, worm1.getNumberOfActionPoints());
+		assertTrue(messages.isEmpty());
+		program.execute(worm1);
+		assertEquals(Arrays.asList("1.0"), messages);
+		program.execute(worm1);
+		assertEquals(Arrays.asList("1.0"), messages);
+		worm1.restoreNumberOfActionPoints();
+		program.execute(worm1);
+		assertEquals(Arrays.asList("1.0", "2.0"), messages);
+		assertTrue(program.isTerminated());
+	}
+
+	@Test
+	public void execute_ForeachVisitsLiveWorms(){
+		Worm worm2 = new Worm(new Position(15, 1.5), 0.5, 0, "Other", null);
+		world1.addAsGameObject(worm2);
+		Program program = parse("entity w; foreach (worm, w) { if (w != self) { print getx w; } }");
+		program.execute(worm1);
+		assertEquals(Arrays.asList("15.0"), messages);
+	}
+
+	@Test
+	public void execute_ErrorTerminates(){
+		Program program = parse("entity e; print getx e; print 1;");
+		program.execute(worm1);
+		assertTrue(program.isTerminated());
+		assertEquals(1, messages.size());
+		assertTrue(messages.get(0).startsWith("Program stopped"));
+	}
+
+	@Test
+	public void execute_ArithmeticAndShortCircuit(){
+		Program program = parse("double x; bool b; entity e; x := (((7 - 1) / 2) * (1 + 1)); print x; "
+				+ "b := ((e != null) && ((getx e) > 0)); print b; b := ((x == 6) || ((getx e) > 0)); print b; "
+				+ "if (x < 7) { skip; } else { print x; } print sqrt((x - 2));");
+		program.execute(worm1);
+		assertTrue(program.isTerminated());
+		assertEquals(Arrays.asList("6.0", "false", "true", "2.0"), messages);
+	}
+
+	@Test
+	public void execute_ConstantsFolded(){
+		Program program = parse("double x; x := ((0 + -0.2) * 10); print x; print ((1 < 2) && (! false)); "
+				+ "print (false && ((getx self) > 0)); print (null == null);");
+		program.execute(worm1);
+		assertEquals(Arrays.asList("-2.0", "true", "false", "true"), messages);
+	}
+
+	@Test
+	public void parseProgram_WrongKindRejected(){
+		assertFalse(facade.parseProgram("double x; print 1; x := getx true; print 2;", handler).isSuccess());
+		assertFalse(facade.parseProgram("double x; if (x + 1) { skip; }", handler).isSuccess());
+		assertFalse(facade.parseProgram("double x; print (x == true);", handler).isSuccess());
+		assertFalse(facade.parseProgram("double x; bool b; x := b;", handler).isSuccess());
+		assertTrue(messages.isEmpty());
+	}
+
+	@Test
+	public void parseProgram_UndeclaredVariableRejected(){
+		ParseOutcome<?> outcome = facade.parseProgram("double x; x := 1; y := x;", handler);
+		assertFalse(outcome.isSuccess());
+		assertEquals(Arrays.asList("Undeclared variable y"), outcome.getResult());
+	}
+
+	@Test
+	public void parseProgram_LongProgram(){
+		StringBuilder text = new StringBuilder("double x;\n");
+		for (int i = 0; i < 50000; i++)
+			text.append("x := (x + 1);\n");
+		text.append("print x;\n");
+		Program program = parse(text.toString());
+		program.setStatementBudget(50002);
+		program.execute(worm1);
+		assertTrue(program.isTerminated());
+		assertEquals(Arrays.asList("50000.0"), messages);
+	}
+
+	@Test
+	public void parseProgram_EmptyBlocks(){
+		Program program = parse("double x; if (x > 0) { } else { print 1; } if (x == 0) { } else { print 2; } "
+				+ "while (false) { }");
+		program.execute(worm1);
+		assertTrue(program.isTerminated());
+		assertEquals(Arrays.asList("1.0"), messages);
+	}
+
+	@Test
+	public void parseProgram_Actions(){
+		parse("turn 1; move; jump; toggleweap; fire 50; skip;");
+	}
+
+	@Test
+	public void isWellFormed_TrueCase(){
+		assertTrue(facade.isWellFormed(parse("entity w; foreach (any, w) { print w; } turn 1;")));
+	}
+
+	@Test
+	public void isWellFormed_ActionInForeach(){
+		assertFalse(facade.isWellFormed(parse("entity w; foreach (worm, w) { if (w != self) { jump; } }")));
+	}
+
+	@Test
+	public void execute_VariablesOfEachKind(){
+		Program program = parse("double d; bool b; entity e; double d2; print d; print b; print e; "
+				+ "d := 1; d2 := 2; b := true; e := self; print (d + d2); print b; print e;");
+		program.execute(worm1);
+		assertEquals(Arrays.asList("0.0", "false", "null", "3.0", "true", "Worm"), messages);
+	}
+
+	@Test
+	public void execute_CountsTurnStartedWithinTurn(){
+		Worm worm2 = new Worm(new Position(15, 1.5), 0.5, 0, "Other", null);
+		world1.addAsGameObject(worm2);
+		Program program = parse("turn 1; print 1;");
+		world1.startGame();
+		assertEquals(1, world1.getNbTurns());
+		// turning over 1 radian uses up the last 10 action points of the worm, which ends its turn
+		worm1.decreaseNumberOfActionPointsBy(worm1.getNumberOfActionPoints() - 10);
+		program.execute(worm1);
+		assertEquals(2, world1.getNbTurns());
+		assertEquals(worm2, world1.getActiveWorm());
+	}
+
+	@Test
+	public void execute_KeepsActionPointsOfTurnStartedWithinTurn(){
+		Worm worm2 = new Worm(new Position(15, 1.5), 0.5, 0, "Other", parse("while (true) { turn 0.1; turn -0.1; }"));
+		world1.addAsGameObject(worm2);
+		worm1.setProgram(parse("while (true) { turn 0.1; turn -0.1; }"));
+		world1.startGame();
+		int nbTurns = world1.getNbTurns();
+		// worm2 uses up its action points, so worm1 takes its turn and uses up its own, after which worm2 takes a turn again
+		world1.startNextTurn();
+		assertEquals(nbTurns + 3, world1.getNbTurns());
+		assertEquals(worm2, world1.getActiveWorm());
+		assertTrue(worm2.getNumberOfActionPoints() > 0);
+		assertEquals(0, worm1.getNumberOfActionPoints());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setStatementBudget_IllegalCase(){
+		parse("skip;").setStatementBudget(0);
+	}
+
+}
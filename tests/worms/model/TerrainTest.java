@@ -0,0 +1,101 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+
+/**
+ *
+ * A class collecting tests for the class of terrains.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ *
+ *
+ */
+
+public class TerrainTest {
+
+	private static Terrain terrain1;
+
+	private static boolean[][] map;
+
+	/**
+	 * Set up an immutable test fixture
+	 *
+	 * @post	The variable terrain1 references a terrain of 150 by 5 pixels,
+	 * 			of which the bottom row is impassable, together with the pixels in column 3, 64, 70 and 149 of the top row.
+	 */
+	@BeforeClass
+	public static void setUpImmutableFixture() throws Exception {
+		map = new boolean[5][150];
+		for (int i = 0; i<map.length;i++){
+			for (int u = 0; u<map[0].length;u++){
+				map[i][u] = (i != map.length - 1);
+			}
+		}
+		map[0][3] = false;
+		map[0][64] = false;
+		map[0][70] = false;
+		map[0][149] = false;
+		terrain1 = new Terrain(map);
+	}
+
+	@Test
+	public void constructor_LegalCase(){
+		assertEquals(150, terrain1.getWidth());
+		assertEquals(5, terrain1.getHeight());
+		assertEquals(3, terrain1.getWordsPerRow());
+		assertArrayEquals(map, terrain1.toPassableMap());
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void constructor_EmptyMap(){
+		new Terrain(new boolean[0][0]);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void constructor_IrregularMap(){
+		new Terrain(new boolean[][] {{true, true}, {true}});
+	}
+
+	@Test
+	public void isImpassable_LegalCase(){
+		assertTrue(terrain1.isImpassable(64, 0));
+		assertFalse(terrain1.isImpassable(65, 0));
+		assertTrue(terrain1.isImpassable(0, 4));
+		assertTrue(terrain1.isPassable(149, 1));
+	}
+
+	@Test
+	public void firstImpassableInRow_LegalCase(){
+		assertEquals(3, terrain1.firstImpassableInRow(0, 0, 149));
+		assertEquals(64, terrain1.firstImpassableInRow(0, 4, 149));
+		assertEquals(70, terrain1.firstImpassableInRow(0, 65, 149));
+		assertEquals(149, terrain1.firstImpassableInRow(0, 71, 149));
+		assertEquals(-1, terrain1.firstImpassableInRow(0, 71, 148));
+		assertEquals(-1, terrain1.firstImpassableInRow(2, 0, 149));
+	}
+
+	@Test
+	public void hasImpassableInRow_LegalCase(){
+		assertTrue(terrain1.hasImpassableInRow(0, 64, 64));
+		assertFalse(terrain1.hasImpassableInRow(0, 4, 63));
+		assertTrue(terrain1.hasImpassableInRow(4, 100, 120));
+	}
+
+	@Test
+	public void countImpassableInRow_LegalCase(){
+		assertEquals(4, terrain1.countImpassableInRow(0, 0, 149));
+		assertEquals(2, terrain1.countImpassableInRow(0, 64, 148));
+		assertEquals(150, terrain1.countImpassableInRow(4, 0, 149));
+	}
+
+	@Test
+	public void equals_LegalCase(){
+		assertEquals(terrain1, new Terrain(map));
+		assertFalse(terrain1.equals(new Terrain(new boolean[5][150])));
+	}
+
+}
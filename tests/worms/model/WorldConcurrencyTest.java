@@ -0,0 +1,219 @@
+package worms.model;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.*;
+
+
+/**
+ *
+ * A class collecting stress tests for queries on game worlds that run concurrently with changes to these worlds.
+ *
+ * @version 1.0
+ * @author Jonas Thys & Jeroen Reinenbergh
+ *
+ *
+ */
+
+public class WorldConcurrencyTest {
+
+	private static final int NB_WORMS = 20;
+
+	private static final int NB_READERS = 3;
+
+	private static final int NB_CHANGES = 20000;
+
+	private World world1;
+
+	private List<Worm> worms;
+
+	private List<Food> food;
+
+	/**
+	 * Set up a mutable test fixture
+	 *
+	 * @post	The variable world1 references a new world of 50 by 50, based on a passable map of 100 by 100,
+	 * 			holding NB_WORMS worms and NB_WORMS pieces of food spread over the world.
+	 */
+	@Before
+	public void setUpMutableFixture() throws Exception {
+		boolean[][] map = new boolean[100][100];
+		for (boolean[] row : map)
+			Arrays.fill(row, true);
+		world1 = new World(50, 50, map, new Random(1));
+		worms = new ArrayList<Worm>();
+		food = new ArrayList<Food>();
+		for (int i = 0; i < NB_WORMS; i++){
+			Worm worm = new Worm(new Position(5 + 2 * i, 10), 0.5, 0, "Worm", null);
+			world1.addAsGameObject(worm);
+			worms.add(worm);
+			Food snack = new Food(new Position(5 + 2 * i, 30));
+			world1.addAsGameObject(snack);
+			food.add(snack);
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void queries_DuringChanges() throws Exception {
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final AtomicBoolean changing = new AtomicBoolean(true);
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<Thread>();
+
+		threads.add(new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					start.await();
+					Random random = new Random(2);
+					for (int i = 0; i < NB_CHANGES; i++){
+						Worm worm = worms.get(random.nextInt(NB_WORMS));
+						worm.setPosition(2 + 46 * random.nextDouble(), 2 + 46 * random.nextDouble());
+						Food snack = new Food(new Position(2 + 46 * random.nextDouble(), 2 + 46 * random.nextDouble()));
+						world1.addAsGameObject(snack);
+						food.get(random.nextInt(NB_WORMS)).setRadius(0.2 + random.nextDouble());
+						world1.removeAsGameObject(snack);
+					}
+				} catch (Throwable exc) {
+					failure.compareAndSet(null, exc);
+				} finally {
+					changing.set(false);
+				}
+			}
+		}));
+		for (int r = 0; r < NB_READERS; r++){
+			final long seed = 10 + r;
+			threads.add(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						Random random = new Random(seed);
+						while (changing.get() && (failure.get() == null)){
+							Position position = new Position(6 + 38 * random.nextDouble(), 6 + 38 * random.nextDouble());
+							double radius = 5 * random.nextDouble();
+							assertHasNoDuplicates(world1.overlapWithWorm(position, radius));
+							assertHasNoDuplicates(world1.overlapWithFood(position, radius));
+							assertHasNoDuplicates(world1.overlapWithGameObject(position.getX(), position.getY(), radius));
+							assertEquals(NB_WORMS, world1.getAllLiveWorms().size());
+							assertFalse(world1.isFinished());
+							assertTrue(world1.isPassable(position.getX(), position.getY(), radius));
+							List<Food> allFood = world1.getAllFood();
+							assertEquals(NB_WORMS, allFood.size() - countTemporaryFood(allFood));
+						}
+					} catch (Throwable exc) {
+						failure.compareAndSet(null, exc);
+					}
+				}
+			}));
+		}
+		for (Thread thread : threads)
+			thread.start();
+		start.countDown();
+		for (Thread thread : threads)
+			thread.join();
+
+		if (failure.get() != null)
+			throw new AssertionError(failure.get());
+		for (Worm worm : worms)
+			assertTrue(world1.overlapWithWorm(worm.getPosition(), worm.getRadius()).contains(worm));
+		for (Food snack : food)
+			assertTrue(world1.overlapWithFood(snack.getPosition(), snack.getRadius()).contains(snack));
+	}
+
+	@Test(timeout = 60000)
+	public void terrainQueries_Concurrent() throws Exception {
+		// a map of 500 by 500 pixels with impassable blocks of 15 by 15 pixels on a grid of 100 by 100 pixels
+		boolean[][] map = new boolean[500][500];
+		for (int row = 0; row < map.length; row++){
+			for (int column = 0; column < map[row].length; column++)
+				map[row][column] = ((row % 100) >= 15) || ((column % 100) >= 15);
+		}
+		final World world = new World(50, 50, map, new Random(1));
+		// each circle reaches just about as far as the terrain, where only the stencils of the circles can tell
+		// whether they touch it; radii are quantized to a pixel of 0.1, so there are more of them than the stencil
+		// cache holds, and the readers keep evicting each other's stencils
+		final int nbQueries = 1000;
+		final double[][] queries = new double[nbQueries][];
+		final boolean[] passable = new boolean[nbQueries];
+		final boolean[] adjacent = new boolean[nbQueries];
+		World reference = new World(50, 50, map, new Random(1));
+		Random random = new Random(3);
+		for (int i = 0; i < nbQueries; i++){
+			double x = 8 + 34 * random.nextDouble();
+			double y = 8 + 34 * random.nextDouble();
+			double passableRadius = 0;
+			double impassableRadius = 10;
+			while (impassableRadius - passableRadius > 0.01){
+				double radius = (passableRadius + impassableRadius) / 2;
+				if (reference.isPassable(x, y, radius))
+					passableRadius = radius;
+				else
+					impassableRadius = radius;
+			}
+			queries[i] = new double[] { x, y, Math.max(0.05, impassableRadius + 0.1 * (random.nextDouble() - 0.5)) };
+			passable[i] = reference.isPassable(queries[i][0], queries[i][1], queries[i][2]);
+			adjacent[i] = reference.isAdjacentToImpassableTerrain(queries[i][0], queries[i][1], queries[i][2]);
+		}
+
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int r = 0; r < 4; r++){
+			final long seed = 20 + r;
+			threads.add(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						Random random = new Random(seed);
+						for (int round = 0; (round < 20) && (failure.get() == null); round++){
+							for (int j = 0; j < nbQueries; j++){
+								int i = random.nextInt(nbQueries);
+								assertEquals(passable[i], world.isPassable(queries[i][0], queries[i][1], queries[i][2]));
+								assertEquals(adjacent[i], world.isAdjacentToImpassableTerrain(queries[i][0], queries[i][1], queries[i][2]));
+							}
+						}
+					} catch (Throwable exc) {
+						failure.compareAndSet(null, exc);
+					}
+				}
+			}));
+		}
+		for (Thread thread : threads)
+			thread.start();
+		start.countDown();
+		for (Thread thread : threads)
+			thread.join();
+
+		if (failure.get() != null)
+			throw new AssertionError(failure.get());
+	}
+
+	/**
+	 * Return the number of pieces of food in the given food of world1 that were added by the changing thread.
+	 */
+	private int countTemporaryFood(List<Food> allFood) {
+		int result = 0;
+		for (Food snack : allFood){
+			if (! food.contains(snack))
+				result++;
+		}
+		return result;
+	}
+
+	private static void assertHasNoDuplicates(List<? extends GameObject> objects) {
+		assertFalse(objects.contains(null));
+		assertEquals(objects.size(), new HashSet<GameObject>(objects).size());
+	}
+
+}
@@ -14,6 +14,7 @@ import java.util.Random;
 
 import org.junit.*;
 
+import worms.model.programs.Program;
 import worms.util.Util;
 
 
@@ -80,9 +81,9 @@ public class WorldTest {
 		food1 = new Food(new Position(8,9));
 		food2 = new Food(new Position(6,7));
 		food3 = new Food(new Position(3,4));
-		worm1 = new Worm(new Position(75,84), 3, 4.5, "Ricky");
-		worm2 = new Worm(new Position(94,2), 1.4, 3.03, "Ash");
-		worm3 = new Worm(new Position(53,1.22), 1.7, 0.3, "Octo");
+		worm1 = new Worm(new Position(75,84), 3, 4.5, "Ricky", null);
+		worm2 = new Worm(new Position(94,2), 1.4, 3.03, "Ash", null);
+		worm3 = new Worm(new Position(53,1.22), 1.7, 0.3, "Octo", null);
 		projectile1 = new Projectile(new Position(52,2), 2.03,5.36, 2.5);
 		weapon = new Weapon("Rifle", 1, 5, 7, 8.3);
 		world1.addAsGameObject(food1);
@@ -174,6 +175,27 @@ public class WorldTest {
 		assertFalse(world1.isAdjacentToImpassableTerrain(new Position(3,4), 1));
 	}
 	
+	@Test
+	public void getFallDistance_Ledge(){
+		boolean[][] ledgeMap = new boolean[6][5];
+		for (int i = 0; i<ledgeMap.length;i++){
+			for (int u = 0; u<ledgeMap[0].length;u++){
+				ledgeMap[i][u] = !((i == 4) && (u < 2));
+			}
+		}
+		World ledgeWorld = new World(5, 6, ledgeMap, random);
+		assertEquals(2.0, ledgeWorld.getFallDistance(2.0, 3.5, 1.0), Util.DEFAULT_EPSILON);
+	}
+
+	@Test
+	public void getFallDistance_Pit(){
+		boolean[][] pitMap = new boolean[6][5];
+		for (boolean[] row : pitMap)
+			Arrays.fill(row, true);
+		World pitWorld = new World(5, 6, pitMap, random);
+		assertTrue(Double.isInfinite(pitWorld.getFallDistance(2.5, 3.5, 1.0)));
+	}
+
 	@Test
 	public void getActiveWorm_LegalCase(){
 		worm1.activate();
@@ -195,7 +217,167 @@ public class WorldTest {
 	}
 	
 
-	@Test	
+	@Test
+	public void overlapWithWorm_AfterMove(){
+		assertTrue(world1.overlapWithWorm(new Position(94,2), 0.1).contains(worm2));
+		worm2.setPosition(3, 4);
+		assertFalse(world1.overlapWithWorm(new Position(94,2), 0.1).contains(worm2));
+		assertEquals(Arrays.asList(worm2), world1.overlapWithWorm(new Position(3,4), 0.1));
+	}
+
+	@Test
+	public void getGameObjectOverlappingWith_SkipsExcluded(){
+		assertEquals(worm2, world1.getGameObjectOverlappingWith(94, 2, 0.1, worm1));
+		assertNull(world1.getGameObjectOverlappingWith(94, 2, 0.1, worm2));
+		world1.addAsGameObject(worm3);
+		worm3.setPosition(94, 2.5);
+		assertEquals(worm3, world1.getGameObjectOverlappingWith(94, 2, 0.1, worm2));
+	}
+
+	@Test
+	public void overlapWithFood_AfterGrowing(){
+		assertTrue(world1.overlapWithFood(new Position(8,10), 0.5).isEmpty());
+		food1.setRadius(1);
+		assertEquals(Arrays.asList(food1), world1.overlapWithFood(new Position(8,10), 0.5));
+	}
+
+	@Test
+	public void getSnapshot_LegalCase(){
+		world1.startGame();
+		WorldSnapshot snapshot = world1.getSnapshot();
+		worm2.setPosition(3, 4);
+		assertEquals(2, snapshot.getNbWorms());
+		assertEquals(1, snapshot.getNbFood());
+		assertEquals(1, snapshot.getNbProjectiles());
+		assertEquals(1, snapshot.indexOf(worm2));
+		assertEquals(-1, snapshot.indexOf(worm3));
+		assertEquals(0, snapshot.indexOf(food1));
+		assertEquals(-1, snapshot.indexOf(food2));
+		assertTrue(snapshot.isWormAtImpassableTerrain(1));
+		assertEquals(94, snapshot.getWormX(1), Util.DEFAULT_EPSILON);
+		assertEquals(2, snapshot.getWormY(1), Util.DEFAULT_EPSILON);
+		assertEquals(worm1, snapshot.getActiveWorm());
+		assertEquals(WorldSnapshot.NO_TEAM, snapshot.getWormTeam(0));
+		assertSame(world1.getTerrain(), snapshot.getTerrain());
+	}
+
+	@Test
+	public void getSnapshot_AfterChanges(){
+		world1.addAsGameObject(worm3);
+		worm1.setPosition(93, 2);
+		worm1.kill();
+		world1.removeAsGameObject(worm3);
+		WorldSnapshot snapshot = world1.getSnapshot();
+		assertEquals(93, snapshot.getWormX(0), Util.DEFAULT_EPSILON);
+		assertFalse(snapshot.isWormAlive(0));
+		assertEquals(worm2.getNumberOfHitPoints(), snapshot.getWormHitPoints(1));
+	}
+
+	@Test
+	public void fork_IsIndependent(){
+		world1.startGame();
+		World fork = world1.fork(new Random(3));
+		assertNotSame(world1, fork);
+		assertSame(world1.getTerrain(), fork.getTerrain());
+		assertEquals(2, fork.getAllWorms().size());
+		assertEquals(1, fork.getAllFood().size());
+		Worm forkedWorm2 = fork.getAllWorms().get(1);
+		assertNotSame(worm2, forkedWorm2);
+		assertEquals("Ash", forkedWorm2.getName());
+		assertEquals(fork.getAllWorms().get(0), fork.getActiveWorm());
+		forkedWorm2.setPosition(3, 4);
+		forkedWorm2.kill();
+		assertEquals(94, worm2.getX(), Util.DEFAULT_EPSILON);
+		assertTrue(worm2.isAlive());
+		assertTrue(world1.overlapWithWorm(new Position(94,2), 0.1).contains(worm2));
+		assertEquals(Arrays.asList(forkedWorm2), fork.overlapWithWorm(new Position(3,4), 0.1));
+		assertTrue(fork.isFinished());
+		assertFalse(world1.isFinished());
+	}
+
+	@Test
+	public void fork_CopiesPrograms(){
+		IFacade facade = new Facade();
+		final List<String> messages = new ArrayList<String>();
+		SimpleActionHandler handler = new SimpleActionHandler(facade){
+			@Override
+			public void print(String message) {
+				messages.add(message);
+			}
+		};
+		Program program = (Program) facade.parseProgram("double n; while (true) { n := (n + 1); print n; }", handler).getResult();
+		program.setStatementBudget(9);
+		worm1.setProgram(program);
+		program.execute(worm1);
+		int nbMessages = messages.size();
+		String next = Double.toString(nbMessages + 1);
+		World fork = world1.fork(new Random(3));
+		Worm forkedWorm1 = fork.getAllWorms().get(0);
+		Program forkedProgram = forkedWorm1.getProgram();
+		assertNotSame(program, forkedProgram);
+		assertSame(forkedWorm1, forkedProgram.getWorm());
+		forkedProgram.execute(forkedWorm1);
+		assertEquals(next, messages.get(nbMessages));
+		assertSame(worm1, program.getWorm());
+		int nbForkedMessages = messages.size();
+		program.execute(worm1);
+		assertEquals(next, messages.get(nbForkedMessages));
+		assertEquals(messages.subList(nbMessages, nbForkedMessages), messages.subList(nbForkedMessages, messages.size()));
+	}
+
+	@Test
+	public void fork_TeamsAndTurns(){
+		Team red = new Team("Red");
+		world1.addAsGameObject(worm3);
+		red.addAsWorm(worm1);
+		red.addAsWorm(worm3);
+		world1.startGame();
+		world1.startNextTurn();
+		World fork = world1.fork(new Random(3));
+		Worm forkedWorm1 = fork.getAllWorms().get(0);
+		Worm forkedWorm3 = fork.getAllWorms().get(2);
+		assertNotSame(red, forkedWorm1.getTeam());
+		assertSame(forkedWorm1.getTeam(), forkedWorm3.getTeam());
+		assertEquals("Red", forkedWorm1.getTeam().getName());
+		assertEquals(fork.getAllWorms().get(1), fork.getActiveWorm());
+		fork.getAllWorms().get(1).kill();
+		assertTrue(fork.isFinished());
+		assertEquals("Red", fork.getWinner());
+		fork.startNextTurn();
+		assertEquals(forkedWorm3, fork.getActiveWorm());
+		assertEquals(worm2, world1.getActiveWorm());
+		assertFalse(world1.isFinished());
+	}
+
+	@Test
+	public void jumpTime_MatchesStepByStep(){
+		Random terrainRandom = new Random(7);
+		boolean[][] scatteredMap = new boolean[200][200];
+		for (int row = 0; row < scatteredMap.length; row++){
+			for (int column = 0; column < scatteredMap[0].length; column++)
+				scatteredMap[row][column] = (row < 190) && (terrainRandom.nextInt(400) != 0);
+		}
+		World scatteredWorld = new World(20, 20, scatteredMap, terrainRandom);
+		double timeStep = 1e-4;
+		int nbJumps = 0;
+		while (nbJumps < 100){
+			double radius = 0.25 + (terrainRandom.nextDouble() * 0.35);
+			double x = terrainRandom.nextDouble() * 20;
+			double y = terrainRandom.nextDouble() * 20;
+			if (!scatteredWorld.isPassable(x, y, radius))
+				continue;
+			Worm jumper = new Worm(new Position(x, y), radius, terrainRandom.nextDouble() * 2 * Math.PI, "Jumper", null);
+			scatteredWorld.addAsGameObject(jumper);
+			long nbTimeSteps = 1;
+			while (scatteredWorld.isPassable(jumper.jumpStepOnXAxis(nbTimeSteps * timeStep), jumper.jumpStepOnYAxis(nbTimeSteps * timeStep), radius)
+					&& !scatteredWorld.isAdjacentToImpassableTerrain(jumper.jumpStepOnXAxis(nbTimeSteps * timeStep), jumper.jumpStepOnYAxis(nbTimeSteps * timeStep), radius))
+				nbTimeSteps++;
+			assertEquals(nbTimeSteps * timeStep, jumper.jumpTime(timeStep), Util.DEFAULT_EPSILON);
+			nbJumps++;
+		}
+	}
+
+	@Test
 	public void getAllFood_LegalCase(){
 		List<Food> result = new ArrayList<Food>();
 		result.add(food1);
@@ -221,7 +403,29 @@ public class WorldTest {
 		world1.startNextTurn();
 		assertEquals(worm2, world1.getActiveWorm());
 	}
-	
+
+	@Test
+	public void startNextTurn_SkipsDeadWorms(){
+		world1.addAsGameObject(worm3);
+		world1.startGame();
+		worm2.kill();
+		world1.startNextTurn();
+		assertEquals(worm3, world1.getActiveWorm());
+		assertFalse(worm1.isActive());
+		world1.startNextTurn();
+		assertEquals(worm1, world1.getActiveWorm());
+	}
+
+	@Test
+	public void startNextTurn_ActiveWormDied(){
+		world1.addAsGameObject(worm3);
+		world1.startGame();
+		world1.startNextTurn();
+		worm2.kill();
+		world1.startNextTurn();
+		assertEquals(worm3, world1.getActiveWorm());
+	}
+
 	@Test
 	public void isFinished_LegalCaseTrue(){
 		worm1.kill();
@@ -244,6 +448,24 @@ public class WorldTest {
 		assertEquals("No winner!", world1.getWinner());
 	}
 
+	@Test
+	public void isFinished_Teams(){
+		Team red = new Team("Red");
+		Team blue = new Team("Blue");
+		world1.addAsGameObject(worm3);
+		red.addAsWorm(worm1);
+		red.addAsWorm(worm2);
+		blue.addAsWorm(worm3);
+		assertFalse(world1.isFinished());
+		assertNull(world1.getWinners());
+		worm1.kill();
+		assertFalse(world1.isFinished());
+		worm3.kill();
+		assertTrue(world1.isFinished());
+		assertEquals("Red", world1.getWinner());
+		assertEquals(Arrays.asList(worm2), world1.getWinners());
+	}
+
 	
 	
 }